@@ -0,0 +1,53 @@
+package desempenho;
+
+import espacoDeEstados.Puzzle8;
+
+/**
+ * Conjunto fixo de configuraes do Puzzle-8 utilizado nas medies de
+ * desempenho. Cada configurao tem soluo tima conhecida at a meta
+ * Puzzle8.TABULEIRO_ORGANIZADO, cobrindo desde instncias triviais at uma das
+ * mais difceis do problema (31 movimentos, o mximo possvel).
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public final class CorpusPuzzle8 {
+
+	/** Comprimento da soluo tima de cada configurao do corpus. */
+	public static final int[] PROFUNDIDADES = { 4, 8, 12, 14, 16, 20, 24, 28, 31 };
+
+	private static final char[][] CONFIGURACOES = {
+		{' ','1','2','4','5','3','7','8','6'},	//  4 movimentos
+		{' ','4','2','5','1','3','7','8','6'},	//  8 movimentos
+		{'5','4','2','7',' ','3','8','1','6'},	// 12 movimentos
+		{'2','3',' ','7','4','1','5','8','6'},	// 14 movimentos
+		{'7','2','3','4',' ','1','5','8','6'},	// 16 movimentos
+		{' ','7','5','4','3','2','8','1','6'},	// 20 movimentos
+		{'7','2','6','4',' ','5','8','3','1'},	// 24 movimentos
+		{'4','7',' ','6','2','5','8','3','1'},	// 28 movimentos
+		{'8','6','7','2','5','4','3',' ','1'}	// 31 movimentos
+	};
+
+	private CorpusPuzzle8() {
+	}
+
+	/**
+	 * Recupera a configurao do corpus cuja soluo tima tem o comprimento informado.
+	 * @param profundidade um dos valores de PROFUNDIDADES
+	 * @return cpia da configurao do tabuleiro
+	 */
+	public static char[] configuracao(int profundidade) {
+		for (int i = 0; i < PROFUNDIDADES.length; i++)
+			if (PROFUNDIDADES[i] == profundidade)
+				return CONFIGURACOES[i].clone();
+		throw new IllegalArgumentException("No h configurao com soluo de " + profundidade + " movimentos no corpus");
+	}
+
+	/**
+	 * Cria um novo estado inicial para a configurao do corpus com a profundidade informada.
+	 */
+	public static Puzzle8 estado(int profundidade) {
+		return new Puzzle8(configuracao(profundidade));
+	}
+
+}
@@ -0,0 +1,54 @@
+package desempenho;
+
+/**
+ * Esta classe representa uma operao cujo desempenho deve ser medido, como a
+ * execuo completa de uma busca ou a gerao de sucessores de um estado. O
+ * Medidor invoca executar() repetidamente e calcula, a partir do tempo e da
+ * memria consumidos, as mtricas de cada operao.
+ *
+ * Operaes muito curtas podem processar um lote de elementos a cada execuo,
+ * informando o tamanho do lote em getOperacoesPorExecucao(), para que o custo
+ * do lao de medio no distora o resultado.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public abstract class Medicao {
+
+	private final String nome;
+
+	/**
+	 * Cria uma medio identificada pelo nome informado.
+	 * @param nome identificador da medio (ex: "busca/AStar/d16")
+	 */
+	protected Medicao(String nome) {
+		this.nome = nome;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	/**
+	 * Prepara os dados utilizados pela medio.  invocado uma nica vez, antes
+	 * do aquecimento, e o seu tempo no  contabilizado.
+	 */
+	public void preparar() {
+	}
+
+	/**
+	 * Quantidade de operaes realizadas por cada chamada a executar().
+	 * @return tamanho do lote processado a cada execuo
+	 */
+	public int getOperacoesPorExecucao() {
+		return 1;
+	}
+
+	/**
+	 * Executa a operao medida. O valor devolvido  consumido pelo Medidor,
+	 * impedindo que o compilador elimine o trabalho por consider-lo intil.
+	 * @return resultado da operao
+	 */
+	public abstract Object executar();
+
+}
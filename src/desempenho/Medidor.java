@@ -0,0 +1,132 @@
+package desempenho;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Esta classe executa as medies de desempenho. Cada medio passa por algumas
+ * iteraes de aquecimento, que permitem ao compilador JIT otimizar o cdigo, e
+ * em seguida por iteraes de medio de durao fixa. Em cada iterao a
+ * operao  repetida at que o tempo estipulado se esgote (sendo executada ao
+ * menos uma vez), e so registrados o tempo decorrido, os bytes alocados pela
+ * thread corrente e a atividade do coletor de lixo.
+ *
+ * A alocao  obtida da extenso com.sun.management.ThreadMXBean, disponvel
+ * nas JVMs HotSpot e OpenJ9. Ela contabiliza apenas a thread que executa a
+ * medio; a memria alocada pelas threads auxiliares de estratgias paralelas
+ * no  includa.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class Medidor {
+
+	private int iteracoesDeAquecimento = 3;
+	private int iteracoesDeMedicao = 5;
+	private long duracaoDaIteracaoMs = 1000;
+
+	private final com.sun.management.ThreadMXBean alocacao;
+	private volatile Object sumidouro;	// recebe os resultados, evitando a eliminao de cdigo morto
+
+	/**
+	 * Construtor padro: 3 iteraes de aquecimento e 5 de medio, de 1 segundo cada.
+	 */
+	public Medidor() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+			alocacao = (com.sun.management.ThreadMXBean) threads;
+			alocacao.setThreadAllocatedMemoryEnabled(true);
+		} else
+			alocacao = null;
+	}
+
+	public void setIteracoesDeAquecimento(int iteracoes) {
+		this.iteracoesDeAquecimento = iteracoes;
+	}
+
+	public void setIteracoesDeMedicao(int iteracoes) {
+		if (iteracoes < 1)
+			throw new IllegalArgumentException(" necessria ao menos uma iterao de medio");
+		this.iteracoesDeMedicao = iteracoes;
+	}
+
+	public void setDuracaoDaIteracaoMs(long duracaoMs) {
+		this.duracaoDaIteracaoMs = duracaoMs;
+	}
+
+	/**
+	 * Realiza a medio completa de uma operao.
+	 * @param medicao operao a ser medida
+	 * @return mtricas obtidas nas iteraes de medio
+	 */
+	public ResultadoDeMedicao medir(Medicao medicao) {
+		medicao.preparar();
+		for (int i = 0; i < iteracoesDeAquecimento; i++)
+			iterar(medicao);
+
+		long qtdOperacoes = 0;
+		long tempoTotal = 0;
+		long bytesTotal = 0;
+		long coletas = qtdColetas();
+		long tempoDeColeta = tempoDeColeta();
+		double[] nsPorOperacao = new double[iteracoesDeMedicao];
+		for (int i = 0; i < iteracoesDeMedicao; i++) {
+			long[] iteracao = iterar(medicao);
+			qtdOperacoes += iteracao[0];
+			tempoTotal += iteracao[1];
+			bytesTotal += iteracao[2];
+			nsPorOperacao[i] = (double) iteracao[1] / iteracao[0];
+		}
+		coletas = qtdColetas() - coletas;
+		tempoDeColeta = tempoDeColeta() - tempoDeColeta;
+
+		double media = (double) tempoTotal / qtdOperacoes;
+		double variancia = 0;
+		for (double ns : nsPorOperacao)
+			variancia += (ns - media) * (ns - media);
+		double desvio = (iteracoesDeMedicao > 1) ? Math.sqrt(variancia / (iteracoesDeMedicao - 1)) : 0;
+		double bytes = (alocacao != null) ? (double) bytesTotal / qtdOperacoes : -1;
+		return new ResultadoDeMedicao(medicao.getNome(), qtdOperacoes, media, desvio, bytes, coletas, tempoDeColeta);
+	}
+
+	/**
+	 * Executa uma iterao, repetindo a operao at que a durao estipulada
+	 * seja atingida.
+	 * @return quantidade de operaes, tempo decorrido (ns) e bytes alocados
+	 */
+	private long[] iterar(Medicao medicao) {
+		long limite = duracaoDaIteracaoMs * 1000000L;
+		long idThread = Thread.currentThread().getId();
+		long bytesIniciais = (alocacao != null) ? alocacao.getThreadAllocatedBytes(idThread) : 0;
+		long inicio = System.nanoTime();
+		long decorrido;
+		long execucoes = 0;
+		do {
+			sumidouro = medicao.executar();
+			execucoes++;
+			decorrido = System.nanoTime() - inicio;
+		} while (decorrido < limite);
+		long bytes = (alocacao != null) ? alocacao.getThreadAllocatedBytes(idThread) - bytesIniciais : 0;
+		return new long[] { execucoes * medicao.getOperacoesPorExecucao(), decorrido, bytes };
+	}
+
+	private static long qtdColetas() {
+		long qtd = 0;
+		List<GarbageCollectorMXBean> coletores = ManagementFactory.getGarbageCollectorMXBeans();
+		for (GarbageCollectorMXBean coletor : coletores)
+			qtd += Math.max(coletor.getCollectionCount(), 0);
+		return qtd;
+	}
+
+	private static long tempoDeColeta() {
+		long tempo = 0;
+		List<GarbageCollectorMXBean> coletores = ManagementFactory.getGarbageCollectorMXBeans();
+		for (GarbageCollectorMXBean coletor : coletores)
+			tempo += Math.max(coletor.getCollectionTime(), 0);
+		return tempo;
+	}
+
+}
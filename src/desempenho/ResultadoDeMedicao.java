@@ -0,0 +1,104 @@
+package desempenho;
+
+import java.util.Locale;
+
+/**
+ * Esta classe armazena as mtricas obtidas por uma medio: vazo (operaes
+ * por segundo), tempo mdio por operao com o respectivo desvio entre as
+ * iteraes, bytes alocados por operao e atividade do coletor de lixo.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class ResultadoDeMedicao {
+
+	/** Cabealho correspondente ao formato produzido por paraCsv(). */
+	public static final String CABECALHO_CSV = "medicao;operacoes;ops_por_s;ns_por_op;desvio_ns;bytes_por_op;coletas_gc;tempo_gc_ms";
+
+	private final String nome;
+	private final long qtdOperacoes;
+	private final double nsPorOperacao;
+	private final double desvioNs;
+	private final double bytesPorOperacao;
+	private final long qtdColetas;
+	private final long tempoDeColetaMs;
+
+	public ResultadoDeMedicao(String nome, long qtdOperacoes, double nsPorOperacao, double desvioNs,
+			double bytesPorOperacao, long qtdColetas, long tempoDeColetaMs) {
+		this.nome = nome;
+		this.qtdOperacoes = qtdOperacoes;
+		this.nsPorOperacao = nsPorOperacao;
+		this.desvioNs = desvioNs;
+		this.bytesPorOperacao = bytesPorOperacao;
+		this.qtdColetas = qtdColetas;
+		this.tempoDeColetaMs = tempoDeColetaMs;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	/**
+	 * Recupera a quantidade de operaes realizadas nas iteraes de medio.
+	 */
+	public long getQtdOperacoes() {
+		return qtdOperacoes;
+	}
+
+	/**
+	 * Recupera a vazo mdia, em operaes por segundo.
+	 */
+	public double getOperacoesPorSegundo() {
+		return (nsPorOperacao > 0) ? 1e9 / nsPorOperacao : 0;
+	}
+
+	/**
+	 * Recupera o tempo mdio de cada operao, em nanossegundos.
+	 */
+	public double getNsPorOperacao() {
+		return nsPorOperacao;
+	}
+
+	/**
+	 * Recupera o desvio padro do tempo por operao entre as iteraes.
+	 */
+	public double getDesvioNs() {
+		return desvioNs;
+	}
+
+	/**
+	 * Recupera a mdia de bytes alocados por operao (negativo se a JVM no
+	 * fornecer essa informao).
+	 */
+	public double getBytesPorOperacao() {
+		return bytesPorOperacao;
+	}
+
+	/**
+	 * Recupera quantas coletas de lixo ocorreram durante a medio.
+	 */
+	public long getQtdColetas() {
+		return qtdColetas;
+	}
+
+	/**
+	 * Recupera o tempo total gasto em coletas de lixo durante a medio.
+	 */
+	public long getTempoDeColetaMs() {
+		return tempoDeColetaMs;
+	}
+
+	/**
+	 * Representa o resultado como uma linha CSV (separada por ponto e vrgula).
+	 */
+	public String paraCsv() {
+		return String.format(Locale.ROOT, "%s;%d;%.3f;%.1f;%.1f;%.1f;%d;%d", nome, qtdOperacoes,
+				getOperacoesPorSegundo(), nsPorOperacao, desvioNs, bytesPorOperacao, qtdColetas, tempoDeColetaMs);
+	}
+
+	public String toString() {
+		return String.format(Locale.ROOT, "%-40s %14.3f ops/s %16.1f +- %-12.1f ns/op %14.1f B/op %5d gc (%d ms)",
+				nome, getOperacoesPorSegundo(), nsPorOperacao, desvioNs, bytesPorOperacao, qtdColetas, tempoDeColetaMs);
+	}
+
+}
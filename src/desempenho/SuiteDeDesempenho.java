@@ -0,0 +1,512 @@
+package desempenho;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import espacoDeEstados.Estado;
+import espacoDeEstados.EstadoDeJogo;
+import espacoDeEstados.JogoDaVelha;
+import espacoDeEstados.JogoDaVelhaBitboard;
+import espacoDeEstados.Puzzle8;
+import estrategiasDeBusca.ControleDeRepetidos;
+import estrategiasDeBusca.ControleDeRepetidosCompacto;
+import estrategiasDeBusca.ControleDeRepetidosSimetrico;
+import estrategiasDeBusca.EstrategiaDeBusca;
+import estrategiasDeBusca.adversaria.Negamax;
+import estrategiasDeBusca.cega.BuscaBidirecional;
+import estrategiasDeBusca.cega.BuscaEmLargura;
+import estrategiasDeBusca.cega.BuscaEmLarguraExterna;
+import estrategiasDeBusca.cega.BuscaEmLarguraParalela;
+import estrategiasDeBusca.cega.BuscaEmProfundidade;
+import estrategiasDeBusca.cega.BuscaEmProfundidadeIterativa;
+import estrategiasDeBusca.cega.BuscaEmProfundidadeLimitada;
+import estrategiasDeBusca.heuristica.AStar;
+import estrategiasDeBusca.heuristica.AStarIncremental;
+import estrategiasDeBusca.heuristica.AStarParalelo;
+import estrategiasDeBusca.heuristica.AStarPonderado;
+import estrategiasDeBusca.heuristica.BestFirst;
+import estrategiasDeBusca.heuristica.BranchAndBound;
+import estrategiasDeBusca.heuristica.BuscaEmFeixe;
+import estrategiasDeBusca.heuristica.BuscaLocalParalela;
+import estrategiasDeBusca.heuristica.BuscaPorTabela;
+import estrategiasDeBusca.heuristica.HillClimbing;
+import estrategiasDeBusca.heuristica.IDAStar;
+import estrategiasDeBusca.heuristica.TabelaDeDistancias;
+
+/**
+ * Conjunto de medies de desempenho do projeto, utilizado para detectar
+ * regresses e comparar alteraes nos mecanismos de busca. Abrange:
+ *
+ *  - busca/[estratgia]/d[n]: execuo de buscar() por cada estratgia cega e
+ *    informada sobre as configuraes do CorpusPuzzle8;
+ *  - velha/[bitboard/]expandir/p[n]: expanso da rvore do Jogo da Velha at a
+ *    profundidade n, com a representao por caracteres ou por bitboards;
+ *  - velha/bitboard/enumerar[/simetrias]: enumerao das posies distintas,
+ *    opcionalmente identificando as posies simtricas;
+ *  - velha/[bitboard/]negamax/...: escolha da jogada inicial pela busca adversria;
+ *  - micro/...: gerao de sucessores (objetos ou movimentos), clculo da
+ *    heurstica e comparao de estados.
+ *
+ * Uso: java desempenho.SuiteDeDesempenho [-f regex] [-a aquecimento] [-i iteracoes]
+ *                                         [-t ms_por_iteracao] [-csv arquivo]
+ *
+ * A opo -f restringe a execuo s medies cujo nome contm a expresso
+ * regular informada, e -csv grava os resultados num arquivo para comparao
+ * entre verses.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class SuiteDeDesempenho {
+
+	private static TabelaDeDistancias tabela;	// construda sob demanda por tabelaDeDistancias()
+
+	/**
+	 * Cria instncias de uma estratgia de busca para as medies.
+	 */
+	private interface FabricaDeEstrategia {
+		public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade);
+	}
+
+	/**
+	 * Registra uma medio de buscar() para cada configurao do corpus cuja
+	 * profundidade no exceda o limite tolerado pela estratgia.
+	 */
+	private static void adicionarBuscas(List<Medicao> medicoes, final String estrategia, int profundidadeMaxima,
+			final FabricaDeEstrategia fabrica) {
+		for (final int profundidade : CorpusPuzzle8.PROFUNDIDADES) {
+			if (profundidade > profundidadeMaxima)
+				continue;
+			medicoes.add(new Medicao("busca/" + estrategia + "/d" + profundidade) {
+				@Override
+				public Object executar() {
+					EstrategiaDeBusca busca = fabrica.criar(CorpusPuzzle8.estado(profundidade), Puzzle8.getMeta(), profundidade);
+					busca.buscar();
+					return busca.getCaminhoSolucao();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Monta a lista completa de medies da sute.
+	 */
+	public static List<Medicao> medicoes() {
+		List<Medicao> medicoes = new ArrayList<Medicao>();
+
+		// estratgias cegas (as de profundidade ficam restritas s instncias
+		// em que terminam em tempo razovel)
+		adicionarBuscas(medicoes, "BuscaEmLargura", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new BuscaEmLargura(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "BuscaEmLarguraParalela", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new BuscaEmLarguraParalela(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "BuscaEmLarguraExterna", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new BuscaEmLarguraExterna(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "BuscaEmProfundidade", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new BuscaEmProfundidade(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "BuscaEmProfundidadeLimitada", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new BuscaEmProfundidadeLimitada(inicio, meta, profundidade);
+			}
+		});
+		adicionarBuscas(medicoes, "BuscaEmProfundidadeIterativa", 20, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new BuscaEmProfundidadeIterativa(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "BuscaBidirecional", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new BuscaBidirecional(inicio, meta);
+			}
+		});
+
+		// estratgias informadas
+		adicionarBuscas(medicoes, "HillClimbing", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new HillClimbing(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "BestFirst", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new BestFirst(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "BranchAndBound", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new BranchAndBound(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "AStar", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new AStar(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "AStarParalelo", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new AStarParalelo(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "AStarPonderado", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new AStarPonderado(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "AStarIncremental", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new AStarIncremental(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "BuscaEmFeixe", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new BuscaEmFeixe(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "BuscaLocalParalela", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				BuscaLocalParalela busca = new BuscaLocalParalela(inicio, meta);
+				busca.setSemente(profundidade);	// caminhadas reprodutveis entre as iteraes
+				return busca;
+			}
+		});
+		adicionarBuscas(medicoes, "IDAStar", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new IDAStar(inicio, meta);
+			}
+		});
+		adicionarBuscas(medicoes, "BuscaPorTabela", 31, new FabricaDeEstrategia() {
+			public EstrategiaDeBusca criar(Estado<?> inicio, Estado<?> meta, int profundidade) {
+				return new BuscaPorTabela(tabelaDeDistancias(), inicio, meta);
+			}
+		});
+
+		// rvore de jogo do Jogo da Velha
+		for (final int profundidade : new int[] { 4, 9 })
+			medicoes.add(new Medicao("velha/expandir/p" + profundidade) {
+				@Override
+				public Object executar() {
+					return expandir(novaPartida(), profundidade);
+				}
+			});
+
+		for (final int profundidade : new int[] { 4, 9 })
+			medicoes.add(new Medicao("velha/bitboard/expandir/p" + profundidade) {
+				@Override
+				public Object executar() {
+					return expandir(new JogoDaVelhaBitboard(), profundidade);
+				}
+			});
+
+		// enumerao das posies distintas, com e sem a identificao de simetrias
+		medicoes.add(new Medicao("velha/bitboard/enumerar") {
+			private final ControleDeRepetidos repetidos = new ControleDeRepetidosCompacto();
+
+			@Override
+			public Object executar() {
+				repetidos.limpar();
+				return enumerar(new JogoDaVelhaBitboard(), repetidos);
+			}
+		});
+		medicoes.add(new Medicao("velha/bitboard/enumerar/simetrias") {
+			private final ControleDeRepetidos repetidos = new ControleDeRepetidosSimetrico();
+
+			@Override
+			public Object executar() {
+				repetidos.limpar();
+				return enumerar(new JogoDaVelhaBitboard(), repetidos);
+			}
+		});
+
+		// partida completa resolvida pela busca adversria, com a tabela de
+		// transposio vazia (resolver) ou j preenchida por consultas anteriores (consultar)
+		medicoes.add(new Medicao("velha/negamax/resolver") {
+			private final Negamax negamax = new Negamax();
+
+			@Override
+			public Object executar() {
+				negamax.getTabelaDeTransposicao().limpar();
+				return negamax.escolherJogada(novaPartida());
+			}
+		});
+		medicoes.add(new Medicao("velha/negamax/consultar") {
+			private final Negamax negamax = new Negamax();
+
+			@Override
+			public Object executar() {
+				return negamax.escolherJogada(novaPartida());
+			}
+		});
+		medicoes.add(new Medicao("velha/bitboard/negamax/resolver") {
+			private final Negamax negamax = new Negamax();
+
+			@Override
+			public Object executar() {
+				negamax.getTabelaDeTransposicao().limpar();
+				return negamax.escolherJogada(new JogoDaVelhaBitboard());
+			}
+		});
+		medicoes.add(new Medicao("velha/bitboard/negamax/resolver/simetrias") {
+			private final Negamax negamax = new Negamax();
+
+			@Override
+			public void preparar() {
+				negamax.setUsarSimetrias(true);
+			}
+
+			@Override
+			public Object executar() {
+				negamax.getTabelaDeTransposicao().limpar();
+				return negamax.escolherJogada(new JogoDaVelhaBitboard());
+			}
+		});
+
+		// microbenchmarks das operaes dos estados
+		medicoes.add(new Medicao("micro/Puzzle8.getSucessores") {
+			private Puzzle8[] estados;
+
+			@Override
+			public void preparar() {
+				estados = estadosDoCorpus();
+			}
+
+			@Override
+			public int getOperacoesPorExecucao() {
+				return estados.length;
+			}
+
+			@Override
+			public Object executar() {
+				int qtd = 0;
+				for (Puzzle8 estado : estados)
+					qtd += estado.getSucessores().size();
+				return qtd;
+			}
+		});
+		medicoes.add(new Medicao("micro/Puzzle8.aplicarDesfazer") {
+			private Puzzle8[] estados;
+			private int[] movimentos = new int[4];
+
+			@Override
+			public void preparar() {
+				estados = estadosDoCorpus();
+			}
+
+			@Override
+			public int getOperacoesPorExecucao() {
+				return estados.length;
+			}
+
+			@Override
+			public Object executar() {
+				int soma = 0;
+				for (Puzzle8 estado : estados) {
+					int qtd = estado.getMovimentos(movimentos);
+					for (int i = 0; i < qtd; i++) {
+						estado.aplicar(movimentos[i]);
+						soma += estado.getAvaliacao();
+						estado.desfazer(movimentos[i]);
+					}
+				}
+				return soma;
+			}
+		});
+		medicoes.add(new Medicao("micro/Puzzle8.heuristica") {
+			private Puzzle8[] estados;
+
+			@Override
+			public void preparar() {
+				estados = estadosDoCorpus();
+			}
+
+			@Override
+			public int getOperacoesPorExecucao() {
+				return estados.length;
+			}
+
+			@Override
+			public Object executar() {
+				int soma = 0;
+				for (Puzzle8 estado : estados)
+					soma += estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO);
+				return soma;
+			}
+		});
+		medicoes.add(new Medicao("micro/Puzzle8.equals") {
+			private Puzzle8[] estados;
+			private Puzzle8[] copias;
+
+			@Override
+			public void preparar() {
+				estados = estadosDoCorpus();
+				copias = estadosDoCorpus();
+			}
+
+			@Override
+			public int getOperacoesPorExecucao() {
+				return estados.length * copias.length;
+			}
+
+			@Override
+			public Object executar() {
+				int iguais = 0;
+				for (Puzzle8 estado : estados)
+					for (Puzzle8 copia : copias)
+						if (estado.equals(copia))
+							iguais++;
+				return iguais;
+			}
+		});
+		medicoes.add(new Medicao("micro/JogoDaVelha.getSucessores") {
+			private JogoDaVelha partida;
+
+			@Override
+			public void preparar() {
+				partida = novaPartida();
+			}
+
+			@Override
+			public Object executar() {
+				return partida.getSucessores();
+			}
+		});
+		medicoes.add(new Medicao("micro/JogoDaVelha.equals") {
+			private JogoDaVelha[] estados;
+
+			@Override
+			public void preparar() {
+				estados = novaPartida().getSucessores().toArray(new JogoDaVelha[0]);
+			}
+
+			@Override
+			public int getOperacoesPorExecucao() {
+				return estados.length * estados.length;
+			}
+
+			@Override
+			public Object executar() {
+				int iguais = 0;
+				for (JogoDaVelha estado : estados)
+					for (JogoDaVelha outro : estados)
+						if (estado.equals(outro))
+							iguais++;
+				return iguais;
+			}
+		});
+
+		return medicoes;
+	}
+
+	/**
+	 * Constri a tabela de distncias do Puzzle-8 num arquivo temporrio na
+	 * primeira vez em que  solicitada (durante o aquecimento da medio).
+	 */
+	private static synchronized TabelaDeDistancias tabelaDeDistancias() {
+		if (tabela == null) {
+			try {
+				File arquivo = File.createTempFile("puzzle8-", ".dst");
+				arquivo.delete();
+				arquivo.deleteOnExit();
+				tabela = TabelaDeDistancias.carregarOuConstruir(arquivo);
+			} catch (IOException e) {
+				throw new IllegalStateException("No foi possvel construir a tabela de distncias", e);
+			}
+		}
+		return tabela;
+	}
+
+	private static Puzzle8[] estadosDoCorpus() {
+		Puzzle8[] estados = new Puzzle8[CorpusPuzzle8.PROFUNDIDADES.length];
+		for (int i = 0; i < estados.length; i++)
+			estados[i] = CorpusPuzzle8.estado(CorpusPuzzle8.PROFUNDIDADES[i]);
+		return estados;
+	}
+
+	private static JogoDaVelha novaPartida() {
+		JogoDaVelha partida = new JogoDaVelha(new char[] {' ',' ',' ',' ',' ',' ',' ',' ',' '});
+		partida.setJogador('X');
+		return partida;
+	}
+
+	/**
+	 * Expande a rvore de jogo em profundidade at o nvel informado.
+	 * @return quantidade de nodos gerados
+	 */
+	private static long expandir(Estado<?> estado, int profundidade) {
+		long qtd = 1;
+		if (profundidade > 0)
+			for (Object sucessor : estado.getSucessores())
+				qtd += expandir((Estado<?>) sucessor, profundidade - 1);
+		return qtd;
+	}
+
+	/**
+	 * Percorre as posies de uma partida at o seu trmino, registrando-as no
+	 * controle de repetidos e deixando de expandir as j registradas.
+	 * @return quantidade de posies distintas registradas
+	 */
+	private static int enumerar(Estado<?> estado, ControleDeRepetidos repetidos) {
+		if (repetidos.registrar(estado) && !((EstadoDeJogo) estado).isTerminal())
+			for (Object sucessor : estado.getSucessores())
+				enumerar((Estado<?>) sucessor, repetidos);
+		return repetidos.getQtdRegistrados();
+	}
+
+	public static void main(String[] args) throws IOException {
+		Medidor medidor = new Medidor();
+		Pattern filtro = null;
+		String arquivoCsv = null;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-f") && i + 1 < args.length)
+				filtro = Pattern.compile(args[++i]);
+			else if (args[i].equals("-a") && i + 1 < args.length)
+				medidor.setIteracoesDeAquecimento(Integer.parseInt(args[++i]));
+			else if (args[i].equals("-i") && i + 1 < args.length)
+				medidor.setIteracoesDeMedicao(Integer.parseInt(args[++i]));
+			else if (args[i].equals("-t") && i + 1 < args.length)
+				medidor.setDuracaoDaIteracaoMs(Long.parseLong(args[++i]));
+			else if (args[i].equals("-csv") && i + 1 < args.length)
+				arquivoCsv = args[++i];
+			else {
+				System.err.println("Uso: java desempenho.SuiteDeDesempenho [-f regex] [-a aquecimento] [-i iteracoes] [-t ms_por_iteracao] [-csv arquivo]");
+				System.exit(1);
+			}
+		}
+
+		List<ResultadoDeMedicao> resultados = new ArrayList<ResultadoDeMedicao>();
+		for (Medicao medicao : medicoes()) {
+			if (filtro != null && !filtro.matcher(medicao.getNome()).find())
+				continue;
+			ResultadoDeMedicao resultado = medidor.medir(medicao);
+			resultados.add(resultado);
+			System.out.println(resultado);
+		}
+
+		if (arquivoCsv != null) {
+			PrintWriter saida = new PrintWriter(new FileWriter(arquivoCsv));
+			try {
+				saida.println(ResultadoDeMedicao.CABECALHO_CSV);
+				for (ResultadoDeMedicao resultado : resultados)
+					saida.println(resultado.paraCsv());
+			} finally {
+				saida.close();
+			}
+		}
+	}
+
+}
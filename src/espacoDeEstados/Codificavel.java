@@ -0,0 +1,21 @@
+package espacoDeEstados;
+
+/**
+ * Interface implementada pelos estados cuja configurao pode ser descrita
+ * integralmente por um nico valor de 64 bits. O cdigo permite que as
+ * estratgias de busca armazenem e comparem estados utilizando apenas tipos
+ * primitivos, sem precisar manter os objetos correspondentes.
+ * 
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface Codificavel {
+
+	/**
+	 * Retorna o cdigo que identifica univocamente a configurao do estado.
+	 * Dois estados iguais (segundo equals) possuem obrigatoriamente o mesmo cdigo.
+	 * @return cdigo de 64 bits da configurao
+	 */
+	public long getCodigo();
+
+}
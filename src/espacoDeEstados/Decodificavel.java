@@ -0,0 +1,22 @@
+package espacoDeEstados;
+
+/**
+ * Interface implementada pelos estados Codificavel que tambm podem assumir a
+ * configurao descrita por um cdigo. Permite que as estratgias mantenham
+ * apenas os cdigos dos estados (por exemplo, em arquivos) e recriem a
+ * configurao de cada um somente no momento de expandi-lo, reaproveitando
+ * um nico objeto.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface Decodificavel extends Codificavel {
+
+	/**
+	 * Altera a configurao deste estado para a descrita pelo cdigo, tal como
+	 * setEstado() faria. O ancestral, o nvel e o custo no so alterados.
+	 * @param codigo cdigo obtido de getCodigo() de um estado do mesmo problema
+	 */
+	public void setCodigo(long codigo);
+
+}
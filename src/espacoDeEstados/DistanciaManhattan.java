@@ -0,0 +1,183 @@
+package espacoDeEstados;
+
+import java.util.Arrays;
+
+/**
+ * Esta classe representa a heurstica da distncia Manhattan "compilada" para
+ * uma determinada configurao meta de um quebra-cabea deslizante. Na criao
+ *  montada uma tabela com a distncia de cada pea, em cada posio possvel,
+ * at a posio que ela ocupa na meta. Assim o clculo da heurstica se resume
+ * a consultas nessa tabela e, aps um movimento, a variao da distncia pode
+ * ser obtida em tempo constante considerando apenas a pea que foi deslizada.
+ * 
+ * A posio livre no  contabilizada, o que mantm a heurstica admissvel.
+ * 
+ * @author Leandro C. Fernandes
+ *
+ */
+public final class DistanciaManhattan {
+	
+	private static volatile DistanciaManhattan ultima;	// ltima meta compilada a partir de um vetor de caracteres
+	
+	private final int lado;				// quantidade de linhas (e colunas) do tabuleiro
+	private final int qtdPosicoes;
+	private final int[] pecasMeta;		// pea que ocupa cada posio na meta
+	private final int[] distancias;		// distncia da pea p na posio i: distancias[p * qtdPosicoes + i]
+	private final long tabuleiroMeta;	// configurao da meta na forma compacta
+	private char[] cfgMeta;				// configurao da meta na forma de caracteres, quando conhecida
+	
+	/**
+	 * Compila a heurstica para a meta informada.
+	 * @param pecasMeta pea (0 para a posio livre) que ocupa cada posio na meta
+	 * @param lado quantidade de linhas e colunas do tabuleiro
+	 */
+	public DistanciaManhattan(int[] pecasMeta, int lado) {
+		this.lado = lado;
+		this.qtdPosicoes = lado * lado;
+		if (pecasMeta.length != qtdPosicoes)
+			throw new IllegalArgumentException("A meta deve possuir " + qtdPosicoes + " posies");
+		this.pecasMeta = pecasMeta.clone();
+		this.distancias = new int[qtdPosicoes * qtdPosicoes];
+		long compacto = 0L;
+		if (qtdPosicoes <= TabuleiroCompacto.MAX_POSICOES)
+			for (int pos = 0; pos < qtdPosicoes; pos++)
+				compacto = TabuleiroCompacto.setPeca(compacto, pos, pecasMeta[pos]);
+		this.tabuleiroMeta = compacto;
+		for (int posMeta = 0; posMeta < qtdPosicoes; posMeta++) {
+			int peca = pecasMeta[posMeta];
+			if (peca == 0)
+				continue;
+			for (int pos = 0; pos < qtdPosicoes; pos++)
+				distancias[peca * qtdPosicoes + pos] = Math.abs(pos / lado - posMeta / lado) + Math.abs(pos % lado - posMeta % lado);
+		}
+	}
+	
+	/**
+	 * Compila a heurstica para uma meta descrita por caracteres, reaproveitando
+	 * a ltima compilao quando a meta for a mesma.
+	 * @param cfgMeta configurao meta, com ' ' indicando a posio livre
+	 * @return heurstica compilada para a meta
+	 */
+	public static DistanciaManhattan para(char[] cfgMeta) {
+		DistanciaManhattan d = ultima;
+		if (d != null && Arrays.equals(d.cfgMeta, cfgMeta))
+			return d;
+		int lado = (int) Math.round(Math.sqrt(cfgMeta.length));
+		int[] pecas = new int[cfgMeta.length];
+		for (int i = 0; i < cfgMeta.length; i++)
+			pecas[i] = TabuleiroCompacto.paraPeca(cfgMeta[i]);
+		d = new DistanciaManhattan(pecas, lado);
+		d.cfgMeta = cfgMeta.clone();
+		ultima = d;
+		return d;
+	}
+	
+	/**
+	 * Compila a heurstica para uma meta descrita na forma compacta.
+	 * @param tabuleiroMeta configurao meta compactada (ver TabuleiroCompacto)
+	 * @param lado quantidade de linhas e colunas do tabuleiro
+	 * @return heurstica compilada para a meta
+	 */
+	public static DistanciaManhattan para(long tabuleiroMeta, int lado) {
+		int[] pecas = new int[lado * lado];
+		for (int i = 0; i < pecas.length; i++)
+			pecas[i] = TabuleiroCompacto.getPeca(tabuleiroMeta, i);
+		DistanciaManhattan d = new DistanciaManhattan(pecas, lado);
+		d.cfgMeta = TabuleiroCompacto.descompactar(tabuleiroMeta, pecas.length);
+		return d;
+	}
+	
+	/**
+	 * Recupera a configurao meta na forma de caracteres, quando conhecida.
+	 */
+	public char[] getCfgMeta() {
+		return cfgMeta;
+	}
+	
+	/**
+	 * Recupera a configurao meta na forma compacta.
+	 */
+	public long getTabuleiroMeta() {
+		return tabuleiroMeta;
+	}
+	
+	public int getLado() {
+		return lado;
+	}
+	
+	/**
+	 * Recupera a pea que ocupa uma posio na configurao meta.
+	 */
+	public int getPecaMeta(int posicao) {
+		return pecasMeta[posicao];
+	}
+	
+	/**
+	 * Distncia de uma pea, estando numa determinada posio, at a sua posio na meta.
+	 */
+	public int distancia(int peca, int posicao) {
+		return distancias[peca * qtdPosicoes + posicao];
+	}
+	
+	/**
+	 * Variao da heurstica quando uma pea  deslizada de uma posio a outra.
+	 * Como os movimentos so unitrios, o resultado  sempre +1 ou -1.
+	 */
+	public int variacao(int peca, int origem, int destino) {
+		return distancias[peca * qtdPosicoes + destino] - distancias[peca * qtdPosicoes + origem];
+	}
+	
+	/**
+	 * Calcula a heurstica completa para um tabuleiro compactado.
+	 * @return somatrio das distncias das peas at as suas posies na meta
+	 */
+	public int avaliar(long tabuleiro) {
+		int h = 0;
+		for (int pos = 0; pos < qtdPosicoes; pos++) {
+			int peca = TabuleiroCompacto.getPeca(tabuleiro, pos);
+			if (peca != 0)
+				h += distancias[peca * qtdPosicoes + pos];
+		}
+		return h;
+	}
+	
+	/**
+	 * Calcula a heurstica completa para um tabuleiro descrito pea a pea,
+	 * com uma posio por byte.
+	 * @return somatrio das distncias das peas at as suas posies na meta
+	 */
+	public int avaliar(byte[] pecas) {
+		int h = 0;
+		for (int pos = 0; pos < qtdPosicoes; pos++)
+			if (pecas[pos] != 0)
+				h += distancias[pecas[pos] * qtdPosicoes + pos];
+		return h;
+	}
+	
+	/**
+	 * Verifica se esta heurstica foi compilada para a configurao informada.
+	 * @param pecas pea que ocupa cada posio do tabuleiro
+	 * @return true se a configurao for a meta desta heurstica
+	 */
+	public boolean possuiMeta(byte[] pecas) {
+		if (pecas.length != qtdPosicoes)
+			return false;
+		for (int pos = 0; pos < qtdPosicoes; pos++)
+			if (pecas[pos] != pecasMeta[pos])
+				return false;
+		return true;
+	}
+	
+	/**
+	 * Calcula a heurstica completa para um tabuleiro descrito pea a pea.
+	 * @return somatrio das distncias das peas at as suas posies na meta
+	 */
+	public int avaliar(int[] pecas) {
+		int h = 0;
+		for (int pos = 0; pos < qtdPosicoes; pos++)
+			if (pecas[pos] != 0)
+				h += distancias[pecas[pos] * qtdPosicoes + pos];
+		return h;
+	}
+	
+}
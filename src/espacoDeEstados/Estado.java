@@ -127,6 +127,28 @@ public abstract class Estado<T> {
 
 	public abstract int heuristica(T cfg);
 	
+	/**
+	 * Informa ao estado qual  a meta da busca, permitindo que prepare as
+	 * estruturas utilizadas pela sua heurstica e atualize a prpria avaliao.
+	 * A implementao padro no faz nada.
+	 * @param meta estado que representa a meta da busca
+	 */
+	public void definirMeta(Estado<?> meta) {
+	}
+	
+	/**
+	 * Verifica rapidamente, antes da busca, se a meta informada pode ser
+	 * alcanada a partir deste estado. Problemas que possuem um teste de
+	 * solubilidade (como os quebra-cabeas deslizantes) sobrescrevem este mtodo
+	 * para que pedidos impossveis sejam rejeitados sem explorar o espao. A
+	 * implementao padro considera qualquer meta alcanvel.
+	 * @param meta estado que representa a meta da busca
+	 * @return false somente se for certo que a meta  inalcanvel
+	 */
+	public boolean podeAlcancar(Estado<?> meta) {
+		return true;
+	}
+	
 	/**
 	 * Status, descrio ou configurao representativa para o estado.
 	 * @param informaes que caracterizam este estado 
@@ -152,6 +174,14 @@ public abstract class Estado<T> {
 	 */
 	public abstract boolean equals(Object estado);
 	
+	/**
+	 * Calcula um cdigo hash coerente com equals(), isto , estados iguais devem
+	 * obrigatoriamente produzir o mesmo cdigo.  o que permite armazenar estados
+	 * em tabelas hash e detectar repeties durante a busca.
+	 * @return cdigo hash do estado
+	 */
+	public abstract int hashCode();
+	
 	/**
 	 * Retorna uma representao do estado numa forma textual e que possa ser
 	 * apresentada na console, por exemplo.
@@ -0,0 +1,54 @@
+package espacoDeEstados;
+
+/**
+ * Interface implementada pelos estados que representam posies de um jogo de
+ * dois jogadores que se alternam (soma zero e informao perfeita), permitindo
+ * que as estratgias de busca adversria avaliem a rvore de jogo gerada por
+ * getSucessores().
+ *
+ * Todos os valores so informados do ponto de vista do jogador da vez, como
+ * exigido pelo Negamax: uma posio boa para um jogador vale o simtrico para
+ * o adversrio. Os valores devem depender apenas da posio, e no do caminho
+ * que levou at ela, para que possam ser reaproveitados entre transposies.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface EstadoDeJogo {
+
+	/**
+	 * Valor mnimo de uma posio vencida. Estimativas de posies no
+	 * terminais devem ser estritamente menores, em mdulo.
+	 */
+	public static final int VITORIA = 1000;
+
+	/**
+	 * Indica se a partida terminou, seja pela vitria de um dos jogadores ou
+	 * por empate.
+	 */
+	public boolean isTerminal();
+
+	/**
+	 * Valor da posio para o jogador da vez: o resultado exato nas posies
+	 * terminais e uma estimativa nas demais. Vitrias e derrotas devem valer,
+	 * em mdulo, mais do que qualquer estimativa (ver VITORIA).
+	 */
+	public int getUtilidade();
+
+	/**
+	 * Quantidade de posies (casas) do tabuleiro.
+	 */
+	public int getQtdPosicoes();
+
+	/**
+	 * Pea que ocupa uma posio: 0 para vazia e 1, 2, ... para as peas de
+	 * cada jogador.
+	 */
+	public int getPeca(int posicao);
+
+	/**
+	 * Jogador da vez: 0 para o primeiro e 1 para o segundo.
+	 */
+	public int getVez();
+
+}
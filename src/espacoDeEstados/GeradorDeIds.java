@@ -0,0 +1,49 @@
+package espacoDeEstados;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gerador dos identificadores atribudos aos estados na sua criao. Em vez de
+ * um contador global incrementado a cada estado, que no  seguro quando vrias
+ * buscas executam em paralelo e que se tornaria um ponto de disputa entre as
+ * threads se fosse sincronizado, cada thread reserva de uma s vez um bloco de
+ * identificadores e os distribui localmente. O contador compartilhado 
+ * consultado somente uma vez a cada TAMANHO_DO_BLOCO estados criados.
+ *
+ * Os identificadores so nicos entre todas as threads, mas apenas os estados
+ * criados por uma mesma thread recebem nmeros consecutivos.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public final class GeradorDeIds {
+
+	public static final int TAMANHO_DO_BLOCO = 4096;
+
+	private static final AtomicInteger proximoBloco = new AtomicInteger(0);
+
+	// faixa reservada pela thread: [0] = prximo identificador, [1] = fim do bloco
+	private static final ThreadLocal<int[]> faixa = new ThreadLocal<int[]>() {
+		@Override
+		protected int[] initialValue() {
+			return new int[2];
+		}
+	};
+
+	private GeradorDeIds() {
+	}
+
+	/**
+	 * Fornece um novo identificador para um estado.
+	 * @return identificador ainda no utilizado por nenhuma thread
+	 */
+	public static int proximo() {
+		int[] f = faixa.get();
+		if (f[0] == f[1]) {
+			f[0] = proximoBloco.getAndAdd(TAMANHO_DO_BLOCO);
+			f[1] = f[0] + TAMANHO_DO_BLOCO;
+		}
+		return f[0]++;
+	}
+
+}
@@ -1,6 +1,7 @@
 package espacoDeEstados;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -25,10 +26,16 @@ import java.util.List;
  * @author Leandro C. Fernandes
  *
  */
-public class JogoDaVelha extends Estado<char[]> {
+public class JogoDaVelha extends Estado<char[]> implements EstadoDeJogo, Simetrico, Reversivel {
+	
+	// posies de cada uma das 8 trincas: linhas, colunas e diagonais
+	private static final int[][] TRINCAS = {
+		{0,1,2}, {3,4,5}, {6,7,8},
+		{0,3,6}, {1,4,7}, {2,5,8},
+		{0,4,8}, {2,4,6}
+	};
 	
 	private char jogador;
-	private static int contGlobal = 0;	// contador global representando a qde de instncias
 	private char[] tabuleiro;			// vetor que descreve a posio das peas do quebra-cabeas
 	
 	/**
@@ -53,7 +60,7 @@ public class JogoDaVelha extends Estado<char[]> {
 	 * @param nivel altura do nodo em relao a raiz da rvore
 	 */
 	public JogoDaVelha(char[] cfgTabuleiro, JogoDaVelha ancestral, int nivel) {
-		setId(contGlobal++);
+		setId(GeradorDeIds.proximo());
 		setNivel(nivel);
 		setAncestral(ancestral);
 		tabuleiro = cfgTabuleiro.clone();
@@ -122,6 +129,192 @@ public class JogoDaVelha extends Estado<char[]> {
 		
 		return estadosSucessores;
 	}
+
+	@Override
+	public int getMaxMovimentos() {
+		return 9;
+	}
+
+	/**
+	 * Enumera as jogadas possveis, sendo cada uma o ndice da posio livre
+	 * que ser marcada pelo jogador da vez.
+	 */
+	@Override
+	public int getMovimentos(int[] movimentos) {
+		int qtd = 0;
+		for (int k = 0; k < 9; k++)
+			if (tabuleiro[k] == ' ')
+				movimentos[qtd++] = k;
+		return qtd;
+	}
+
+	/**
+	 * Marca a posio com o smbolo do jogador da vez e passa a vez ao adversrio.
+	 */
+	@Override
+	public void aplicar(int movimento) {
+		tabuleiro[movimento] = jogador;
+		jogador = (jogador == 'O') ? 'X' : 'O';
+		setNivel(getNivel() + 1);
+	}
+
+	/**
+	 * Libera a posio marcada, devolvendo a vez ao jogador que a marcou.
+	 */
+	@Override
+	public void desfazer(int movimento) {
+		jogador = tabuleiro[movimento];
+		tabuleiro[movimento] = ' ';
+		setNivel(getNivel() - 1);
+	}
+
+	/**
+	 * Nenhuma jogada devolve o tabuleiro ao estado anterior: as marcas nunca so
+	 * removidas por uma jogada.
+	 */
+	@Override
+	public int getMovimentoInverso(int movimento) {
+		return -1;
+	}
+
+	@Override
+	public JogoDaVelha copiar() {
+		JogoDaVelha copia = new JogoDaVelha(tabuleiro, null, getNivel());
+		copia.setAncestral(getAncestral());
+		copia.setJogador(jogador);
+		copia.setCusto(getCusto());
+		copia.setAvaliacao(getAvaliacao());
+		copia.setF(getF());
+		return copia;
+	}
+
+	/**
+	 * Identifica o jogador que completou uma trinca.
+	 * @return smbolo do vencedor ou ' ', caso nenhuma trinca tenha sido formada
+	 */
+	public char getVencedor() {
+		for (int[] t : TRINCAS) {
+			char c = tabuleiro[t[0]];
+			if ((c == 'X' || c == 'O') && tabuleiro[t[1]] == c && tabuleiro[t[2]] == c)
+				return c;
+		}
+		return ' ';
+	}
+	
+	/**
+	 * A partida termina quando um jogador forma uma trinca ou quando no h
+	 * mais posies livres.
+	 */
+	@Override
+	public boolean isTerminal() {
+		return getVencedor() != ' ' || qtdLivres() == 0;
+	}
+	
+	/**
+	 * Valor da posio para o jogador da vez. Uma vitria vale VITORIA mais a
+	 * quantidade de posies ainda livres, de modo que vitrias mais rpidas (e
+	 * derrotas mais demoradas) sejam preferidas, e o empate vale 0. Nas posies
+	 * no terminais, estima-se o valor pela diferena entre as trincas que
+	 * ainda podem ser completadas pelo jogador da vez e pelo adversrio.
+	 */
+	@Override
+	public int getUtilidade() {
+		char adversario = (jogador == 'O') ? 'X' : 'O';
+		int abertas = 0;
+		for (int[] t : TRINCAS) {
+			int doJogador = 0, doAdversario = 0;
+			for (int pos : t) {
+				if (tabuleiro[pos] == jogador)
+					doJogador++;
+				else if (tabuleiro[pos] == adversario)
+					doAdversario++;
+			}
+			if (doJogador == 3)
+				return VITORIA + qtdLivres();
+			if (doAdversario == 3)
+				return -(VITORIA + qtdLivres());
+			if (doAdversario == 0)
+				abertas++;
+			if (doJogador == 0)
+				abertas--;
+		}
+		return abertas;
+	}
+	
+	@Override
+	public int getQtdPosicoes() {
+		return 9;
+	}
+	
+	/**
+	 * Pea de uma posio: 0 para livre, 1 para 'X' e 2 para 'O'.
+	 */
+	@Override
+	public int getPeca(int posicao) {
+		char c = tabuleiro[posicao];
+		return (c == 'X') ? 1 : (c == 'O') ? 2 : 0;
+	}
+	
+	/**
+	 * Jogador da vez: 0 para 'X' e 1 para 'O'.
+	 */
+	@Override
+	public int getVez() {
+		return (jogador == 'O') ? 1 : 0;
+	}
+	
+	private int qtdLivres() {
+		int qtd = 0;
+		for (int i = 0; i < tabuleiro.length; i++)
+			if (tabuleiro[i] == ' ')
+				qtd++;
+		return qtd;
+	}
+
+	/**
+	 * ndice do tabuleiro na base 3 aps a aplicao de uma simetria, em que
+	 * cada posio contribui com o valor da sua pea (ver getPeca).
+	 */
+	private int indice(int simetria) {
+		int indice = 0;
+		for (int pos = 8; pos >= 0; pos--)
+			indice = indice * 3 + getPeca(SimetriasDoTabuleiro.getOrigem(simetria, pos));
+		return indice;
+	}
+	
+	@Override
+	public long getCodigoCanonico() {
+		return indice(getSimetriaCanonica());
+	}
+	
+	@Override
+	public int getSimetriaCanonica() {
+		int canonica = 0;
+		int menor = indice(0);
+		for (int simetria = 1; simetria < SimetriasDoTabuleiro.QTD_SIMETRIAS; simetria++) {
+			int indice = indice(simetria);
+			if (indice < menor) {
+				menor = indice;
+				canonica = simetria;
+			}
+		}
+		return canonica;
+	}
+	
+	@Override
+	public JogoDaVelha transformar(int simetria) {
+		char[] cfg = new char[9];
+		for (int pos = 0; pos < 9; pos++)
+			cfg[pos] = tabuleiro[SimetriasDoTabuleiro.getOrigem(simetria, pos)];
+		JogoDaVelha transformado = new JogoDaVelha(cfg, null, getNivel());
+		transformado.setJogador(jogador);
+		return transformado;
+	}
+	
+	@Override
+	public int getSimetriaInversa(int simetria) {
+		return SimetriasDoTabuleiro.getInversa(simetria);
+	}
 	
 	public int heuristica(char[] cfgEstadoMeta) {
 		return 0;
@@ -159,4 +352,14 @@ public class JogoDaVelha extends Estado<char[]> {
 		return true;
 	}
 	
+	/**
+	 * Gera o cdigo hash a partir da disposio das peas no tabuleiro. Note que
+	 * o coringa '?' aceito por equals() no participa desse contrato: somente
+	 * estados concretos (sem coringas) devem ser armazenados em tabelas hash.
+	 */
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(tabuleiro);
+	}
+	
 }
\ No newline at end of file
@@ -0,0 +1,371 @@
+package espacoDeEstados;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representao do Jogo da Velha por bitboards: as marcas de cada jogador so
+ * guardadas num inteiro de 9 bits, em que o bit i corresponde a posio i do
+ * tabuleiro. Desse modo:
+ *
+ *  - as posies livres so o complemento da unio das duas mscaras, e as
+ *    jogadas so obtidas percorrendo os seus bits;
+ *  - a vitria  verificada consultando, na mscara do jogador, uma tabela de
+ *    512 posies calculada a partir das mscaras das 8 trincas;
+ *  - a configurao  identificada por um ndice na base 3 (cada posio vale
+ *    0, 1 ou 2), que  um hash perfeito do tabuleiro;
+ *  - as 8 simetrias do tabuleiro so aplicadas s mscaras por consulta a
+ *    tabelas, e o representante cannico  a orientao de menor ndice.
+ *
+ * Gerar um sucessor, verificar o trmino da partida ou comparar dois estados
+ * exige apenas algumas operaes sobre inteiros, sem a cpia de vetores. Ao
+ * contrrio de JogoDaVelha, equals() no aceita o coringa '?'.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class JogoDaVelhaBitboard extends Estado<char[]> implements EstadoDeJogo, Codificavel, Simetrico, Reversivel {
+
+	public static final int TABULEIRO_CHEIO = 0x1FF;
+
+	// mscaras das 8 trincas: linhas, colunas e diagonais
+	public static final int[] TRINCAS = {
+		0x007, 0x038, 0x1C0,
+		0x049, 0x092, 0x124,
+		0x111, 0x054
+	};
+
+	public static final int QTD_CONFIGURACOES = 19683;	// 3^9
+
+	private static final boolean[] COMPLETA = new boolean[TABULEIRO_CHEIO + 1];	// a mscara contm uma trinca?
+	private static final byte[] DISJUNTAS = new byte[TABULEIRO_CHEIO + 1];		// trincas sem nenhuma marca da mscara
+	private static final short[] TERNARIO = new short[TABULEIRO_CHEIO + 1];		// soma de 3^i para cada bit i da mscara
+	private static final short[][] TRANSFORMADA = new short[SimetriasDoTabuleiro.QTD_SIMETRIAS][TABULEIRO_CHEIO + 1];
+
+	static {
+		for (int mascara = 0; mascara <= TABULEIRO_CHEIO; mascara++) {
+			for (int trinca : TRINCAS) {
+				if ((mascara & trinca) == trinca)
+					COMPLETA[mascara] = true;
+				if ((mascara & trinca) == 0)
+					DISJUNTAS[mascara]++;
+			}
+			int valor = 0;
+			for (int pos = 8; pos >= 0; pos--)
+				valor = valor * 3 + ((mascara >>> pos) & 1);
+			TERNARIO[mascara] = (short) valor;
+			for (int simetria = 0; simetria < SimetriasDoTabuleiro.QTD_SIMETRIAS; simetria++)
+				for (int pos = 0; pos < 9; pos++)
+					if ((mascara & (1 << SimetriasDoTabuleiro.getOrigem(simetria, pos))) != 0)
+						TRANSFORMADA[simetria][mascara] |= 1 << pos;
+		}
+	}
+
+	private int marcasX;	// posies marcadas por 'X'
+	private int marcasO;	// posies marcadas por 'O'
+	private int vez;		// 0 para 'X' e 1 para 'O'
+
+	/**
+	 * Cria uma partida com o tabuleiro vazio e a vez do jogador 'X'.
+	 */
+	public JogoDaVelhaBitboard() {
+		this(0, 0, 0, null, 0);
+	}
+
+	/**
+	 * Cria um estado a partir da configurao do tabuleiro, no mesmo formato
+	 * utilizado por JogoDaVelha ('X', 'O' ou ' ' em cada posio).
+	 * @param cfgTabuleiro vetor de caracteres que representa a disposio das peas
+	 */
+	public JogoDaVelhaBitboard(char[] cfgTabuleiro) {
+		this(0, 0, 0, null, 0);
+		setEstado(cfgTabuleiro);
+	}
+
+	/**
+	 * Cria um estado a partir das mscaras de cada jogador.
+	 * @param marcasX posies marcadas por 'X'
+	 * @param marcasO posies marcadas por 'O'
+	 * @param vez jogador da vez (0 para 'X' e 1 para 'O')
+	 * @param ancestral referencia ao nodo pai do estado corrente
+	 * @param nivel altura do nodo em relao a raiz da rvore
+	 */
+	public JogoDaVelhaBitboard(int marcasX, int marcasO, int vez, JogoDaVelhaBitboard ancestral, int nivel) {
+		setId(GeradorDeIds.proximo());
+		setNivel(nivel);
+		setAncestral(ancestral);
+		this.marcasX = marcasX;
+		this.marcasO = marcasO;
+		this.vez = vez;
+	}
+
+	/**
+	 * Define o smbolo do prximo jogador (jogador 'X' ou jogador 'O').
+	 */
+	public void setJogador(char simbolo) {
+		vez = (simbolo == 'O') ? 1 : 0;
+	}
+
+	/**
+	 * Recupera o smbolo do prximo jogador.
+	 * @return smbolo 'X' ou 'O'
+	 */
+	public char getJogador() {
+		return (vez == 0) ? 'X' : 'O';
+	}
+
+	public int getMarcasX() {
+		return marcasX;
+	}
+
+	public int getMarcasO() {
+		return marcasO;
+	}
+
+	/**
+	 * Recupera as posies livres do tabuleiro.
+	 */
+	public int getLivres() {
+		return ~(marcasX | marcasO) & TABULEIRO_CHEIO;
+	}
+
+	@Override
+	public void setEstado(char[] cfgTabuleiro) {
+		marcasX = marcasO = 0;
+		for (int i = 0; i < 9; i++)
+			if (cfgTabuleiro[i] == 'X')
+				marcasX |= 1 << i;
+			else if (cfgTabuleiro[i] == 'O')
+				marcasO |= 1 << i;
+	}
+
+	@Override
+	public char[] getEstado() {
+		char[] cfgTabuleiro = new char[9];
+		for (int i = 0; i < 9; i++)
+			cfgTabuleiro[i] = getSimbolo(i);
+		return cfgTabuleiro;
+	}
+
+	private char getSimbolo(int posicao) {
+		int bit = 1 << posicao;
+		return ((marcasX & bit) != 0) ? 'X' : ((marcasO & bit) != 0) ? 'O' : ' ';
+	}
+
+	/**
+	 * Gera um sucessor para cada posio livre, marcada pelo jogador da vez.
+	 * @return lista de estados sucessores
+	 */
+	@Override
+	public List<JogoDaVelhaBitboard> getSucessores() {
+		int livres = getLivres();
+		List<JogoDaVelhaBitboard> estadosSucessores = new ArrayList<JogoDaVelhaBitboard>(Integer.bitCount(livres));
+		while (livres != 0) {
+			int bit = livres & -livres;
+			livres ^= bit;
+			JogoDaVelhaBitboard sucessor = (vez == 0)
+					? new JogoDaVelhaBitboard(marcasX | bit, marcasO, 1, this, getNivel()+1)
+					: new JogoDaVelhaBitboard(marcasX, marcasO | bit, 0, this, getNivel()+1);
+			estadosSucessores.add(sucessor);
+		}
+		return estadosSucessores;
+	}
+
+	@Override
+	public int getMaxMovimentos() {
+		return 9;
+	}
+
+	/**
+	 * Enumera as jogadas possveis, sendo cada uma o ndice da posio livre
+	 * que ser marcada pelo jogador da vez.
+	 */
+	@Override
+	public int getMovimentos(int[] movimentos) {
+		int livres = getLivres();
+		int qtd = 0;
+		while (livres != 0) {
+			movimentos[qtd++] = Integer.numberOfTrailingZeros(livres);
+			livres &= livres - 1;
+		}
+		return qtd;
+	}
+
+	/**
+	 * Marca a posio com o smbolo do jogador da vez e passa a vez ao adversrio.
+	 */
+	@Override
+	public void aplicar(int movimento) {
+		if (vez == 0)
+			marcasX |= 1 << movimento;
+		else
+			marcasO |= 1 << movimento;
+		vez ^= 1;
+		setNivel(getNivel() + 1);
+	}
+
+	/**
+	 * Libera a posio marcada, devolvendo a vez ao jogador que a marcou.
+	 */
+	@Override
+	public void desfazer(int movimento) {
+		vez ^= 1;
+		if (vez == 0)
+			marcasX &= ~(1 << movimento);
+		else
+			marcasO &= ~(1 << movimento);
+		setNivel(getNivel() - 1);
+	}
+
+	/**
+	 * Nenhuma jogada devolve o tabuleiro ao estado anterior: as marcas nunca so
+	 * removidas por uma jogada.
+	 */
+	@Override
+	public int getMovimentoInverso(int movimento) {
+		return -1;
+	}
+
+	@Override
+	public JogoDaVelhaBitboard copiar() {
+		JogoDaVelhaBitboard copia = new JogoDaVelhaBitboard(marcasX, marcasO, vez, null, getNivel());
+		copia.setAncestral(getAncestral());
+		copia.setCusto(getCusto());
+		copia.setAvaliacao(getAvaliacao());
+		copia.setF(getF());
+		return copia;
+	}
+
+	/**
+	 * Identifica o jogador que completou uma trinca.
+	 * @return smbolo do vencedor ou ' ', caso nenhuma trinca tenha sido formada
+	 */
+	public char getVencedor() {
+		return COMPLETA[marcasX] ? 'X' : COMPLETA[marcasO] ? 'O' : ' ';
+	}
+
+	@Override
+	public boolean isTerminal() {
+		return COMPLETA[marcasX] || COMPLETA[marcasO] || (marcasX | marcasO) == TABULEIRO_CHEIO;
+	}
+
+	/**
+	 * Valor da posio para o jogador da vez, calculado da mesma forma que em
+	 * JogoDaVelha: VITORIA mais a quantidade de posies livres para uma vitria,
+	 * 0 para o empate e, nas posies no terminais, a diferena entre as trincas
+	 * ainda possveis para o jogador da vez e para o adversrio.
+	 */
+	@Override
+	public int getUtilidade() {
+		int proprias = (vez == 0) ? marcasX : marcasO;
+		int adversarias = (vez == 0) ? marcasO : marcasX;
+		if (COMPLETA[proprias])
+			return VITORIA + Integer.bitCount(getLivres());
+		if (COMPLETA[adversarias])
+			return -(VITORIA + Integer.bitCount(getLivres()));
+		return DISJUNTAS[adversarias] - DISJUNTAS[proprias];
+	}
+
+	@Override
+	public int getQtdPosicoes() {
+		return 9;
+	}
+
+	/**
+	 * Pea de uma posio: 0 para livre, 1 para 'X' e 2 para 'O'.
+	 */
+	@Override
+	public int getPeca(int posicao) {
+		return ((marcasX >>> posicao) & 1) | (((marcasO >>> posicao) & 1) << 1);
+	}
+
+	@Override
+	public int getVez() {
+		return vez;
+	}
+
+	/**
+	 * ndice do tabuleiro na base 3, em que cada posio contribui com o valor
+	 * da sua pea (ver getPeca).  um hash perfeito: cada configurao possui um
+	 * ndice distinto entre 0 e QTD_CONFIGURACOES - 1.
+	 */
+	public int getIndice() {
+		return TERNARIO[marcasX] + 2 * TERNARIO[marcasO];
+	}
+
+	/**
+	 * Cdigo da configurao, que corresponde ao seu ndice na base 3.
+	 */
+	@Override
+	public long getCodigo() {
+		return getIndice();
+	}
+
+	@Override
+	public long getCodigoCanonico() {
+		int menor = getIndice();
+		for (int simetria = 1; simetria < SimetriasDoTabuleiro.QTD_SIMETRIAS; simetria++)
+			menor = Math.min(menor, TERNARIO[TRANSFORMADA[simetria][marcasX]] + 2 * TERNARIO[TRANSFORMADA[simetria][marcasO]]);
+		return menor;
+	}
+
+	@Override
+	public int getSimetriaCanonica() {
+		int canonica = 0;
+		int menor = getIndice();
+		for (int simetria = 1; simetria < SimetriasDoTabuleiro.QTD_SIMETRIAS; simetria++) {
+			int indice = TERNARIO[TRANSFORMADA[simetria][marcasX]] + 2 * TERNARIO[TRANSFORMADA[simetria][marcasO]];
+			if (indice < menor) {
+				menor = indice;
+				canonica = simetria;
+			}
+		}
+		return canonica;
+	}
+
+	@Override
+	public JogoDaVelhaBitboard transformar(int simetria) {
+		return new JogoDaVelhaBitboard(TRANSFORMADA[simetria][marcasX], TRANSFORMADA[simetria][marcasO], vez, null, getNivel());
+	}
+
+	@Override
+	public int getSimetriaInversa(int simetria) {
+		return SimetriasDoTabuleiro.getInversa(simetria);
+	}
+
+	public int heuristica(char[] cfgEstadoMeta) {
+		return 0;
+	}
+
+	/**
+	 * Retorna uma String correspondente a posio das peas no tabuleiro.
+	 */
+	public String toString() {
+		String msg = "";
+		msg += " " + getSimbolo(0) + " | " + getSimbolo(1) + " | " + getSimbolo(2) + "\n";
+		msg += "---+---+---\n";
+		msg += " " + getSimbolo(3) + " | " + getSimbolo(4) + " | " + getSimbolo(5) + "   Nodo #" + getId() + "  Nvel: " + getNivel() + "\n";
+		msg += "---+---+---\n";
+		msg += " " + getSimbolo(6) + " | " + getSimbolo(7) + " | " + getSimbolo(8) + "\n";
+		return msg;
+	}
+
+	/**
+	 * Dois estados so iguais quando as marcas de ambos os jogadores coincidem.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		JogoDaVelhaBitboard other = (JogoDaVelhaBitboard) obj;
+		return marcasX == other.marcasX && marcasO == other.marcasO;
+	}
+
+	@Override
+	public int hashCode() {
+		return getIndice();
+	}
+
+}
@@ -21,19 +21,35 @@ import java.util.List;
  * @author Leandro C. Fernandes
  *
  */
-public class Puzzle8 extends Estado<char[]> {
+public class Puzzle8 extends Estado<char[]> implements Decodificavel, QuebraCabecaDeslizante, Simetrico, Reversivel {
 	
 	public static final char[] TABULEIRO_ORGANIZADO = {'1','2','3','4','5','6','7','8',' '};
 	
-	private static int contGlobal = 0;	// contador global de instncias
-	private char[] tabuleiro;			// vetor que descreve a posio das peas do quebra-cabeas
+	/**
+	 * Posies vizinhas a cada posio do tabuleiro, ou seja, as posies de onde
+	 * uma pea pode deslizar para a posio livre. 
+	 */
+	static final int[][] VIZINHOS = {
+		{1, 3}, {0, 2, 4}, {1, 5},
+		{0, 4, 6}, {1, 5, 7, 3}, {2, 8, 4},
+		{3, 7}, {4, 8, 6}, {5, 7}
+	};
+	
+	private static final DistanciaManhattan META_ORGANIZADA = DistanciaManhattan.para(TABULEIRO_ORGANIZADO);
+	
+	private static volatile SimetriasDaMeta ultimasSimetrias;	// simetrias da ltima meta consultada
+	
+	private long tabuleiro;				// posio das peas do quebra-cabeas, na forma compacta
+	private byte posLivre;				// posio do tabuleiro que est vazia
+	private DistanciaManhattan meta;	// heurstica compilada para a meta da busca
+	private int distancia;				// distncia Manhattan do tabuleiro at a meta
 		
 	/**
 	 * Construtor padro. Cria uma instncia que representa uma configurao
 	 * qualquer para o tabuleiro do quebra-cabeas
 	 */
 	public Puzzle8() {
-		this(new char[9], null, 0);
+		this(0L, null, 0);
 	}
 	
 	/**
@@ -54,11 +70,41 @@ public class Puzzle8 extends Estado<char[]> {
 	 * @param nivel altura do nodo em relao a raiz da rvore de busca.
 	 */
 	public Puzzle8(char[] cfgTabuleiro, Puzzle8 ancestral, int nivel) {
+		this(TabuleiroCompacto.compactar(cfgTabuleiro), ancestral, nivel);
+	}
+	
+	/**
+	 * Cria um novo estado a partir da representao compacta do tabuleiro.
+	 * @param tabuleiro configurao das peas na forma compacta (ver TabuleiroCompacto).
+	 * @param ancestral referncia ao nodo pai do estado corrente.
+	 * @param nivel altura do nodo em relao a raiz da rvore de busca.
+	 */
+	public Puzzle8(long tabuleiro, Puzzle8 ancestral, int nivel) {
+		this(tabuleiro, TabuleiroCompacto.posicaoLivre(tabuleiro, 9), ancestral, nivel,
+			 (ancestral != null) ? ancestral.meta : META_ORGANIZADA, -1);
+	}
+	
+	/**
+	 * Cria um estado a partir da representao compacta do tabuleiro, com a
+	 * heurstica compilada para a meta informada.
+	 */
+	private Puzzle8(long tabuleiro, Puzzle8 ancestral, int nivel, DistanciaManhattan meta) {
+		this(tabuleiro, TabuleiroCompacto.posicaoLivre(tabuleiro, 9), ancestral, nivel, meta, -1);
+	}
+	
+	/**
+	 * Construtor utilizado na gerao de sucessores, que recebe j calculadas a
+	 * posio livre e a distncia at a meta (-1 para calcul-la por completo).
+	 */
+	private Puzzle8(long tabuleiro, int posLivre, Puzzle8 ancestral, int nivel, DistanciaManhattan meta, int distancia) {
 		super();
-		setId( contGlobal++ );
+		setId( GeradorDeIds.proximo() );
 		setNivel(nivel);
 		setAncestral(ancestral);
-		tabuleiro = cfgTabuleiro.clone();
+		this.tabuleiro = tabuleiro;
+		this.posLivre = (byte) posLivre;
+		this.meta = meta;
+		this.distancia = (distancia >= 0) ? distancia : meta.avaliar(tabuleiro);
 	}
 	
 	/**
@@ -68,9 +114,27 @@ public class Puzzle8 extends Estado<char[]> {
 	 */
 	@Override
 	public void setEstado(char[] cfgTabuleiro) {
-		for (int i = 0; i < cfgTabuleiro.length; i++) {
-			this.tabuleiro[i] = cfgTabuleiro[i];	
-		}
+		tabuleiro = TabuleiroCompacto.compactar(cfgTabuleiro);
+		posLivre = (byte) TabuleiroCompacto.posicaoLivre(tabuleiro, 9);
+		distancia = meta.avaliar(tabuleiro);
+	}
+	
+	/**
+	 * Compila a heurstica para a configurao do estado meta informado, que
+	 * passa a ser herdada por todos os sucessores deste estado. A avaliao
+	 * deste estado  recalculada em relao a nova meta.
+	 * @param estadoMeta estado que representa a meta da busca
+	 */
+	@Override
+	public void definirMeta(Estado<?> estadoMeta) {
+		if (!(estadoMeta instanceof Puzzle8))
+			return;
+		long tabuleiroMeta = ((Puzzle8) estadoMeta).tabuleiro;
+		if (tabuleiroMeta != meta.getTabuleiroMeta())
+			meta = (tabuleiroMeta == META_ORGANIZADA.getTabuleiroMeta()) ? META_ORGANIZADA : DistanciaManhattan.para(tabuleiroMeta, 3);
+		distancia = meta.avaliar(tabuleiro);
+		setAvaliacao(distancia);
+		setF(getCusto() + distancia);
 	}
 	
 	/**
@@ -79,11 +143,112 @@ public class Puzzle8 extends Estado<char[]> {
 	 */
 	@Override
 	public char[] getEstado() {
-		char[] cfgTabuleiro = new char[9];
-		for (int i = 0; i < tabuleiro.length; i++) {
-			cfgTabuleiro[i] = tabuleiro[i];
+		return TabuleiroCompacto.descompactar(tabuleiro, 9);
+	}
+	
+	/**
+	 * Retorna a configurao do tabuleiro na forma compacta, em que cada posio
+	 * ocupa 4 bits de um long (ver TabuleiroCompacto).
+	 * @return tabuleiro compactado
+	 */
+	@Override
+	public long getCodigo() {
+		return tabuleiro;
+	}
+	
+	/**
+	 * Assume a configurao descrita pelo tabuleiro compacto, recalculando a
+	 * posio livre e a distncia at a meta.
+	 * @param codigo tabuleiro compactado
+	 */
+	@Override
+	public void setCodigo(long codigo) {
+		tabuleiro = codigo;
+		posLivre = (byte) TabuleiroCompacto.posicaoLivre(tabuleiro, 9);
+		distancia = meta.avaliar(tabuleiro);
+	}
+	
+	/**
+	 * Cdigo do representante cannico entre os tabuleiros equivalentes em
+	 * relao a meta da busca (ver transformar).
+	 */
+	@Override
+	public long getCodigoCanonico() {
+		SimetriasDaMeta simetrias = simetriasDaMeta();
+		long menor = tabuleiro;
+		for (int i = 1; i < simetrias.validas.length; i++)
+			menor = Math.min(menor, simetrias.transformar(tabuleiro, i));
+		return menor;
+	}
+	
+	@Override
+	public int getSimetriaCanonica() {
+		SimetriasDaMeta simetrias = simetriasDaMeta();
+		int canonica = 0;
+		long menor = tabuleiro;
+		for (int i = 1; i < simetrias.validas.length; i++) {
+			long transformado = simetrias.transformar(tabuleiro, i);
+			if (transformado < menor) {
+				menor = transformado;
+				canonica = simetrias.validas[i];
+			}
+		}
+		return canonica;
+	}
+	
+	/**
+	 * Aplica uma simetria do tabuleiro que mantm a posio livre da meta no
+	 * lugar, renomeando as peas de modo que a meta transformada seja a prpria
+	 * meta. Como a simetria preserva a vizinhana entre as posies, o tabuleiro
+	 * transformado est a mesma distncia da meta que o original. Para o
+	 * tabuleiro organizado, apenas a reflexo pela diagonal principal  vlida.
+	 * @param simetria ndice da simetria (ver SimetriasDoTabuleiro)
+	 * @return tabuleiro transformado, ou IllegalArgumentException caso a
+	 * simetria no preserve a meta
+	 */
+	@Override
+	public Puzzle8 transformar(int simetria) {
+		SimetriasDaMeta simetrias = simetriasDaMeta();
+		for (int i = 0; i < simetrias.validas.length; i++)
+			if (simetrias.validas[i] == simetria)
+				return new Puzzle8(simetrias.transformar(tabuleiro, i), null, getNivel(), meta);
+		throw new IllegalArgumentException("A simetria " + simetria + " no preserva a meta da busca");
+	}
+	
+	@Override
+	public int getSimetriaInversa(int simetria) {
+		return SimetriasDoTabuleiro.getInversa(simetria);
+	}
+	
+	private SimetriasDaMeta simetriasDaMeta() {
+		SimetriasDaMeta simetrias = ultimasSimetrias;
+		if (simetrias == null || simetrias.meta != meta.getTabuleiroMeta()) {
+			simetrias = new SimetriasDaMeta(meta.getTabuleiroMeta());
+			ultimasSimetrias = simetrias;
 		}
-		return cfgTabuleiro;
+		return simetrias;
+	}
+	
+	/**
+	 * Verifica, pela paridade da permutao das peas, se a meta  alcanvel.
+	 * @param estadoMeta estado que representa a meta da busca
+	 * @return false caso a meta pertena a outra metade do espao de estados
+	 */
+	@Override
+	public boolean podeAlcancar(Estado<?> estadoMeta) {
+		if (!(estadoMeta instanceof QuebraCabecaDeslizante))
+			return true;
+		return Solubilidade.temSolucao(this, (QuebraCabecaDeslizante) estadoMeta);
+	}
+	
+	@Override
+	public int getLado() {
+		return 3;
+	}
+	
+	@Override
+	public int getPeca(int posicao) {
+		return TabuleiroCompacto.getPeca(tabuleiro, posicao);
 	}
 	
 	/**
@@ -91,13 +256,24 @@ public class Puzzle8 extends Estado<char[]> {
 	 * @return estado correspondente ao tabuleiro ordenado
 	 */
 	public static Puzzle8 getMeta() {
-		
-		char[] cfgOrganizada = new char[9];
-		cfgOrganizada[0] = '1'; cfgOrganizada[1] = '2'; cfgOrganizada[2] = '3';
-		cfgOrganizada[3] = '4'; cfgOrganizada[4] = '5'; cfgOrganizada[5] = '6';
-		cfgOrganizada[6] = '7'; cfgOrganizada[7] = '8'; cfgOrganizada[8] = ' ';
-		
-		return new Puzzle8(cfgOrganizada);
+		return new Puzzle8(TABULEIRO_ORGANIZADO);
+	}
+	
+	/**
+	 * Gera os tabuleiros sucessores de um tabuleiro compacto, operando apenas
+	 * sobre valores primitivos. Utilizado pelas exploraes que percorrem o
+	 * espao inteiro sem criar estados, como a construo e a consulta da
+	 * tabela de distncias (ver ConstrutorDeTabelaDeDistancias).
+	 * @param tabuleiro configurao compacta de origem
+	 * @param destino vetor (com ao menos 4 posies) que receber os sucessores
+	 * @return quantidade de sucessores gerados
+	 */
+	public static int gerarSucessores(long tabuleiro, long[] destino) {
+		int livre = TabuleiroCompacto.posicaoLivre(tabuleiro, 9);
+		int[] vizinhos = VIZINHOS[livre];
+		for (int i = 0; i < vizinhos.length; i++)
+			destino[i] = TabuleiroCompacto.mover(tabuleiro, livre, vizinhos[i]);
+		return vizinhos.length;
 	}
 	
 	/**
@@ -107,252 +283,102 @@ public class Puzzle8 extends Estado<char[]> {
 	 */
 	@Override
 	public List<Puzzle8> getSucessores() {
-		char[] cfgNova;
-		Puzzle8 estado;
-		List<Puzzle8> estadosSucessores = new ArrayList<Puzzle8>();
+		int[] vizinhos = VIZINHOS[posLivre];
+		List<Puzzle8> estadosSucessores = new ArrayList<Puzzle8>(vizinhos.length);
 		
-		int posLivre = 0;
-		while (tabuleiro[posLivre] != ' ')
-			posLivre++;
-		
-		switch (posLivre) {
-		case 0:
-			cfgNova = getEstado();
-			cfgNova[0] = cfgNova[1];
-			cfgNova[1] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			cfgNova = getEstado();
-			cfgNova[0] = cfgNova[3];
-			cfgNova[3] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			break;
-		case 1:
-			cfgNova = getEstado();
-			cfgNova[1] = cfgNova[0];
-			cfgNova[0] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			cfgNova = getEstado();
-			cfgNova[1] = cfgNova[2];
-			cfgNova[2] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			cfgNova = getEstado();
-			cfgNova[1] = cfgNova[4];
-			cfgNova[4] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			break;
-		case 2:
-			cfgNova = getEstado();
-			cfgNova[2] = cfgNova[1];
-			cfgNova[1] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			cfgNova = getEstado();
-			cfgNova[2] = cfgNova[5];
-			cfgNova[5] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			break;
-		case 3:
-			cfgNova = getEstado();
-			cfgNova[3] = cfgNova[0];
-			cfgNova[0] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
+		for (int i = 0; i < vizinhos.length; i++) {
+			// somente a pea deslizada altera a distncia at a meta
+			int origem = vizinhos[i];
+			int peca = TabuleiroCompacto.getPeca(tabuleiro, origem);
+			int dist = distancia + meta.variacao(peca, origem, posLivre);
+			Puzzle8 estado = new Puzzle8(TabuleiroCompacto.mover(tabuleiro, posLivre, origem), origem, this, getNivel()+1, meta, dist);
 			estado.setCusto(this.getCusto() + 1);
-			estadosSucessores.add(estado);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
+			estado.setAvaliacao(dist);
 			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			cfgNova = getEstado();
-			cfgNova[3] = cfgNova[4];
-			cfgNova[4] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
 			estadosSucessores.add(estado);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			cfgNova = getEstado();
-			cfgNova[3] = cfgNova[6];
-			cfgNova[6] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			break;
-		case 4:
-			cfgNova = getEstado();
-			cfgNova[4] = cfgNova[1];
-			cfgNova[1] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			cfgNova = getEstado();
-			cfgNova[4] = cfgNova[5];
-			cfgNova[5] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			cfgNova = getEstado();
-			cfgNova[4] = cfgNova[7];
-			cfgNova[7] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			cfgNova = getEstado();
-			cfgNova[4] = cfgNova[3];
-			cfgNova[3] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			break;
-		case 5:
-			cfgNova = getEstado();
-			cfgNova[5] = cfgNova[2];
-			cfgNova[2] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			cfgNova = getEstado();
-			cfgNova[5] = cfgNova[8];
-			cfgNova[8] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			cfgNova = getEstado();
-			cfgNova[5] = cfgNova[4];
-			cfgNova[4] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			break;
-		case 6:
-			cfgNova = getEstado();
-			cfgNova[6] = cfgNova[3];
-			cfgNova[3] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			cfgNova = getEstado();
-			cfgNova[6] = cfgNova[7];
-			cfgNova[7] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			break;
-		case 7:
-			cfgNova = getEstado();
-			cfgNova[7] = cfgNova[4];
-			cfgNova[4] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			cfgNova = getEstado();
-			cfgNova[7] = cfgNova[8];
-			cfgNova[8] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			cfgNova = getEstado();
-			cfgNova[7] = cfgNova[6];
-			cfgNova[6] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			break;
-		case 8:
-			cfgNova = getEstado();
-			cfgNova[8] = cfgNova[5];
-			cfgNova[5] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			cfgNova = getEstado();
-			cfgNova[8] = cfgNova[7];
-			cfgNova[7] = ' ';
-			estado = new Puzzle8(cfgNova, this, getNivel()+1);
-			estado.setCusto(this.getCusto() + 1);
-			estado.setAvaliacao( estado.heuristica(Puzzle8.TABULEIRO_ORGANIZADO) );
-			estado.setF( estado.getCusto() + estado.getAvaliacao() );
-			estadosSucessores.add(estado);
-			break;
 		}
 		
 		return estadosSucessores;
 	}
-	
+
+	@Override
+	public int getMaxMovimentos() {
+		return 4;
+	}
+
+	/**
+	 * Enumera os movimentos possveis, codificados como (origem << 4) | destino,
+	 * sendo origem a posio da pea que desliza e destino a posio livre.
+	 */
+	@Override
+	public int getMovimentos(int[] movimentos) {
+		int[] vizinhos = VIZINHOS[posLivre];
+		for (int i = 0; i < vizinhos.length; i++)
+			movimentos[i] = (vizinhos[i] << 4) | posLivre;
+		return vizinhos.length;
+	}
+
+	/**
+	 * Desliza a pea indicada pelo movimento, atualizando a distncia at a
+	 * meta apenas com a variao da pea movida.
+	 */
+	@Override
+	public void aplicar(int movimento) {
+		int origem = movimento >>> 4;
+		int destino = movimento & 0xF;
+		distancia += meta.variacao(TabuleiroCompacto.getPeca(tabuleiro, origem), origem, destino);
+		tabuleiro = TabuleiroCompacto.mover(tabuleiro, destino, origem);
+		posLivre = (byte) origem;
+		setNivel(getNivel() + 1);
+		setCusto(getCusto() + 1);
+		setAvaliacao(distancia);
+		setF(getCusto() + distancia);
+	}
+
+	/**
+	 * Devolve a pea deslizada pelo movimento a sua posio de origem.
+	 */
+	@Override
+	public void desfazer(int movimento) {
+		int origem = movimento >>> 4;
+		int destino = movimento & 0xF;
+		distancia += meta.variacao(TabuleiroCompacto.getPeca(tabuleiro, destino), destino, origem);
+		tabuleiro = TabuleiroCompacto.mover(tabuleiro, origem, destino);
+		posLivre = (byte) destino;
+		setNivel(getNivel() - 1);
+		setCusto(getCusto() - 1);
+		setAvaliacao(distancia);
+		setF(getCusto() + distancia);
+	}
+
+	@Override
+	public int getMovimentoInverso(int movimento) {
+		return ((movimento & 0xF) << 4) | (movimento >>> 4);
+	}
+
+	@Override
+	public Puzzle8 copiar() {
+		Puzzle8 copia = new Puzzle8(tabuleiro, posLivre, null, getNivel(), meta, distancia);
+		copia.setAncestral(getAncestral());
+		copia.setCusto(getCusto());
+		copia.setAvaliacao(getAvaliacao());
+		copia.setF(getF());
+		return copia;
+	}
+
 	/**
 	 * Determina o valor de avaliao do estado em relao a uma configurao
 	 * objetivo (estado meta). A mtrica implementada (heurstica) consiste em
 	 * calcular a distncia de cada pea na configurao atual em relao a sua
-	 * posio esperada no objetivo. 
+	 * posio esperada no objetivo. A meta  compilada numa tabela de distncias
+	 * (ver DistanciaManhattan), que  reaproveitada enquanto a meta no mudar. 
 	 * @param cfgEstadoMeta a configurao do estado utilizado como meta. 
 	 * @return somatrio das distncias das peas em relao a posio objetivo. 
 	 */
 	public int heuristica(char[] cfgEstadoMeta) {
-		String strEstadoMeta = new String(cfgEstadoMeta);		
-		int heurist = 0;
-		
-		for (int i = 0; i < tabuleiro.length; i++) {
-			int posEsperada = strEstadoMeta.indexOf( tabuleiro[i] );
-			int linAtual = i / 3;
-			int colAtual = i % 3;
-			int linEsperada = posEsperada / 3;
-			int colEsperada = posEsperada % 3;
-			int dist = Math.abs(linEsperada - linAtual) + Math.abs(colEsperada - colAtual);
-			heurist += dist;
-		}		
-		return heurist;
+		if (meta.getCfgMeta() == cfgEstadoMeta || Arrays.equals(meta.getCfgMeta(), cfgEstadoMeta))
+			return distancia;
+		return DistanciaManhattan.para(cfgEstadoMeta).avaliar(tabuleiro);
 	}
 		
 	/**
@@ -362,11 +388,11 @@ public class Puzzle8 extends Estado<char[]> {
 	public String toString() {
 		String msg = "";
 		msg += "+---+---+---+";
-		msg += "\n| " + tabuleiro[0] + " | " + tabuleiro[1] + " | " + tabuleiro[2] + " |\n";
+		msg += "\n| " + peca(0) + " | " + peca(1) + " | " + peca(2) + " |\n";
 		msg += "+---+---+---+";
-		msg += "\n| " + tabuleiro[3] + " | " + tabuleiro[4] + " | " + tabuleiro[5] + " |  Nodo #" + getId() + "  Nvel: " + getNivel() + "\n";
+		msg += "\n| " + peca(3) + " | " + peca(4) + " | " + peca(5) + " |  Nodo #" + getId() + "  Nvel: " + getNivel() + "\n";
 		msg += "+---+---+---+  g(#" + getId() + ") = " + getCusto() + "  h(#" + getId() + ") = " + getAvaliacao();
-		msg += "\n| " + tabuleiro[6] + " | " + tabuleiro[7] + " | " + tabuleiro[8] + " |\n";
+		msg += "\n| " + peca(6) + " | " + peca(7) + " | " + peca(8) + " |\n";
 		msg += "+---+---+---+";
 		return msg;
 	}
@@ -384,9 +410,63 @@ public class Puzzle8 extends Estado<char[]> {
 		if (getClass() != estado.getClass())
 			return false;
 		Puzzle8 other = (Puzzle8) estado;
-		if (!Arrays.equals(tabuleiro, other.tabuleiro))
-			return false;
-		return true;
+		return tabuleiro == other.tabuleiro;
+	}
+	
+	/**
+	 * Gera o cdigo hash a partir da disposio das peas no tabuleiro, de forma
+	 * coerente com a comparao realizada em equals().
+	 */
+	@Override
+	public int hashCode() {
+		return TabuleiroCompacto.hash(tabuleiro);
+	}
+	
+	/**
+	 * Recupera o caractere que ocupa uma posio do tabuleiro.
+	 */
+	private char peca(int posicao) {
+		return TabuleiroCompacto.paraCaractere(TabuleiroCompacto.getPeca(tabuleiro, posicao));
 	}
 	
 }
+
+/**
+ * Simetrias do tabuleiro que preservam uma meta do Puzzle-8: aquelas que mantm
+ * a posio livre da meta no lugar, acompanhadas da renomeao de peas que leva
+ * a meta transformada de volta a meta.
+ */
+final class SimetriasDaMeta {
+
+	final long meta;
+	final int[] validas;		// ndices das simetrias vlidas (a primeira  a identidade)
+	final int[][] rotulos;		// pea que substitui cada pea, para cada simetria vlida
+
+	SimetriasDaMeta(long meta) {
+		this.meta = meta;
+		int livre = TabuleiroCompacto.posicaoLivre(meta, 9);
+		int qtd = 0;
+		int[] candidatas = new int[SimetriasDoTabuleiro.QTD_SIMETRIAS];
+		for (int s = 0; s < SimetriasDoTabuleiro.QTD_SIMETRIAS; s++)
+			if (SimetriasDoTabuleiro.getOrigem(s, livre) == livre)
+				candidatas[qtd++] = s;
+		validas = Arrays.copyOf(candidatas, qtd);
+		rotulos = new int[qtd][9];
+		for (int i = 0; i < qtd; i++)
+			for (int pos = 0; pos < 9; pos++)
+				rotulos[i][TabuleiroCompacto.getPeca(meta, SimetriasDoTabuleiro.getOrigem(validas[i], pos))] = TabuleiroCompacto.getPeca(meta, pos);
+	}
+
+	/**
+	 * Aplica a i-sima simetria vlida a um tabuleiro compacto.
+	 */
+	long transformar(long tabuleiro, int i) {
+		int[] rotulo = rotulos[i];
+		long transformado = 0L;
+		for (int pos = 0; pos < 9; pos++)
+			transformado = TabuleiroCompacto.setPeca(transformado, pos,
+					rotulo[TabuleiroCompacto.getPeca(tabuleiro, SimetriasDoTabuleiro.getOrigem(validas[i], pos))]);
+		return transformado;
+	}
+
+}
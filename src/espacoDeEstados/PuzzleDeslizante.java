@@ -0,0 +1,472 @@
+package espacoDeEstados;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Esta classe modela o quebra-cabea deslizante (sliding tile puzzle) de
+ * tabuleiro quadrado com qualquer quantidade de linhas e colunas, como o
+ * Puzzle-15 (4x4) e o Puzzle-24 (5x5). Assim como no Puzzle-8, as peas
+ * numeradas deslizam na vertical ou na horizontal para a nica posio livre.
+ *
+ * Ex: +----+----+----+----+
+ *     |  1 |  2 |  3 |  4 |
+ *     +----+----+----+----+
+ *     |  5 |  6 |  7 |  8 |
+ *     +----+----+----+----+
+ *     |  9 | 10 | 11 | 12 |
+ *     +----+----+----+----+
+ *     | 13 | 14 | 15 |    |
+ *     +----+----+----+----+
+ *
+ * O tabuleiro  armazenado num vetor de bytes (peas de 1 a lado - 1 e 0 para
+ * a posio livre) e os movimentos so obtidos de uma tabela de vizinhos
+ * calculada uma nica vez para cada tamanho de tabuleiro. A distncia Manhattan
+ * at a meta  compilada numa tabela (ver DistanciaManhattan) e atualizada a
+ * cada movimento considerando somente a pea deslizada. Tabuleiros de at 16
+ * posies (lado 4) mantm tambm a forma compacta de 64 bits, que acelera as
+ * comparaes.
+ *
+ * Como somente esses tabuleiros cabem em 64 bits, esta classe no 
+ * Codificavel: os estados que oferecem o cdigo (e, com ele, o controle de
+ * repetidos compacto e as buscas sobre cdigos) so os da especializao
+ * PuzzleDeslizanteCompacto, criados por criar() sempre que o tabuleiro permitir.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class PuzzleDeslizante extends Estado<byte[]> implements QuebraCabecaDeslizante, Reversivel {
+
+	public static final int LADO_MINIMO = 2;
+	public static final int LADO_MAXIMO = 11;	// as peas precisam caber num byte
+
+	private static final int[][][] VIZINHOS = new int[LADO_MAXIMO + 1][][];				// tabela de vizinhos por lado
+	private static final DistanciaManhattan[] METAS_ORGANIZADAS = new DistanciaManhattan[LADO_MAXIMO + 1];
+
+	private final int lado;				// quantidade de linhas (e colunas) do tabuleiro
+	private final int[][] vizinhos;		// posies vizinhas a cada posio do tabuleiro
+	private byte[] tabuleiro;			// pea que ocupa cada posio do tabuleiro
+	private int posLivre;				// posio do tabuleiro que est vazia
+	private long codigo;				// tabuleiro na forma compacta (somente at 16 posies)
+	private DistanciaManhattan meta;	// heurstica compilada para a meta da busca
+	private int distancia;				// distncia Manhattan do tabuleiro at a meta
+
+	/**
+	 * Cria um quebra-cabea com as peas organizadas, ou seja, em ordem
+	 * crescente e com a posio livre no canto inferior direito.
+	 * @param lado quantidade de linhas e colunas do tabuleiro
+	 */
+	public PuzzleDeslizante(int lado) {
+		this(tabuleiroOrganizado(lado));
+	}
+
+	/**
+	 * Permite criar um novo estado e definir, de imediato, qual  a disposio
+	 * de suas peas no tabuleiro.
+	 * @param cfgTabuleiro pea que ocupa cada posio, linha a linha (0 para a
+	 *        posio livre); a quantidade de posies deve ser um quadrado perfeito
+	 */
+	public PuzzleDeslizante(byte[] cfgTabuleiro) {
+		this(cfgTabuleiro.clone(), ladoDe(cfgTabuleiro), null, 0, null, null, -1);
+	}
+
+	/**
+	 * Construtor utilizado na gerao de sucessores, que recebe o tabuleiro j
+	 * copiado, as tabelas herdadas do ancestral (null para obt-las) e a
+	 * distncia at a meta j calculada (-1 para calcul-la).
+	 */
+	PuzzleDeslizante(byte[] tabuleiro, int lado, PuzzleDeslizante ancestral, int nivel,
+					 int[][] vizinhos, DistanciaManhattan meta, int distancia) {
+		super();
+		setId( GeradorDeIds.proximo() );
+		setNivel(nivel);
+		setAncestral(ancestral);
+		this.lado = lado;
+		this.vizinhos = (vizinhos != null) ? vizinhos : vizinhos(lado);
+		this.tabuleiro = tabuleiro;
+		this.posLivre = localizarLivre(tabuleiro);
+		this.codigo = compactar(tabuleiro);
+		this.meta = (meta != null) ? meta : metaOrganizada(lado);
+		this.distancia = (distancia >= 0) ? distancia : this.meta.avaliar(tabuleiro);
+	}
+
+	/**
+	 * Cria um quebra-cabea com as peas organizadas, na forma compacta
+	 * (PuzzleDeslizanteCompacto) quando o tabuleiro couber em 64 bits.
+	 * @param lado quantidade de linhas e colunas do tabuleiro
+	 * @return estado correspondente ao tabuleiro ordenado
+	 */
+	public static PuzzleDeslizante criar(int lado) {
+		return criar(tabuleiroOrganizado(lado));
+	}
+
+	/**
+	 * Cria um quebra-cabea com a disposio de peas informada, na forma
+	 * compacta (PuzzleDeslizanteCompacto) quando o tabuleiro couber em 64 bits.
+	 * @param cfgTabuleiro pea que ocupa cada posio, linha a linha (0 para a
+	 *        posio livre); a quantidade de posies deve ser um quadrado perfeito
+	 * @return novo estado com a configurao informada
+	 */
+	public static PuzzleDeslizante criar(byte[] cfgTabuleiro) {
+		if (cfgTabuleiro.length <= TabuleiroCompacto.MAX_POSICOES)
+			return new PuzzleDeslizanteCompacto(cfgTabuleiro);
+		return new PuzzleDeslizante(cfgTabuleiro);
+	}
+
+	/**
+	 * Mtodo global que retorna a meta (estado objetivo) do quebra-cabea.
+	 * @param lado quantidade de linhas e colunas do tabuleiro
+	 * @return estado correspondente ao tabuleiro ordenado (ver criar)
+	 */
+	public static PuzzleDeslizante getMeta(int lado) {
+		return criar(lado);
+	}
+
+	/**
+	 * Recupera a tabela de vizinhos de um tamanho de tabuleiro, isto , as
+	 * posies de onde uma pea pode deslizar para cada posio livre. A tabela
+	 *  calculada na primeira utilizao e compartilhada por todos os estados.
+	 * @param lado quantidade de linhas e colunas do tabuleiro
+	 * @return vetor com as posies vizinhas (acima, esquerda, direita, abaixo)
+	 */
+	public static synchronized int[][] vizinhos(int lado) {
+		validarLado(lado);
+		int[][] tabela = VIZINHOS[lado];
+		if (tabela == null) {
+			int qtdPosicoes = lado * lado;
+			tabela = new int[qtdPosicoes][];
+			for (int pos = 0; pos < qtdPosicoes; pos++) {
+				int lin = pos / lado, col = pos % lado;
+				int[] v = new int[4];
+				int qtd = 0;
+				if (lin > 0)		v[qtd++] = pos - lado;
+				if (col > 0)		v[qtd++] = pos - 1;
+				if (col < lado - 1)	v[qtd++] = pos + 1;
+				if (lin < lado - 1)	v[qtd++] = pos + lado;
+				tabela[pos] = Arrays.copyOf(v, qtd);
+			}
+			VIZINHOS[lado] = tabela;
+		}
+		return tabela;
+	}
+
+	/**
+	 * Define o posicionamento das peas do quebra-cabea, determinando a
+	 * configurao que ser assumida pelo tabuleiro.
+	 * @param cfgTabuleiro pea que ocupa cada posio (mesmo tamanho do atual)
+	 */
+	@Override
+	public void setEstado(byte[] cfgTabuleiro) {
+		if (cfgTabuleiro.length != tabuleiro.length)
+			throw new IllegalArgumentException("O tabuleiro deve possuir " + tabuleiro.length + " posies");
+		tabuleiro = cfgTabuleiro.clone();
+		posLivre = localizarLivre(tabuleiro);
+		codigo = compactar(tabuleiro);
+		distancia = meta.avaliar(tabuleiro);
+	}
+
+	/**
+	 * Retorna uma cpia da configurao das peas no tabuleiro.
+	 * @return pea que ocupa cada posio (0 para a posio livre)
+	 */
+	@Override
+	public byte[] getEstado() {
+		return tabuleiro.clone();
+	}
+
+	/**
+	 * Compila a heurstica para a configurao do estado meta informado, que
+	 * passa a ser herdada por todos os sucessores deste estado. A avaliao
+	 * deste estado  recalculada em relao a nova meta.
+	 * @param estadoMeta estado que representa a meta da busca
+	 */
+	@Override
+	public void definirMeta(Estado<?> estadoMeta) {
+		if (!(estadoMeta instanceof PuzzleDeslizante))
+			return;
+		byte[] tabuleiroMeta = ((PuzzleDeslizante) estadoMeta).tabuleiro;
+		if (tabuleiroMeta.length != tabuleiro.length)
+			return;
+		if (!meta.possuiMeta(tabuleiroMeta)) {
+			DistanciaManhattan organizada = metaOrganizada(lado);
+			meta = organizada.possuiMeta(tabuleiroMeta) ? organizada : new DistanciaManhattan(paraInteiros(tabuleiroMeta), lado);
+		}
+		distancia = meta.avaliar(tabuleiro);
+		setAvaliacao(distancia);
+		setF(getCusto() + distancia);
+	}
+
+	/**
+	 * Verifica, pela paridade da permutao das peas, se a meta  alcanvel.
+	 * @param estadoMeta estado que representa a meta da busca
+	 * @return false caso a meta pertena a outra metade do espao de estados
+	 */
+	@Override
+	public boolean podeAlcancar(Estado<?> estadoMeta) {
+		if (!(estadoMeta instanceof QuebraCabecaDeslizante))
+			return true;
+		return Solubilidade.temSolucao(this, (QuebraCabecaDeslizante) estadoMeta);
+	}
+
+	/**
+	 * Recupera o tabuleiro na forma compacta (ver TabuleiroCompacto), mantida
+	 * somente para tabuleiros de at 16 posies.
+	 */
+	long getTabuleiroCompacto() {
+		return codigo;
+	}
+
+	/**
+	 * Assume a configurao descrita pelo tabuleiro compacto, que deve possuir
+	 * a mesma quantidade de posies deste tabuleiro (no mximo 16).
+	 */
+	void setTabuleiroCompacto(long codigo) {
+		for (int pos = 0; pos < tabuleiro.length; pos++)
+			tabuleiro[pos] = (byte) TabuleiroCompacto.getPeca(codigo, pos);
+		this.posLivre = localizarLivre(tabuleiro);
+		this.codigo = codigo;
+		distancia = meta.avaliar(tabuleiro);
+	}
+
+	@Override
+	public int getLado() {
+		return lado;
+	}
+
+	@Override
+	public int getPeca(int posicao) {
+		return tabuleiro[posicao];
+	}
+
+	/**
+	 * Funo que gera os estados sucessores de acordo com os diferentes movimentos possveis
+	 * a partir da configurao do tabuleiro.
+	 * @return lista de estados sucessores
+	 */
+	@Override
+	public List<PuzzleDeslizante> getSucessores() {
+		int[] origens = vizinhos[posLivre];
+		List<PuzzleDeslizante> estadosSucessores = new ArrayList<PuzzleDeslizante>(origens.length);
+
+		for (int i = 0; i < origens.length; i++) {
+			// somente a pea deslizada altera a distncia at a meta
+			int origem = origens[i];
+			int peca = tabuleiro[origem];
+			int dist = distancia + meta.variacao(peca, origem, posLivre);
+			byte[] cfg = tabuleiro.clone();
+			cfg[posLivre] = (byte) peca;
+			cfg[origem] = 0;
+			PuzzleDeslizante estado = novoEstado(cfg, lado, this, getNivel()+1, vizinhos, meta, dist);
+			estado.setCusto(this.getCusto() + 1);
+			estado.setAvaliacao(dist);
+			estado.setF( estado.getCusto() + estado.getAvaliacao() );
+			estadosSucessores.add(estado);
+		}
+
+		return estadosSucessores;
+	}
+
+	@Override
+	public int getMaxMovimentos() {
+		return 4;
+	}
+
+	/**
+	 * Enumera os movimentos possveis, codificados como (origem << 8) | destino,
+	 * sendo origem a posio da pea que desliza e destino a posio livre.
+	 */
+	@Override
+	public int getMovimentos(int[] movimentos) {
+		int[] origens = vizinhos[posLivre];
+		for (int i = 0; i < origens.length; i++)
+			movimentos[i] = (origens[i] << 8) | posLivre;
+		return origens.length;
+	}
+
+	@Override
+	public void aplicar(int movimento) {
+		deslizar(movimento >>> 8, movimento & 0xFF);
+		setNivel(getNivel() + 1);
+		setCusto(getCusto() + 1);
+		setAvaliacao(distancia);
+		setF(getCusto() + distancia);
+	}
+
+	@Override
+	public void desfazer(int movimento) {
+		deslizar(movimento & 0xFF, movimento >>> 8);
+		setNivel(getNivel() - 1);
+		setCusto(getCusto() - 1);
+		setAvaliacao(distancia);
+		setF(getCusto() + distancia);
+	}
+
+	@Override
+	public int getMovimentoInverso(int movimento) {
+		return ((movimento & 0xFF) << 8) | (movimento >>> 8);
+	}
+
+	@Override
+	public PuzzleDeslizante copiar() {
+		PuzzleDeslizante copia = novoEstado(tabuleiro.clone(), lado, null, getNivel(), vizinhos, meta, distancia);
+		copia.setAncestral(getAncestral());
+		copia.setCusto(getCusto());
+		copia.setAvaliacao(getAvaliacao());
+		copia.setF(getF());
+		return copia;
+	}
+
+	/**
+	 * Cria um estado da mesma classe deste, utilizado na gerao de sucessores
+	 * e nas cpias para que a forma compacta seja preservada.
+	 */
+	PuzzleDeslizante novoEstado(byte[] tabuleiro, int lado, PuzzleDeslizante ancestral, int nivel,
+								int[][] vizinhos, DistanciaManhattan meta, int distancia) {
+		return new PuzzleDeslizante(tabuleiro, lado, ancestral, nivel, vizinhos, meta, distancia);
+	}
+
+	/**
+	 * Determina o valor de avaliao do estado em relao a uma configurao
+	 * objetivo: a soma das distncias Manhattan de cada pea at a sua posio
+	 * na meta. Enquanto a meta no mudar, a tabela compilada  reaproveitada.
+	 * @param cfgEstadoMeta a configurao do estado utilizado como meta.
+	 * @return somatrio das distncias das peas em relao a posio objetivo.
+	 */
+	public int heuristica(byte[] cfgEstadoMeta) {
+		if (meta.possuiMeta(cfgEstadoMeta))
+			return distancia;
+		return new DistanciaManhattan(paraInteiros(cfgEstadoMeta), lado).avaliar(tabuleiro);
+	}
+
+	/**
+	 * Retorna uma String correspondente a configurao das peas no tabuleiro.
+	 */
+	@Override
+	public String toString() {
+		int largura = String.valueOf(tabuleiro.length - 1).length();
+		StringBuilder separador = new StringBuilder("+");
+		for (int col = 0; col < lado; col++) {
+			for (int i = 0; i < largura + 2; i++)
+				separador.append('-');
+			separador.append('+');
+		}
+		StringBuilder msg = new StringBuilder();
+		msg.append(separador);
+		for (int lin = 0; lin < lado; lin++) {
+			msg.append("\n|");
+			for (int col = 0; col < lado; col++) {
+				int peca = tabuleiro[lin * lado + col];
+				String txt = (peca == 0) ? "" : String.valueOf(peca);
+				for (int i = txt.length(); i <= largura; i++)
+					msg.append(' ');
+				msg.append(txt).append(" |");
+			}
+			if (lin == 0)
+				msg.append("  Nodo #" + getId() + "  Nvel: " + getNivel());
+			else if (lin == 1)
+				msg.append("  g(#" + getId() + ") = " + getCusto() + "  h(#" + getId() + ") = " + getAvaliacao());
+			msg.append('\n').append(separador);
+		}
+		return msg.toString();
+	}
+
+	/**
+	 * Implementa a comparao entre dois tabuleiros, verificando se a disposio
+	 * das peas  igual nas duas situaes. A forma compacta e a geral de um
+	 * mesmo tabuleiro so consideradas iguais.
+	 */
+	@Override
+	public boolean equals(Object estado) {
+		if (this == estado)
+			return true;
+		if (!(estado instanceof PuzzleDeslizante))
+			return false;
+		PuzzleDeslizante other = (PuzzleDeslizante) estado;
+		if (tabuleiro.length <= TabuleiroCompacto.MAX_POSICOES)
+			return codigo == other.codigo && tabuleiro.length == other.tabuleiro.length;
+		return Arrays.equals(tabuleiro, other.tabuleiro);
+	}
+
+	/**
+	 * Gera o cdigo hash a partir da disposio das peas no tabuleiro, de forma
+	 * coerente com a comparao realizada em equals().
+	 */
+	@Override
+	public int hashCode() {
+		if (tabuleiro.length <= TabuleiroCompacto.MAX_POSICOES)
+			return TabuleiroCompacto.hash(codigo);
+		return Arrays.hashCode(tabuleiro);
+	}
+
+	/**
+	 * Desliza a pea da posio de origem para a posio livre (destino),
+	 * atualizando a forma compacta e a distncia at a meta.
+	 */
+	private void deslizar(int origem, int destino) {
+		int peca = tabuleiro[origem];
+		distancia += meta.variacao(peca, origem, destino);
+		tabuleiro[destino] = (byte) peca;
+		tabuleiro[origem] = 0;
+		if (tabuleiro.length <= TabuleiroCompacto.MAX_POSICOES)
+			codigo = TabuleiroCompacto.mover(codigo, destino, origem);
+		posLivre = origem;
+	}
+
+	private static synchronized DistanciaManhattan metaOrganizada(int lado) {
+		DistanciaManhattan d = METAS_ORGANIZADAS[lado];
+		if (d == null) {
+			d = new DistanciaManhattan(paraInteiros(tabuleiroOrganizado(lado)), lado);
+			METAS_ORGANIZADAS[lado] = d;
+		}
+		return d;
+	}
+
+	private static byte[] tabuleiroOrganizado(int lado) {
+		validarLado(lado);
+		byte[] cfg = new byte[lado * lado];
+		for (int i = 0; i < cfg.length - 1; i++)
+			cfg[i] = (byte) (i + 1);
+		return cfg;
+	}
+
+	private static int ladoDe(byte[] cfgTabuleiro) {
+		int lado = (int) Math.round(Math.sqrt(cfgTabuleiro.length));
+		if (lado * lado != cfgTabuleiro.length)
+			throw new IllegalArgumentException("Tabuleiro com " + cfgTabuleiro.length + " posies no  quadrado");
+		validarLado(lado);
+		for (int i = 0; i < cfgTabuleiro.length; i++)
+			if (cfgTabuleiro[i] < 0 || cfgTabuleiro[i] >= cfgTabuleiro.length)
+				throw new IllegalArgumentException("Pea invlida: " + cfgTabuleiro[i]);
+		return lado;
+	}
+
+	private static void validarLado(int lado) {
+		if (lado < LADO_MINIMO || lado > LADO_MAXIMO)
+			throw new IllegalArgumentException("O lado do tabuleiro deve estar entre " + LADO_MINIMO + " e " + LADO_MAXIMO);
+	}
+
+	private static int localizarLivre(byte[] tabuleiro) {
+		for (int i = 0; i < tabuleiro.length; i++)
+			if (tabuleiro[i] == 0)
+				return i;
+		throw new IllegalArgumentException("O tabuleiro no possui posio livre");
+	}
+
+	private static long compactar(byte[] tabuleiro) {
+		if (tabuleiro.length > TabuleiroCompacto.MAX_POSICOES)
+			return 0L;
+		long compacto = 0L;
+		for (int pos = 0; pos < tabuleiro.length; pos++)
+			compacto = TabuleiroCompacto.setPeca(compacto, pos, tabuleiro[pos]);
+		return compacto;
+	}
+
+	private static int[] paraInteiros(byte[] pecas) {
+		int[] inteiros = new int[pecas.length];
+		for (int i = 0; i < pecas.length; i++)
+			inteiros[i] = pecas[i];
+		return inteiros;
+	}
+
+}
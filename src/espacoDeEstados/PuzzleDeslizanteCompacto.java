@@ -0,0 +1,89 @@
+package espacoDeEstados;
+
+/**
+ * Especializao do quebra-cabea deslizante para tabuleiros de at 16
+ * posies (lado 2 a 4), cuja configurao cabe num cdigo de 64 bits (ver
+ * TabuleiroCompacto). Somente esses estados so Decodificavel, o que permite
+ * s estratgias utilizar o controle de repetidos compacto e manter apenas os
+ * cdigos dos estados abertos. Os sucessores e as cpias de um estado compacto
+ * tambm so compactos.
+ *
+ * Os tabuleiros maiores (como o Puzzle-24) devem ser criados diretamente como
+ * PuzzleDeslizante; PuzzleDeslizante.criar() escolhe a forma adequada.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class PuzzleDeslizanteCompacto extends PuzzleDeslizante implements Decodificavel {
+
+	/**
+	 * Cria um quebra-cabea com as peas organizadas, ou seja, em ordem
+	 * crescente e com a posio livre no canto inferior direito.
+	 * @param lado quantidade de linhas e colunas do tabuleiro (no mximo 4)
+	 */
+	public PuzzleDeslizanteCompacto(int lado) {
+		super(validarLado(lado));
+	}
+
+	/**
+	 * Permite criar um novo estado e definir, de imediato, qual  a disposio
+	 * de suas peas no tabuleiro.
+	 * @param cfgTabuleiro pea que ocupa cada posio, linha a linha (0 para a
+	 *        posio livre); no mximo 16 posies
+	 */
+	public PuzzleDeslizanteCompacto(byte[] cfgTabuleiro) {
+		super(validarTabuleiro(cfgTabuleiro));
+	}
+
+	/**
+	 * Construtor utilizado na gerao de sucessores e nas cpias.
+	 */
+	PuzzleDeslizanteCompacto(byte[] tabuleiro, int lado, PuzzleDeslizante ancestral, int nivel,
+							 int[][] vizinhos, DistanciaManhattan meta, int distancia) {
+		super(tabuleiro, lado, ancestral, nivel, vizinhos, meta, distancia);
+	}
+
+	@Override
+	PuzzleDeslizante novoEstado(byte[] tabuleiro, int lado, PuzzleDeslizante ancestral, int nivel,
+								int[][] vizinhos, DistanciaManhattan meta, int distancia) {
+		return new PuzzleDeslizanteCompacto(tabuleiro, lado, ancestral, nivel, vizinhos, meta, distancia);
+	}
+
+	/**
+	 * Retorna a configurao do tabuleiro na forma compacta (ver
+	 * TabuleiroCompacto).
+	 * @return tabuleiro compactado
+	 */
+	@Override
+	public long getCodigo() {
+		return getTabuleiroCompacto();
+	}
+
+	/**
+	 * Assume a configurao descrita pelo tabuleiro compacto.
+	 * @param codigo tabuleiro compactado obtido de getCodigo()
+	 */
+	@Override
+	public void setCodigo(long codigo) {
+		setTabuleiroCompacto(codigo);
+	}
+
+	/**
+	 * Verifica se um tabuleiro com o lado informado cabe na forma compacta.
+	 */
+	private static int validarLado(int lado) {
+		if (lado * lado > TabuleiroCompacto.MAX_POSICOES)
+			throw new IllegalArgumentException("Tabuleiro " + lado + "x" + lado + " no cabe em 64 bits");
+		return lado;
+	}
+
+	/**
+	 * Verifica se o tabuleiro informado cabe na forma compacta.
+	 */
+	private static byte[] validarTabuleiro(byte[] cfgTabuleiro) {
+		if (cfgTabuleiro.length > TabuleiroCompacto.MAX_POSICOES)
+			throw new IllegalArgumentException("Tabuleiro de " + cfgTabuleiro.length + " posies no cabe em 64 bits");
+		return cfgTabuleiro;
+	}
+
+}
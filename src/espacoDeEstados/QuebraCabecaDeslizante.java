@@ -0,0 +1,30 @@
+package espacoDeEstados;
+
+/**
+ * Interface comum aos estados que representam quebra-cabeas deslizantes
+ * (sliding tile puzzles) de tabuleiro quadrado, como o Puzzle-8. Expe o
+ * contedo do tabuleiro de maneira uniforme, permitindo que heursticas e
+ * outras ferramentas operem sobre qualquer tamanho de tabuleiro.
+ * 
+ * As posies so numeradas linha a linha, a partir de 0, e as peas de 1 at
+ * lado - 1. A posio livre  representada pelo valor 0.
+ * 
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface QuebraCabecaDeslizante {
+
+	/**
+	 * Recupera a quantidade de linhas (e de colunas) do tabuleiro.
+	 * @return lado do tabuleiro (3 para o Puzzle-8)
+	 */
+	public int getLado();
+
+	/**
+	 * Recupera a pea que ocupa uma posio do tabuleiro.
+	 * @param posicao ndice da posio, entre 0 e lado - 1
+	 * @return nmero da pea ou 0, caso a posio esteja livre
+	 */
+	public int getPeca(int posicao);
+
+}
@@ -0,0 +1,62 @@
+package espacoDeEstados;
+
+/**
+ * Interface implementada pelos estados que oferecem a interface de movimentos:
+ * cada sucessor  descrito por um movimento que pode ser aplicado ao prprio
+ * estado e desfeito em seguida. Isso permite que as estratgias explorem o
+ * espao modificando um nico estado, sem criar um objeto para cada sucessor,
+ * e que armazenem o caminho apenas como a sequncia de movimentos aplicados.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface Reversivel {
+
+	/**
+	 * Recupera a maior quantidade de movimentos que um estado deste problema
+	 * pode oferecer, ou seja, o tamanho necessrio ao vetor de getMovimentos().
+	 * @return quantidade mxima de movimentos
+	 */
+	public int getMaxMovimentos();
+
+	/**
+	 * Enumera os movimentos possveis a partir deste estado, na mesma ordem em
+	 * que getSucessores() gera os sucessores correspondentes. Cada movimento 
+	 * codificado num inteiro no negativo, cujo significado  definido pelo
+	 * problema.
+	 * @param movimentos vetor reaproveitado que receber os movimentos
+	 * @return quantidade de movimentos armazenados no vetor
+	 */
+	public int getMovimentos(int[] movimentos);
+
+	/**
+	 * Transforma este estado no sucessor obtido pelo movimento, atualizando
+	 * tambm o nvel, o custo e a avaliao, tal como getSucessores() faria.
+	 * O ancestral no  alterado.
+	 * @param movimento um dos movimentos informados por getMovimentos()
+	 */
+	public void aplicar(int movimento);
+
+	/**
+	 * Desfaz um movimento aplicado anteriormente, restaurando a configurao,
+	 * o nvel, o custo e a avaliao que o estado possua antes dele.
+	 * @param movimento ltimo movimento aplicado a este estado
+	 */
+	public void desfazer(int movimento);
+
+	/**
+	 * Recupera o movimento que, aplicado aps o informado, retorna ao estado
+	 * anterior. Permite que as buscas descartem o retorno imediato ao pai.
+	 * @param movimento movimento aplicado
+	 * @return movimento inverso ou -1, caso no exista
+	 */
+	public int getMovimentoInverso(int movimento);
+
+	/**
+	 * Cria uma cpia independente deste estado, com a mesma configurao,
+	 * ancestral, nvel, custo e avaliao.
+	 * @return novo estado equivalente a este
+	 */
+	public Estado<?> copiar();
+
+}
@@ -0,0 +1,72 @@
+package espacoDeEstados;
+
+/**
+ * As 8 simetrias de um tabuleiro 3x3 (grupo diedral): identidade, rotaes de
+ * 90, 180 e 270 graus e reflexes horizontal, vertical e pelas duas diagonais.
+ * Cada simetria  descrita pela posio de origem do contedo que passa a
+ * ocupar cada posio, isto , o tabuleiro transformado t  obtido de b por
+ * t[p] = b[getOrigem(simetria, p)].
+ *
+ * A simetria 0  sempre a identidade.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public final class SimetriasDoTabuleiro {
+
+	public static final int QTD_SIMETRIAS = 8;
+
+	// posio de origem de cada posio do tabuleiro transformado
+	private static final int[][] ORIGEM = new int[QTD_SIMETRIAS][9];
+	private static final int[] INVERSA = new int[QTD_SIMETRIAS];
+
+	static {
+		for (int r = 0; r < 3; r++)
+			for (int c = 0; c < 3; c++) {
+				int p = r * 3 + c;
+				ORIGEM[0][p] = p;						// identidade
+				ORIGEM[1][p] = (2 - c) * 3 + r;			// rotao de 90 graus
+				ORIGEM[2][p] = (2 - r) * 3 + (2 - c);	// rotao de 180 graus
+				ORIGEM[3][p] = c * 3 + (2 - r);			// rotao de 270 graus
+				ORIGEM[4][p] = r * 3 + (2 - c);			// reflexo horizontal
+				ORIGEM[5][p] = (2 - r) * 3 + c;			// reflexo vertical
+				ORIGEM[6][p] = c * 3 + r;				// diagonal principal
+				ORIGEM[7][p] = (2 - c) * 3 + (2 - r);	// diagonal secundria
+			}
+		for (int s = 0; s < QTD_SIMETRIAS; s++)
+			for (int t = 0; t < QTD_SIMETRIAS; t++) {
+				boolean identidade = true;
+				for (int p = 0; p < 9; p++)
+					identidade &= (ORIGEM[s][ORIGEM[t][p]] == p);
+				if (identidade)
+					INVERSA[s] = t;
+			}
+	}
+
+	private SimetriasDoTabuleiro() {
+	}
+
+	/**
+	 * Posio do tabuleiro original cujo contedo ocupa a posio informada do
+	 * tabuleiro transformado.
+	 */
+	public static int getOrigem(int simetria, int posicao) {
+		return ORIGEM[simetria][posicao];
+	}
+
+	/**
+	 * Posio que o contedo de uma posio do tabuleiro original ocupa no
+	 * tabuleiro transformado.
+	 */
+	public static int getDestino(int simetria, int posicao) {
+		return ORIGEM[INVERSA[simetria]][posicao];
+	}
+
+	/**
+	 * Simetria que desfaz a transformao informada.
+	 */
+	public static int getInversa(int simetria) {
+		return INVERSA[simetria];
+	}
+
+}
@@ -0,0 +1,43 @@
+package espacoDeEstados;
+
+/**
+ * Interface implementada pelos estados que possuem simetrias: transformaes
+ * que levam o estado a outro equivalente, isto , com a mesma distncia at a
+ * meta ou, nos jogos, com o mesmo valor. Entre os estados equivalentes, o de
+ * menor cdigo  o representante cannico, o que permite s estratgias
+ * armazenar uma nica entrada para todos eles (ver ControleDeRepetidosSimetrico)
+ * e explorar apenas um deles.
+ *
+ * Quando o representante  explorado no lugar do estado original, a soluo
+ * encontrada  levada de volta a orientao original pela simetria inversa.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface Simetrico {
+
+	/**
+	 * Cdigo do representante cannico: o menor cdigo entre os estados
+	 * equivalentes a este. Estados equivalentes possuem o mesmo cdigo cannico.
+	 */
+	public long getCodigoCanonico();
+
+	/**
+	 * Simetria que leva este estado ao seu representante cannico (0 caso ele
+	 * prprio seja o representante).
+	 */
+	public int getSimetriaCanonica();
+
+	/**
+	 * Cria o estado equivalente obtido pela simetria informada, sem ancestral.
+	 * @param simetria ndice da simetria (0 para a identidade)
+	 * @return novo estado transformado
+	 */
+	public Estado<?> transformar(int simetria);
+
+	/**
+	 * Simetria que desfaz a transformao informada.
+	 */
+	public int getSimetriaInversa(int simetria);
+
+}
@@ -0,0 +1,75 @@
+package espacoDeEstados;
+
+/**
+ * Verificao de solubilidade para quebra-cabeas deslizantes. Cada movimento
+ * troca a posio livre com uma pea vizinha, ou seja, aplica uma transposio
+ * a permutao do tabuleiro e desloca a posio livre em uma casa. Assim, a
+ * paridade da permutao (incluindo a posio livre) e a paridade da distncia
+ * percorrida pela posio livre mudam juntas a cada movimento, e uma meta s 
+ * alcanvel se ambas forem iguais. Isto vale para qualquer tamanho de tabuleiro.
+ *
+ * A paridade da permutao  obtida pela decomposio em ciclos, em tempo O(n),
+ * sem a contagem de inverses em O(n).
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public final class Solubilidade {
+
+	private Solubilidade() {
+	}
+
+	/**
+	 * Verifica se a configurao meta pode ser alcanada a partir da inicial.
+	 * @param inicio configurao de partida
+	 * @param meta configurao desejada
+	 * @return true se existe uma sequncia de movimentos que leva do incio a meta
+	 */
+	public static boolean temSolucao(QuebraCabecaDeslizante inicio, QuebraCabecaDeslizante meta) {
+		int lado = inicio.getLado();
+		if (meta.getLado() != lado)
+			return false;
+		int n = lado * lado;
+
+		// posio de cada pea na meta (peas ausentes ou repetidas tornam a meta inalcanvel)
+		int[] posicaoNaMeta = new int[n];
+		for (int i = 0; i < n; i++)
+			posicaoNaMeta[i] = -1;
+		for (int pos = 0; pos < n; pos++) {
+			int peca = meta.getPeca(pos);
+			if (peca < 0 || peca >= n || posicaoNaMeta[peca] >= 0)
+				return false;
+			posicaoNaMeta[peca] = pos;
+		}
+
+		// permutao que leva cada posio do incio a posio da mesma pea na meta
+		int[] destino = new int[n];
+		boolean[] usada = new boolean[n];
+		int livreInicio = -1;
+		for (int pos = 0; pos < n; pos++) {
+			int peca = inicio.getPeca(pos);
+			if (peca < 0 || peca >= n || usada[peca])
+				return false;
+			usada[peca] = true;
+			destino[pos] = posicaoNaMeta[peca];
+			if (peca == 0)
+				livreInicio = pos;
+		}
+
+		// paridade = (n - quantidade de ciclos) mod 2
+		boolean[] visitada = new boolean[n];
+		int qtdCiclos = 0;
+		for (int i = 0; i < n; i++)
+			if (!visitada[i]) {
+				qtdCiclos++;
+				for (int j = i; !visitada[j]; j = destino[j])
+					visitada[j] = true;
+			}
+		int paridadePermutacao = (n - qtdCiclos) & 1;
+
+		int livreMeta = posicaoNaMeta[0];
+		int distanciaLivre = Math.abs(livreInicio / lado - livreMeta / lado) + Math.abs(livreInicio % lado - livreMeta % lado);
+		return paridadePermutacao == (distanciaLivre & 1);
+	}
+
+}
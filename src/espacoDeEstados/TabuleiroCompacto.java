@@ -0,0 +1,131 @@
+package espacoDeEstados;
+
+/**
+ * Esta classe rene as operaes sobre a representao compacta de tabuleiros
+ * de quebra-cabeas deslizantes, na qual toda a configurao  armazenada num
+ * nico valor do tipo long. Cada posio do tabuleiro ocupa 4 bits (a posio i
+ * corresponde aos bits 4i a 4i+3), de modo que um tabuleiro 3x3 consome apenas
+ * 36 bits e um 4x4 cabe integralmente nos 64 bits disponveis.
+ * 
+ * A posio vazia  representada pelo valor 0 e as peas pelos valores 1 a 15.
+ * 
+ * @author Leandro C. Fernandes
+ *
+ */
+public final class TabuleiroCompacto {
+
+	public static final int BITS_POR_POSICAO = 4;
+	public static final int MAX_POSICOES = 64 / BITS_POR_POSICAO;
+	
+	private static final long MASCARA = 0xFL;
+	
+	private TabuleiroCompacto() {
+	}
+	
+	/**
+	 * Converte um tabuleiro descrito por caracteres (peas de '1' em diante e o
+	 * espao ' ' para a posio livre) na sua forma compacta.
+	 * @param cfgTabuleiro vetor de caracteres com a disposio das peas
+	 * @return tabuleiro compactado
+	 */
+	public static long compactar(char[] cfgTabuleiro) {
+		if (cfgTabuleiro.length > MAX_POSICOES)
+			throw new IllegalArgumentException("Tabuleiro com " + cfgTabuleiro.length + " posies no cabe em 64 bits");
+		long tabuleiro = 0L;
+		for (int i = 0; i < cfgTabuleiro.length; i++)
+			tabuleiro = setPeca(tabuleiro, i, paraPeca(cfgTabuleiro[i]));
+		return tabuleiro;
+	}
+	
+	/**
+	 * Converte um tabuleiro compacto de volta para o vetor de caracteres.
+	 * @param tabuleiro tabuleiro compactado
+	 * @param qtdPosicoes quantidade de posies do tabuleiro (9 para o Puzzle-8)
+	 * @return vetor de caracteres com a disposio das peas
+	 */
+	public static char[] descompactar(long tabuleiro, int qtdPosicoes) {
+		char[] cfgTabuleiro = new char[qtdPosicoes];
+		for (int i = 0; i < qtdPosicoes; i++)
+			cfgTabuleiro[i] = paraCaractere(getPeca(tabuleiro, i));
+		return cfgTabuleiro;
+	}
+	
+	/**
+	 * Recupera a pea que ocupa uma determinada posio do tabuleiro.
+	 * @return nmero da pea ou 0, caso a posio esteja livre
+	 */
+	public static int getPeca(long tabuleiro, int posicao) {
+		return (int) ((tabuleiro >>> (posicao * BITS_POR_POSICAO)) & MASCARA);
+	}
+	
+	/**
+	 * Coloca uma pea numa posio do tabuleiro, substituindo o contedo anterior.
+	 * @return novo tabuleiro compactado
+	 */
+	public static long setPeca(long tabuleiro, int posicao, int peca) {
+		int desloc = posicao * BITS_POR_POSICAO;
+		return (tabuleiro & ~(MASCARA << desloc)) | ((long) peca << desloc);
+	}
+	
+	/**
+	 * Troca o contedo de duas posies do tabuleiro.
+	 * @return novo tabuleiro compactado
+	 */
+	public static long trocar(long tabuleiro, int posicaoA, int posicaoB) {
+		int pecaA = getPeca(tabuleiro, posicaoA);
+		int pecaB = getPeca(tabuleiro, posicaoB);
+		return setPeca(setPeca(tabuleiro, posicaoA, pecaB), posicaoB, pecaA);
+	}
+	
+	/**
+	 * Desliza para a posio livre a pea que ocupa a posio de origem, que
+	 * passa ento a ser a nova posio livre. Por ser a posio livre sempre
+	 * nula, o movimento se resume a duas operaes sobre bits.
+	 * @param tabuleiro tabuleiro compactado
+	 * @param posLivre posio atualmente livre
+	 * @param origem posio da pea que ser deslizada
+	 * @return novo tabuleiro compactado
+	 */
+	public static long mover(long tabuleiro, int posLivre, int origem) {
+		long peca = (tabuleiro >>> (origem * BITS_POR_POSICAO)) & MASCARA;
+		return (tabuleiro & ~(MASCARA << (origem * BITS_POR_POSICAO))) | (peca << (posLivre * BITS_POR_POSICAO));
+	}
+	
+	/**
+	 * Localiza a posio livre do tabuleiro.
+	 * @return ndice da posio livre ou -1, caso no exista
+	 */
+	public static int posicaoLivre(long tabuleiro, int qtdPosicoes) {
+		for (int i = 0; i < qtdPosicoes; i++)
+			if (((tabuleiro >>> (i * BITS_POR_POSICAO)) & MASCARA) == 0)
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * Espalha os bits do tabuleiro para que possa ser utilizado como cdigo hash.
+	 */
+	public static int hash(long tabuleiro) {
+		return (int) ((tabuleiro * 0x9E3779B97F4A7C15L) >>> 32);
+	}
+	
+	/**
+	 * Converte o caractere que descreve uma posio do tabuleiro no nmero da pea.
+	 */
+	public static int paraPeca(char c) {
+		if (c == ' ')
+			return 0;
+		int peca = Character.digit(c, 16);
+		if (peca <= 0)
+			throw new IllegalArgumentException("Pea invlida: '" + c + "'");
+		return peca;
+	}
+	
+	/**
+	 * Converte o nmero de uma pea no caractere que a representa.
+	 */
+	public static char paraCaractere(int peca) {
+		return (peca == 0) ? ' ' : Character.toUpperCase(Character.forDigit(peca, 16));
+	}
+	
+}
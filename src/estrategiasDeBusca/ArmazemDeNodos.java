@@ -0,0 +1,126 @@
+package estrategiasDeBusca;
+
+/**
+ * Armazena os nodos de uma rvore de busca em vetores primitivos paralelos, no
+ * lugar de um objeto por nodo: o cdigo do estado (ver Codificavel), o custo
+ * acumulado (g), o ndice do nodo pai e o movimento que originou o nodo. Cada
+ * nodo  identificado pelo seu ndice, atribudo na ordem de insero, o que
+ * dispensa cabealhos de objetos e referncias entre os nodos (17 bytes por
+ * nodo) e permite que o coletor de lixo ignore a rvore inteira.
+ *
+ * Os vetores crescem em blocos de tamanho fixo, sem copiar os nodos j
+ * armazenados, e so reaproveitados entre as buscas. O movimento  guardado
+ * num nico byte, como a sua posio na lista produzida por
+ * Reversivel.getMovimentos() no estado pai (no mximo MAX_MOVIMENTOS por
+ * estado), de modo que a soluo pode ser descrita por um byte por passo e
+ * convertida em estados somente quando necessrio.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class ArmazemDeNodos {
+
+	public static final int SEM_ANCESTRAL = -1;
+	public static final byte SEM_MOVIMENTO = -1;
+	public static final int MAX_MOVIMENTOS = Byte.MAX_VALUE + 1;	// movimentos por estado que cabem num byte
+
+	private static final int BITS_DO_BLOCO = 14;
+	private static final int TAMANHO_DO_BLOCO = 1 << BITS_DO_BLOCO;	// nodos por bloco
+	private static final int MASCARA_DO_BLOCO = TAMANHO_DO_BLOCO - 1;
+
+	private long[][] codigos = new long[16][];
+	private int[][] custos = new int[16][];
+	private int[][] ancestrais = new int[16][];
+	private byte[][] movimentos = new byte[16][];
+	private int qtdBlocos = 0;	// blocos j alocados
+	private int qtd = 0;		// nodos armazenados
+
+	/**
+	 * Descarta todos os nodos, mantendo os blocos alocados para a prxima busca.
+	 */
+	public void limpar() {
+		qtd = 0;
+	}
+
+	/**
+	 * Insere um novo nodo.
+	 * @param codigo cdigo do estado
+	 * @param custo custo acumulado desde a raiz
+	 * @param ancestral ndice do nodo pai (SEM_ANCESTRAL para a raiz)
+	 * @param movimento posio, entre os movimentos do pai, do movimento que
+	 *        originou o nodo (SEM_MOVIMENTO para a raiz)
+	 * @return ndice do nodo inserido
+	 */
+	public int adicionar(long codigo, int custo, int ancestral, byte movimento) {
+		int bloco = qtd >>> BITS_DO_BLOCO;
+		if (bloco == qtdBlocos)
+			alocarBloco();
+		int pos = qtd & MASCARA_DO_BLOCO;
+		codigos[bloco][pos] = codigo;
+		custos[bloco][pos] = custo;
+		ancestrais[bloco][pos] = ancestral;
+		movimentos[bloco][pos] = movimento;
+		return qtd++;
+	}
+
+	public long getCodigo(int nodo) {
+		return codigos[nodo >>> BITS_DO_BLOCO][nodo & MASCARA_DO_BLOCO];
+	}
+
+	public int getCusto(int nodo) {
+		return custos[nodo >>> BITS_DO_BLOCO][nodo & MASCARA_DO_BLOCO];
+	}
+
+	public int getAncestral(int nodo) {
+		return ancestrais[nodo >>> BITS_DO_BLOCO][nodo & MASCARA_DO_BLOCO];
+	}
+
+	public byte getMovimento(int nodo) {
+		return movimentos[nodo >>> BITS_DO_BLOCO][nodo & MASCARA_DO_BLOCO];
+	}
+
+	/**
+	 * Recupera a quantidade de nodos armazenados.
+	 */
+	public int getTamanho() {
+		return qtd;
+	}
+
+	/**
+	 * Recupera a sequncia de movimentos que leva da raiz ao nodo informado,
+	 * seguindo os ndices dos ancestrais.
+	 * @param nodo ndice do nodo final
+	 * @return posies dos movimentos aplicados desde a raiz, na ordem em que
+	 *         foram aplicados
+	 */
+	public byte[] getMovimentos(int nodo) {
+		int profundidade = 0;
+		for (int n = nodo; getAncestral(n) != SEM_ANCESTRAL; n = getAncestral(n))
+			profundidade++;
+		byte[] sequencia = new byte[profundidade];
+		for (int n = nodo; getAncestral(n) != SEM_ANCESTRAL; n = getAncestral(n))
+			sequencia[--profundidade] = getMovimento(n);
+		return sequencia;
+	}
+
+	private void alocarBloco() {
+		if (qtdBlocos == codigos.length) {
+			int tamanho = qtdBlocos * 2;
+			codigos = copiar(codigos, new long[tamanho][]);
+			custos = copiar(custos, new int[tamanho][]);
+			ancestrais = copiar(ancestrais, new int[tamanho][]);
+			movimentos = copiar(movimentos, new byte[tamanho][]);
+		}
+		codigos[qtdBlocos] = new long[TAMANHO_DO_BLOCO];
+		custos[qtdBlocos] = new int[TAMANHO_DO_BLOCO];
+		ancestrais[qtdBlocos] = new int[TAMANHO_DO_BLOCO];
+		movimentos[qtdBlocos] = new byte[TAMANHO_DO_BLOCO];
+		qtdBlocos++;
+	}
+
+	private static <V> V[] copiar(V[] origem, V[] destino) {
+		System.arraycopy(origem, 0, destino, 0, origem.length);
+		return destino;
+	}
+
+}
@@ -0,0 +1,257 @@
+package estrategiasDeBusca;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import espacoDeEstados.Estado;
+import espacoDeEstados.Reversivel;
+
+/**
+ * Esta classe rene o ciclo de vida comum a todas as estratgias de busca,
+ * cegas ou informadas: os estados inicial e objetivo, o controle de repetidos,
+ * as estatsticas, os limites de recursos e o resultado da ltima execuo. As
+ * especializaes implementam apenas a forma como o espao  explorado em
+ * buscar(), delimitando-a com iniciarBusca(), dentroDosLimites() e
+ * encerrarBusca().
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public abstract class BuscaAbstrata implements EstrategiaDeBusca {
+	
+	protected String nomeDaEstrategia;	// nome da estratgia de busca utilizada
+	protected Estado<?> eInicial;		// representa o estado inicial da busca
+	protected Estado<?> eObjetivo;		// representa um estado do problema que contenha os objetivos ou seja, em si mesmo, a meta para a busca.
+	protected List<Estado<?>> caminho;	// contm o caminho da soluo desde a raiz (inicio) 
+	protected ControleDeRepetidos repetidos;	// detecta os estados que j foram visitados
+	protected EstatisticasDeBusca estatisticas;	// contadores e tempos da ltima execuo
+	protected LimitesDeBusca limites;			// recursos que a busca pode consumir (null = ilimitado)
+	protected ResultadoDaBusca interrupcao;		// motivo pelo qual a busca foi interrompida antes do trmino
+	protected ResultadoDaBusca resultado;		// situao em que a ltima busca foi encerrada
+	
+	/**
+	 * Cria a estratgia, definindo os estados inicial e objetivo do processo.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 */
+	protected BuscaAbstrata(Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		eInicial = estadoInicial;
+		eObjetivo = estadoMeta;
+		caminho = new ArrayList<Estado<?>>();
+		repetidos = new ControleDeRepetidosHash();
+		estatisticas = new EstatisticasDeBusca();
+	}
+
+	/**
+	 * Recupera o nome da estratgia de busca.
+	 * @return nome da estratgia de busca
+	 */
+	public String getNomeDaEstrategia() {
+		return nomeDaEstrategia;
+	}
+	
+	/**
+	 * Define o estado inicial da busca, isto , o ponto de partida do processo
+	 * @param estadoInicial um dos estados possveis do problema
+	 */
+	public void setInicio(Estado<?> estadoInicial) {
+		this.eInicial = estadoInicial;
+	}
+	
+	/**
+	 * Define o estado objetivo para o processo de busca, sendo por dado por um
+	 * estado que apresente os objetivos desejados ou que seja, em si mesmo, um
+	 * estado meta. 
+	 * @param estadoMeta um estado possvel do problema que atende os objetivos
+	 */
+	public void setObjetivo(Estado<?> estadoMeta) {
+		this.eObjetivo = estadoMeta;
+	}
+	
+	/**
+	 * Recupera o estado considerado como meta para a busca, aquele que contm
+	 * ou atende os objetivos estabelecidos para o processo de busca.
+	 * @return um estado soluo para o problema apresentado.
+	 */
+	public Estado<?> getObjetivo() {
+		return eObjetivo;
+	}
+	
+	/**
+	 * Define o mecanismo utilizado para detectar e descartar estados repetidos
+	 * durante a explorao do espao.
+	 * @param controle implementao do controle de repetidos (lista de fechados)
+	 */
+	public void setControleDeRepetidos(ControleDeRepetidos controle) {
+		this.repetidos = controle;
+	}
+	
+	/**
+	 * Recupera o mecanismo de deteco de estados repetidos, permitindo consultar,
+	 * por exemplo, quantos duplicados foram descartados pela busca.
+	 * @return controle de repetidos utilizado pela estratgia
+	 */
+	public ControleDeRepetidos getControleDeRepetidos() {
+		return repetidos;
+	}
+	
+	/**
+	 * Recupera as estatsticas da ltima execuo da busca (ou da execuo em
+	 * andamento): nodos gerados e expandidos, duplicados, tamanho da fronteira,
+	 * fator de ramificao efetivo e tempos de cada fase.
+	 * @return estatsticas preenchidas pela estratgia
+	 */
+	public EstatisticasDeBusca getEstatisticas() {
+		return estatisticas;
+	}
+	
+	/**
+	 * Registra um ouvinte para acompanhar o progresso das buscas.
+	 * @param ouvinte objeto notificado periodicamente (null desativa as notificaes)
+	 * @param intervalo quantidade de nodos expandidos entre duas notificaes
+	 */
+	public void setOuvinteDeBusca(OuvinteDeBusca ouvinte, long intervalo) {
+		estatisticas.setOuvinte(ouvinte, intervalo);
+	}
+	
+	/**
+	 * Define os limites de recursos (nodos, fronteira, tempo e cancelamento)
+	 * aplicados as prximas execues da busca.
+	 * @param limites limites a serem respeitados (null remove todos os limites)
+	 */
+	public void setLimites(LimitesDeBusca limites) {
+		this.limites = limites;
+	}
+	
+	/**
+	 * Recupera os limites de recursos aplicados a busca.
+	 * @return limites definidos ou null, caso a busca seja ilimitada
+	 */
+	public LimitesDeBusca getLimites() {
+		return limites;
+	}
+	
+	/**
+	 * Recupera a situao em que a ltima busca foi encerrada: com soluo, sem
+	 * soluo, insolvel, interrompida por um limite ou cancelada.
+	 * @return resultado da ltima busca (null se nenhuma foi concluda)
+	 */
+	public ResultadoDaBusca getResultado() {
+		return resultado;
+	}
+	
+	/**
+	 * Prepara uma nova execuo: descarta o caminho anterior, limpa o controle de
+	 * repetidos e reinicia as estatsticas. Caso o estado inicial saiba que a
+	 * meta  inalcanvel, a busca  marcada como insolvel e ser encerrada na
+	 * primeira verificao de dentroDosLimites().
+	 */
+	protected void iniciarBusca() {
+		caminho.clear();
+		repetidos.limpar();
+		estatisticas.iniciar(nomeDaEstrategia);
+		resultado = null;
+		interrupcao = null;
+		if (eInicial != null && eObjetivo != null && !eInicial.podeAlcancar(eObjetivo))
+			interrupcao = ResultadoDaBusca.INSOLUVEL;
+	}
+	
+	/**
+	 * Verifica se a busca pode prosseguir, confrontando as estatsticas correntes
+	 * com os limites definidos. Deve ser consultado a cada expanso.
+	 * @return false se a busca deve ser interrompida
+	 */
+	protected boolean dentroDosLimites() {
+		if (interrupcao != null)
+			return false;
+		if (limites == null)
+			return true;
+		interrupcao = limites.verificar(estatisticas.getQtdExpandidos(), estatisticas.getMaiorFronteira(), estatisticas.getTempoTotalNs());
+		return interrupcao == null;
+	}
+	
+	/**
+	 * Indica se a busca corrente foi interrompida por um limite, cancelamento ou
+	 * por ser insolvel.
+	 */
+	protected boolean isInterrompida() {
+		return interrupcao != null;
+	}
+	
+	/**
+	 * Encerra a execuo, construindo o caminho at a meta alcanada (se houver
+	 * e a busca no tiver sido interrompida) e consolidando as estatsticas.
+	 * @param eMeta estado meta alcanado ou null, caso no haja soluo
+	 */
+	protected void encerrarBusca(Estado<?> eMeta) {
+		estatisticas.encerrarExploracao();
+		if (eMeta != null && interrupcao == null)
+			construirCaminho(eMeta);
+		concluirBusca();
+	}
+	
+	/**
+	 * Determina o resultado da busca a partir do caminho construdo e consolida
+	 * as estatsticas.
+	 */
+	protected void concluirBusca() {
+		if (interrupcao != null)
+			resultado = interrupcao;
+		else
+			resultado = caminho.isEmpty() ? ResultadoDaBusca.SEM_SOLUCAO : ResultadoDaBusca.SOLUCAO_ENCONTRADA;
+		estatisticas.acumularRepetidos(repetidos);
+		estatisticas.concluir(caminho, resultado);
+	}
+	
+	/**
+	 * Constri o caminho da soluo seguindo os ancestrais do estado informado
+	 * (da folha at a raiz) e o armazena, na ordem inversa, no atributo caminho.
+	 * @param eMeta estado meta alcanado pela busca
+	 */
+	protected void construirCaminho(Estado<?> eMeta) {
+		Estado<?> eCorrente = eMeta;
+		caminho.add(eCorrente);
+		while (eCorrente.getAncestral() != null) {
+			eCorrente = eCorrente.getAncestral();
+			caminho.add(eCorrente);
+		}
+		Collections.reverse(caminho);
+	}
+	
+	/**
+	 * Materializa o caminho percorrido por uma explorao baseada em movimentos
+	 * (ver Reversivel), reproduzindo-os a partir do estado inicial: cada passo
+	 * cria uma cpia do estado anterior, aplica o movimento e encadeia a cpia
+	 * ao anterior como ancestral.
+	 * @param movimentos movimentos aplicados desde o estado inicial
+	 * @param qtd quantidade de movimentos do caminho
+	 * @return ltimo estado do caminho (o prprio estado inicial, caso qtd seja zero)
+	 */
+	protected Estado<?> reproduzirCaminho(int[] movimentos, int qtd) {
+		Estado<?> eCorrente = eInicial;
+		for (int i = 0; i < qtd; i++) {
+			Estado<?> eProximo = ((Reversivel) eCorrente).copiar();
+			((Reversivel) eProximo).aplicar(movimentos[i]);
+			eProximo.setAncestral(eCorrente);
+			eCorrente = eProximo;
+		}
+		return eCorrente;
+	}
+	
+	/**
+	 * Mtodo que realiza a explorao do espao de busca, tomando como partida
+	 * o estado inicial e seguindo, estado aps estado, na construo do caminho
+	 * que leva a um estado soluo (objetivo).
+	 */
+	public abstract void buscar();
+	
+	/**
+	 * Recupera o caminho correspondente a soluo encontrada pela busca.
+	 * @return
+	 */
+	public List<Estado<?>> getCaminhoSolucao() {
+		return caminho;
+	}
+	
+}
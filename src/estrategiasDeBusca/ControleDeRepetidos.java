@@ -0,0 +1,70 @@
+package estrategiasDeBusca;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Esta interface modela o mecanismo de deteco de estados repetidos (lista de
+ * fechados) utilizado pelas estratgias de busca. Cada estado gerado  submetido
+ * ao controle, que decide se ele deve ser explorado ou descartado por j ter sido
+ * alcanado anteriormente. Estratgias que buscam o menor custo (como o A*) podem
+ * ainda reabrir um estado quando este  alcanado por um caminho mais barato.
+ * 
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface ControleDeRepetidos {
+
+	/**
+	 * Submete um estado ao controle de repetidos, registrando-o caso ainda no
+	 * tenha sido visto. Se o estado j tiver sido registrado, ele somente ser
+	 * aceito novamente (reabertura) se a implementao permitir e o seu custo
+	 * for inferior ao registrado anteriormente; caso contrrio  contabilizado
+	 * como duplicado e deve ser descartado pela busca.
+	 * @param estado nodo recm gerado
+	 * @return true se o estado deve ser explorado, false se for um duplicado
+	 */
+	public boolean registrar(Estado<?> estado);
+
+	/**
+	 * Equivalente a registrar(), para estados que continuaro sendo modificados
+	 * pela busca atravs de aplicar() e desfazer(). Implementaes que guardam
+	 * referncias aos estados registram uma cpia, criada somente quando o
+	 * estado ainda no tiver sido visto.
+	 * @param estado estado mutvel recm alcanado
+	 * @return true se o estado deve ser explorado, false se for um duplicado
+	 */
+	public boolean registrarMutavel(Estado<?> estado);
+
+	/**
+	 * Verifica se um estado equivalente j foi registrado.
+	 * @param estado nodo a ser verificado
+	 * @return true caso o estado j tenha sido visto pela busca
+	 */
+	public boolean contem(Estado<?> estado);
+
+	/**
+	 * Descarta todos os registros e zera os contadores, preparando o controle
+	 * para um novo processo de busca.
+	 */
+	public void limpar();
+
+	/**
+	 * Recupera a quantidade de estados distintos registrados.
+	 * @return nmero de estados distintos vistos pela busca
+	 */
+	public int getQtdRegistrados();
+
+	/**
+	 * Recupera quantos estados foram descartados por serem repetidos.
+	 * @return nmero de duplicados eliminados
+	 */
+	public long getQtdDescartados();
+
+	/**
+	 * Recupera quantas vezes um estado j visto foi reaberto por ter sido
+	 * alcanado com um custo menor.
+	 * @return nmero de reaberturas
+	 */
+	public long getQtdReaberturas();
+
+}
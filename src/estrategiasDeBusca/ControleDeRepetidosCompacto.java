@@ -0,0 +1,174 @@
+package estrategiasDeBusca;
+
+import java.util.Arrays;
+
+import espacoDeEstados.Codificavel;
+import espacoDeEstados.Estado;
+
+/**
+ * Implementao do controle de estados repetidos para estados Codificavel, que
+ * armazena apenas o cdigo de 64 bits de cada estado e o menor custo com que foi
+ * alcanado, em vetores primitivos com endereamento aberto. Ao contrrio da
+ * verso baseada em HashMap, no mantm referncias aos objetos visitados nem
+ * aloca entradas por estado, consumindo cerca de 12 bytes por registro.
+ * 
+ * @author Leandro C. Fernandes
+ *
+ */
+public class ControleDeRepetidosCompacto implements ControleDeRepetidos {
+
+	private static final int CAPACIDADE_INICIAL = 1 << 10;
+	private static final long VAZIO = 0L;	// cdigo reservado para posies livres da tabela
+
+	private long[] codigos;
+	private int[] custos;
+	private int qtd = 0;
+	private boolean temCodigoVazio = false;	// o cdigo 0  tratado a parte
+	private int custoCodigoVazio;
+	private boolean permiteReabertura;
+	private long qtdDescartados = 0;
+	private long qtdReaberturas = 0;
+
+	/**
+	 * Construtor padro. Todo estado repetido  descartado.
+	 */
+	public ControleDeRepetidosCompacto() {
+		this(false);
+	}
+
+	/**
+	 * Cria um controle de repetidos compacto, definindo se estados j vistos
+	 * podem ser reabertos quando alcanados por um custo menor.
+	 * @param permiteReabertura true para permitir a reabertura de estados
+	 */
+	public ControleDeRepetidosCompacto(boolean permiteReabertura) {
+		this.permiteReabertura = permiteReabertura;
+		this.codigos = new long[CAPACIDADE_INICIAL];
+		this.custos = new int[CAPACIDADE_INICIAL];
+	}
+
+	@Override
+	public boolean registrar(Estado<?> estado) {
+		return registrar(((Codificavel) estado).getCodigo(), estado.getCusto());
+	}
+
+	/**
+	 * Como apenas o cdigo do estado  armazenado, no h necessidade de cpia.
+	 */
+	@Override
+	public boolean registrarMutavel(Estado<?> estado) {
+		return registrar(estado);
+	}
+
+	/**
+	 * Verso primitiva de registrar(Estado), que dispensa o objeto do estado.
+	 * @param codigo cdigo de 64 bits do estado
+	 * @param custo custo com que o estado foi alcanado
+	 * @return true se o estado deve ser explorado, false se for um duplicado
+	 */
+	public boolean registrar(long codigo, int custo) {
+		if (codigo == VAZIO) {
+			if (!temCodigoVazio) {
+				temCodigoVazio = true;
+				custoCodigoVazio = custo;
+				qtd++;
+				return true;
+			}
+			if (permiteReabertura && custo < custoCodigoVazio) {
+				custoCodigoVazio = custo;
+				qtdReaberturas++;
+				return true;
+			}
+			qtdDescartados++;
+			return false;
+		}
+		int pos = localizar(codigo);
+		if (codigos[pos] == VAZIO) {
+			codigos[pos] = codigo;
+			custos[pos] = custo;
+			if (++qtd * 2 > codigos.length)
+				expandir();
+			return true;
+		}
+		if (permiteReabertura && custo < custos[pos]) {
+			custos[pos] = custo;
+			qtdReaberturas++;
+			return true;
+		}
+		qtdDescartados++;
+		return false;
+	}
+
+	@Override
+	public boolean contem(Estado<?> estado) {
+		return contem(((Codificavel) estado).getCodigo());
+	}
+
+	/**
+	 * Verifica se um cdigo j foi registrado.
+	 */
+	public boolean contem(long codigo) {
+		if (codigo == VAZIO)
+			return temCodigoVazio;
+		return codigos[localizar(codigo)] != VAZIO;
+	}
+
+	/**
+	 * Os vetores j alocados so reaproveitados, de modo que buscas repetidas
+	 * (como as iteraes da busca em profundidade iterativa) no alocam memria
+	 * depois que a tabela atinge o tamanho necessrio.
+	 */
+	@Override
+	public void limpar() {
+		if (qtd > 0)
+			Arrays.fill(codigos, VAZIO);
+		qtd = 0;
+		temCodigoVazio = false;
+		qtdDescartados = 0;
+		qtdReaberturas = 0;
+	}
+
+	@Override
+	public int getQtdRegistrados() {
+		return qtd;
+	}
+
+	@Override
+	public long getQtdDescartados() {
+		return qtdDescartados;
+	}
+
+	@Override
+	public long getQtdReaberturas() {
+		return qtdReaberturas;
+	}
+
+	/**
+	 * Sondagem linear a partir do hash do cdigo.
+	 * @return posio que contm o cdigo ou a posio livre onde deve ser inserido
+	 */
+	private int localizar(long codigo) {
+		int mascara = codigos.length - 1;
+		int pos = (int) ((codigo * 0x9E3779B97F4A7C15L) >>> 32) & mascara;
+		while (codigos[pos] != VAZIO && codigos[pos] != codigo)
+			pos = (pos + 1) & mascara;
+		return pos;
+	}
+
+	/**
+	 * Dobra a capacidade da tabela, redistribuindo os cdigos registrados.
+	 */
+	private void expandir() {
+		long[] antigosCodigos = codigos;
+		int[] antigosCustos = custos;
+		codigos = new long[antigosCodigos.length * 2];
+		custos = new int[antigosCustos.length * 2];
+		for (int i = 0; i < antigosCodigos.length; i++)
+			if (antigosCodigos[i] != VAZIO) {
+				int pos = localizar(antigosCodigos[i]);
+				codigos[pos] = antigosCodigos[i];
+				custos[pos] = antigosCustos[i];
+			}
+	}
+
+}
@@ -0,0 +1,97 @@
+package estrategiasDeBusca;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import espacoDeEstados.Estado;
+import espacoDeEstados.Reversivel;
+
+/**
+ * Implementao do controle de estados repetidos baseada em tabela hash, que
+ * associa cada estado visitado ao menor custo com que foi alcanado. Depende,
+ * portanto, de que os estados implementem corretamente equals() e hashCode().
+ * 
+ * @author Leandro C. Fernandes
+ *
+ */
+public class ControleDeRepetidosHash implements ControleDeRepetidos {
+
+	private Map<Estado<?>, Integer> visitados;	// estado -> menor custo conhecido
+	private boolean permiteReabertura;			// aceita estados repetidos de menor custo
+	private long qtdDescartados = 0;
+	private long qtdReaberturas = 0;
+
+	/**
+	 * Construtor padro. Todo estado repetido  descartado.
+	 */
+	public ControleDeRepetidosHash() {
+		this(false);
+	}
+
+	/**
+	 * Cria um controle de repetidos, definindo se estados j vistos podem ser
+	 * reabertos quando alcanados por um custo menor.
+	 * @param permiteReabertura true para permitir a reabertura de estados
+	 */
+	public ControleDeRepetidosHash(boolean permiteReabertura) {
+		this.permiteReabertura = permiteReabertura;
+		this.visitados = new HashMap<Estado<?>, Integer>();
+	}
+
+	@Override
+	public boolean registrar(Estado<?> estado) {
+		return registrar(estado, false);
+	}
+
+	@Override
+	public boolean registrarMutavel(Estado<?> estado) {
+		return registrar(estado, true);
+	}
+
+	/**
+	 * Registra o estado ou uma cpia dele. Na reabertura a chave j existente 
+	 * mantida pela tabela, de modo que apenas o custo  atualizado.
+	 */
+	private boolean registrar(Estado<?> estado, boolean copiar) {
+		Integer custoAnterior = visitados.get(estado);
+		if (custoAnterior == null) {
+			visitados.put(copiar ? ((Reversivel) estado).copiar() : estado, estado.getCusto());
+			return true;
+		}
+		if (permiteReabertura && estado.getCusto() < custoAnterior) {
+			visitados.put(estado, estado.getCusto());
+			qtdReaberturas++;
+			return true;
+		}
+		qtdDescartados++;
+		return false;
+	}
+
+	@Override
+	public boolean contem(Estado<?> estado) {
+		return visitados.containsKey(estado);
+	}
+
+	@Override
+	public void limpar() {
+		visitados.clear();
+		qtdDescartados = 0;
+		qtdReaberturas = 0;
+	}
+
+	@Override
+	public int getQtdRegistrados() {
+		return visitados.size();
+	}
+
+	@Override
+	public long getQtdDescartados() {
+		return qtdDescartados;
+	}
+
+	@Override
+	public long getQtdReaberturas() {
+		return qtdReaberturas;
+	}
+
+}
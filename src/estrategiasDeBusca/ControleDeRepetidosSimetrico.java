@@ -0,0 +1,48 @@
+package estrategiasDeBusca;
+
+import espacoDeEstados.Estado;
+import espacoDeEstados.Simetrico;
+
+/**
+ * Controle de repetidos para estados Simetrico, que registra o cdigo do
+ * representante cannico de cada estado no lugar do seu prprio cdigo. Assim,
+ * um estado  descartado quando ele ou qualquer estado equivalente (por
+ * exemplo, o mesmo tabuleiro do Jogo da Velha rotacionado ou refletido) j tiver
+ * sido visitado, reduzindo os registros e os nodos explorados na proporo da
+ * quantidade de simetrias.
+ *
+ * Os estados explorados continuam na orientao original, de modo que o
+ * caminho encontrado no precisa ser transformado.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class ControleDeRepetidosSimetrico extends ControleDeRepetidosCompacto {
+
+	/**
+	 * Construtor padro. Todo estado repetido  descartado.
+	 */
+	public ControleDeRepetidosSimetrico() {
+		super(false);
+	}
+
+	/**
+	 * Cria o controle, definindo se estados j vistos podem ser reabertos
+	 * quando alcanados por um custo menor.
+	 * @param permiteReabertura true para permitir a reabertura de estados
+	 */
+	public ControleDeRepetidosSimetrico(boolean permiteReabertura) {
+		super(permiteReabertura);
+	}
+
+	@Override
+	public boolean registrar(Estado<?> estado) {
+		return registrar(((Simetrico) estado).getCodigoCanonico(), estado.getCusto());
+	}
+
+	@Override
+	public boolean contem(Estado<?> estado) {
+		return contem(((Simetrico) estado).getCodigoCanonico());
+	}
+
+}
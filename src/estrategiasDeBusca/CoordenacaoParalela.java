@@ -0,0 +1,111 @@
+package estrategiasDeBusca;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rene o que as buscas paralelas compartilham entre as suas threads: o
+ * consumo global de nodos, contabilizado em lotes para que as threads no
+ * disputem um contador a cada expanso, a verificao dos limites de busca e o
+ * motivo da interrupo, registrado uma nica vez pela primeira thread que
+ * detectar um limite excedido ou o cancelamento.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class CoordenacaoParalela {
+
+	public static final int LOTE_DE_VERIFICACAO = 64;	// expanses entre duas verificaes dos limites
+
+	private LimitesDeBusca limites;
+	private AtomicLong expandidosGlobais = new AtomicLong();	// nodos expandidos por todas as threads (em lotes)
+	private ThreadLocal<int[]> pendentes;	// expanses de cada thread ainda no contabilizadas
+	private volatile ResultadoDaBusca parada;	// limite excedido ou cancelamento detectado por uma thread
+	private long inicioNs;
+
+	/**
+	 * Prepara uma nova execuo, zerando o consumo e descartando a interrupo
+	 * anterior.
+	 * @param limites limites da busca (null quando ilimitada)
+	 */
+	public void iniciar(LimitesDeBusca limites) {
+		this.limites = limites;
+		expandidosGlobais.set(0);
+		pendentes = new ThreadLocal<int[]>() {
+			@Override
+			protected int[] initialValue() {
+				return new int[1];
+			}
+		};
+		parada = null;
+		inicioNs = System.nanoTime();
+	}
+
+	/**
+	 * Contabiliza um lote de LOTE_DE_VERIFICACAO expanses de uma thread e
+	 * confronta o consumo global com os limites, interrompendo a busca caso
+	 * algum tenha sido excedido.
+	 * @param tamanhoDaFronteira maior fronteira conhecida pela thread
+	 * @return false se a busca foi interrompida
+	 */
+	public boolean registrarLote(int tamanhoDaFronteira) {
+		if (limites == null)
+			return parada == null;
+		ResultadoDaBusca motivo = limites.verificar(expandidosGlobais.addAndGet(LOTE_DE_VERIFICACAO),
+				tamanhoDaFronteira, System.nanoTime() - inicioNs);
+		if (motivo != null)
+			interromper(motivo);
+		return parada == null;
+	}
+
+	/**
+	 * Contabiliza uma expanso da thread corrente, para as buscas cujas tarefas
+	 * so curtas demais para contar as prprias expanses: o contador de cada
+	 * thread sobrevive s tarefas que ela executa e, a cada
+	 * LOTE_DE_VERIFICACAO expanses, um lote  registrado (ver registrarLote).
+	 * @param tamanhoDaFronteira maior fronteira conhecida pela thread
+	 * @return false se a busca foi interrompida
+	 */
+	public boolean registrarExpansao(int tamanhoDaFronteira) {
+		int[] qtd = pendentes.get();
+		if (++qtd[0] < LOTE_DE_VERIFICACAO)
+			return parada == null;
+		qtd[0] = 0;
+		return registrarLote(tamanhoDaFronteira);
+	}
+
+	/**
+	 * Interrompe a busca, mantendo o primeiro motivo informado.
+	 */
+	public synchronized void interromper(ResultadoDaBusca motivo) {
+		if (parada == null)
+			parada = motivo;
+	}
+
+	/**
+	 * Recupera o motivo pelo qual a busca foi interrompida.
+	 * @return motivo da interrupo ou null, caso nenhuma thread a tenha interrompido
+	 */
+	public ResultadoDaBusca getParada() {
+		return parada;
+	}
+
+	/**
+	 * Cria uma fbrica de threads daemon, numeradas a partir do prefixo, para
+	 * que as threads de uma busca no impeam o trmino da aplicao.
+	 * @param prefixo nome comum s threads criadas
+	 */
+	public static ThreadFactory fabricaDeThreads(final String prefixo) {
+		return new ThreadFactory() {
+			private int qtdCriadas = 0;
+
+			@Override
+			public synchronized Thread newThread(Runnable r) {
+				Thread t = new Thread(r, prefixo + (qtdCriadas++));
+				t.setDaemon(true);
+				return t;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,332 @@
+package estrategiasDeBusca;
+
+import java.util.List;
+import java.util.Locale;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Esta classe rene as estatsticas de uma execuo de busca: nodos gerados e
+ * expandidos, duplicados descartados, reaberturas, maior tamanho da fronteira,
+ * profundidade e custo da soluo, fator de ramificao efetivo e o tempo de
+ * cada fase (explorao do espao e construo do caminho).
+ *
+ * Durante a busca apenas contadores primitivos so atualizados, sem qualquer
+ * alocao por nodo. Um OuvinteDeBusca pode ser registrado para receber
+ * amostras peridicas do progresso. Ao trmino, os valores podem ser exportados
+ * em JSON ou CSV.
+ *
+ * Uma instncia no deve ser atualizada por mais de uma thread; estratgias
+ * paralelas mantm uma instncia por thread e as combinam com acumular().
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class EstatisticasDeBusca {
+
+	/** Cabealho correspondente ao formato produzido por paraCsv(). */
+	public static final String CABECALHO_CSV = "estrategia;resultado;nodos_gerados;nodos_expandidos;duplicados;reaberturas;"
+			+ "maior_fronteira;iteracoes;profundidade;custo;fator_ramificacao;tempo_exploracao_ns;tempo_caminho_ns;tempo_total_ns";
+
+	private String estrategia = "";
+	private ResultadoDaBusca resultado;
+	private long qtdGerados;
+	private long qtdExpandidos;
+	private long qtdDuplicados;
+	private long qtdReaberturas;
+	private int maiorFronteira;
+	private int qtdIteracoes;
+	private int profundidadeDaSolucao = -1;
+	private int custoDaSolucao = -1;
+
+	private long inicio;				// instantes (System.nanoTime) que delimitam as fases
+	private long fimDaExploracao;
+	private long fim;
+	private boolean explorando;
+	private boolean concluida;
+
+	private OuvinteDeBusca ouvinte;
+	private long intervaloDeAmostragem = 10000;
+	private long proximaAmostra;
+
+	/**
+	 * Registra um ouvinte que ser notificado a cada intervalo de nodos expandidos
+	 * e ao trmino da busca.
+	 * @param ouvinte objeto a ser notificado (null desativa as notificaes)
+	 * @param intervalo quantidade de expanses entre duas notificaes
+	 */
+	public void setOuvinte(OuvinteDeBusca ouvinte, long intervalo) {
+		if (intervalo < 1)
+			throw new IllegalArgumentException("O intervalo de amostragem deve ser positivo");
+		this.ouvinte = ouvinte;
+		this.intervaloDeAmostragem = intervalo;
+		this.proximaAmostra = qtdExpandidos + intervalo;
+	}
+
+	/**
+	 * Zera os contadores e marca o incio de uma nova busca.
+	 * @param estrategia nome da estratgia que ser executada
+	 */
+	public void iniciar(String estrategia) {
+		this.estrategia = estrategia;
+		resultado = null;
+		qtdGerados = qtdExpandidos = qtdDuplicados = qtdReaberturas = 0;
+		maiorFronteira = qtdIteracoes = 0;
+		profundidadeDaSolucao = custoDaSolucao = -1;
+		explorando = true;
+		concluida = false;
+		proximaAmostra = intervaloDeAmostragem;
+		inicio = fimDaExploracao = fim = System.nanoTime();
+	}
+
+	/**
+	 * Contabiliza a expanso de um nodo.
+	 * @param qtdSucessores quantidade de sucessores gerados pela expanso
+	 * @param tamanhoDaFronteira quantidade de nodos abertos aps a expanso
+	 */
+	public void expandido(int qtdSucessores, int tamanhoDaFronteira) {
+		qtdExpandidos++;
+		qtdGerados += qtdSucessores;
+		if (tamanhoDaFronteira > maiorFronteira)
+			maiorFronteira = tamanhoDaFronteira;
+		if (ouvinte != null && qtdExpandidos >= proximaAmostra) {
+			proximaAmostra = qtdExpandidos + intervaloDeAmostragem;
+			ouvinte.progresso(this);
+		}
+	}
+
+	/**
+	 * Registra o tamanho da fronteira observado fora de uma expanso, como ao
+	 * trmino de cada nvel da busca em largura paralela.
+	 * @param tamanhoDaFronteira quantidade de nodos abertos
+	 */
+	public void fronteira(int tamanhoDaFronteira) {
+		if (tamanhoDaFronteira > maiorFronteira)
+			maiorFronteira = tamanhoDaFronteira;
+	}
+
+	/**
+	 * Contabiliza um estado descartado por ser repetido, quando a estratgia
+	 * no utiliza um ControleDeRepetidos.
+	 */
+	public void descartado() {
+		qtdDuplicados++;
+	}
+
+	/**
+	 * Contabiliza uma nova iterao das estratgias de aprofundamento iterativo.
+	 */
+	public void novaIteracao() {
+		qtdIteracoes++;
+	}
+
+	/**
+	 * Soma os duplicados e reaberturas registrados por um controle de repetidos.
+	 * Deve ser chamado antes de o controle ser limpo.
+	 * @param repetidos controle utilizado pela estratgia
+	 */
+	public void acumularRepetidos(ControleDeRepetidos repetidos) {
+		qtdDuplicados += repetidos.getQtdDescartados();
+		qtdReaberturas += repetidos.getQtdReaberturas();
+	}
+
+	/**
+	 * Incorpora os contadores de estatsticas parciais, como as mantidas por
+	 * cada thread de uma estratgia paralela.
+	 * @param parcial estatsticas a serem somadas a estas
+	 */
+	public void acumular(EstatisticasDeBusca parcial) {
+		qtdGerados += parcial.qtdGerados;
+		qtdExpandidos += parcial.qtdExpandidos;
+		qtdDuplicados += parcial.qtdDuplicados;
+		qtdReaberturas += parcial.qtdReaberturas;
+		maiorFronteira = Math.max(maiorFronteira, parcial.maiorFronteira);
+		qtdIteracoes = Math.max(qtdIteracoes, parcial.qtdIteracoes);
+	}
+
+	/**
+	 * Marca o fim da explorao do espao e o incio da construo do caminho.
+	 */
+	public void encerrarExploracao() {
+		fimDaExploracao = System.nanoTime();
+		explorando = false;
+	}
+
+	/**
+	 * Marca o trmino da busca, registrando como ela foi encerrada e a
+	 * profundidade e o custo da soluo.
+	 * @param caminho caminho da soluo (vazio se no houver)
+	 * @param resultado situao em que a busca foi encerrada
+	 */
+	public void concluir(List<Estado<?>> caminho, ResultadoDaBusca resultado) {
+		fim = System.nanoTime();
+		this.resultado = resultado;
+		if (!caminho.isEmpty()) {
+			Estado<?> meta = caminho.get(caminho.size() - 1);
+			profundidadeDaSolucao = caminho.size() - 1;
+			custoDaSolucao = meta.getCusto();
+		}
+		concluida = true;
+		if (ouvinte != null)
+			ouvinte.progresso(this);
+	}
+
+	public String getEstrategia() {
+		return estrategia;
+	}
+
+	/**
+	 * Recupera a situao em que a busca foi encerrada (null enquanto em andamento).
+	 */
+	public ResultadoDaBusca getResultado() {
+		return resultado;
+	}
+
+	/**
+	 * Recupera a quantidade de nodos gerados (sucessores produzidos pelas expanses).
+	 */
+	public long getQtdGerados() {
+		return qtdGerados;
+	}
+
+	/**
+	 * Recupera a quantidade de nodos expandidos.
+	 */
+	public long getQtdExpandidos() {
+		return qtdExpandidos;
+	}
+
+	/**
+	 * Recupera quantos estados foram descartados por serem repetidos.
+	 */
+	public long getQtdDuplicados() {
+		return qtdDuplicados;
+	}
+
+	/**
+	 * Recupera quantos estados j vistos foram reabertos por um custo menor.
+	 */
+	public long getQtdReaberturas() {
+		return qtdReaberturas;
+	}
+
+	/**
+	 * Recupera o maior tamanho alcanado pela fronteira (lista de abertos).
+	 */
+	public int getMaiorFronteira() {
+		return maiorFronteira;
+	}
+
+	/**
+	 * Recupera a quantidade de iteraes (zero nas estratgias no iterativas).
+	 */
+	public int getQtdIteracoes() {
+		return qtdIteracoes;
+	}
+
+	/**
+	 * Recupera a quantidade de passos da soluo (-1 se no houver soluo).
+	 */
+	public int getProfundidadeDaSolucao() {
+		return profundidadeDaSolucao;
+	}
+
+	/**
+	 * Recupera o custo do estado meta alcanado (-1 se no houver soluo).
+	 */
+	public int getCustoDaSolucao() {
+		return custoDaSolucao;
+	}
+
+	/**
+	 * Indica se a busca j foi concluda.
+	 */
+	public boolean isConcluida() {
+		return concluida;
+	}
+
+	/**
+	 * Recupera o tempo decorrido na explorao do espao, at o momento se a
+	 * explorao ainda estiver em andamento.
+	 * @return tempo em nanossegundos
+	 */
+	public long getTempoDeExploracaoNs() {
+		return explorando ? System.nanoTime() - inicio : fimDaExploracao - inicio;
+	}
+
+	/**
+	 * Recupera o tempo gasto na construo do caminho da soluo.
+	 * @return tempo em nanossegundos
+	 */
+	public long getTempoDeConstrucaoDoCaminhoNs() {
+		return concluida ? fim - fimDaExploracao : 0;
+	}
+
+	/**
+	 * Recupera o tempo total da busca, at o momento se ela estiver em andamento.
+	 * @return tempo em nanossegundos
+	 */
+	public long getTempoTotalNs() {
+		return concluida ? fim - inicio : System.nanoTime() - inicio;
+	}
+
+	/**
+	 * Calcula o fator de ramificao efetivo b*, isto , o fator de ramificao
+	 * que uma rvore uniforme de profundidade d (a da soluo) precisaria ter
+	 * para conter os N nodos gerados: N + 1 = 1 + b* + (b*)^2 + ... + (b*)^d.
+	 * O valor  obtido por bisseco.
+	 * @return fator de ramificao efetivo, ou 0 quando no h soluo ou ela  trivial
+	 */
+	public double getFatorDeRamificacaoEfetivo() {
+		int d = profundidadeDaSolucao;
+		if (d <= 0 || qtdGerados <= 0)
+			return 0;
+		double n = qtdGerados;
+		double menor = 0, maior = Math.max(1, n);
+		for (int i = 0; i < 100; i++) {
+			double b = (menor + maior) / 2;
+			double soma = 0, potencia = 1;
+			for (int k = 1; k <= d && soma <= n; k++) {
+				potencia *= b;
+				soma += potencia;
+			}
+			if (soma > n)
+				maior = b;
+			else
+				menor = b;
+		}
+		return (menor + maior) / 2;
+	}
+
+	/**
+	 * Representa as estatsticas como um objeto JSON.
+	 */
+	public String paraJson() {
+		return String.format(Locale.ROOT, "{\"estrategia\":\"%s\",\"resultado\":%s,\"nodosGerados\":%d,\"nodosExpandidos\":%d,"
+				+ "\"duplicados\":%d,\"reaberturas\":%d,\"maiorFronteira\":%d,\"iteracoes\":%d,"
+				+ "\"profundidade\":%d,\"custo\":%d,\"fatorDeRamificacao\":%.4f,"
+				+ "\"tempoDeExploracaoNs\":%d,\"tempoDeConstrucaoDoCaminhoNs\":%d,\"tempoTotalNs\":%d}",
+				estrategia.replace("\\", "\\\\").replace("\"", "\\\""),
+				(resultado == null) ? "null" : "\"" + resultado + "\"", qtdGerados, qtdExpandidos,
+				qtdDuplicados, qtdReaberturas, maiorFronteira, qtdIteracoes,
+				profundidadeDaSolucao, custoDaSolucao, getFatorDeRamificacaoEfetivo(),
+				getTempoDeExploracaoNs(), getTempoDeConstrucaoDoCaminhoNs(), getTempoTotalNs());
+	}
+
+	/**
+	 * Representa as estatsticas como uma linha CSV (separada por ponto e vrgula).
+	 */
+	public String paraCsv() {
+		return String.format(Locale.ROOT, "%s;%s;%d;%d;%d;%d;%d;%d;%d;%d;%.4f;%d;%d;%d",
+				estrategia.replace(';', ','), (resultado == null) ? "" : resultado, qtdGerados, qtdExpandidos, qtdDuplicados, qtdReaberturas,
+				maiorFronteira, qtdIteracoes, profundidadeDaSolucao, custoDaSolucao, getFatorDeRamificacaoEfetivo(),
+				getTempoDeExploracaoNs(), getTempoDeConstrucaoDoCaminhoNs(), getTempoTotalNs());
+	}
+
+	public String toString() {
+		return String.format(Locale.ROOT, "%s: %d gerados, %d expandidos, %d duplicados, fronteira mx. %d, "
+				+ "profundidade %d, b* = %.3f, %.3f ms", estrategia, qtdGerados, qtdExpandidos, qtdDuplicados,
+				maiorFronteira, profundidadeDaSolucao, getFatorDeRamificacaoEfetivo(), getTempoTotalNs() / 1e6);
+	}
+
+}
@@ -0,0 +1,92 @@
+package estrategiasDeBusca;
+
+import java.util.List;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Esta interface rene as operaes comuns a todas as estratgias de busca,
+ * sejam elas cegas ou informadas, permitindo que sejam configuradas, executadas
+ * e comparadas de maneira uniforme.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface EstrategiaDeBusca {
+
+	/**
+	 * Recupera o nome da estratgia de busca.
+	 * @return nome da estratgia de busca
+	 */
+	public String getNomeDaEstrategia();
+
+	/**
+	 * Define o estado inicial da busca, isto , o ponto de partida do processo
+	 * @param estadoInicial um dos estados possveis do problema
+	 */
+	public void setInicio(Estado<?> estadoInicial);
+
+	/**
+	 * Define o estado objetivo para o processo de busca.
+	 * @param estadoMeta um estado possvel do problema que atende os objetivos
+	 */
+	public void setObjetivo(Estado<?> estadoMeta);
+
+	/**
+	 * Recupera o estado considerado como meta para a busca.
+	 * @return um estado soluo para o problema apresentado.
+	 */
+	public Estado<?> getObjetivo();
+
+	/**
+	 * Define o mecanismo utilizado para detectar e descartar estados repetidos
+	 * durante a explorao do espao.
+	 * @param controle implementao do controle de repetidos (lista de fechados)
+	 */
+	public void setControleDeRepetidos(ControleDeRepetidos controle);
+
+	/**
+	 * Recupera o mecanismo de deteco de estados repetidos.
+	 * @return controle de repetidos utilizado pela estratgia
+	 */
+	public ControleDeRepetidos getControleDeRepetidos();
+
+	/**
+	 * Recupera as estatsticas da ltima execuo da busca.
+	 * @return contadores e tempos preenchidos pela estratgia
+	 */
+	public EstatisticasDeBusca getEstatisticas();
+
+	/**
+	 * Registra um ouvinte para acompanhar o progresso das buscas.
+	 * @param ouvinte objeto notificado periodicamente (null desativa as notificaes)
+	 * @param intervalo quantidade de nodos expandidos entre duas notificaes
+	 */
+	public void setOuvinteDeBusca(OuvinteDeBusca ouvinte, long intervalo);
+
+	/**
+	 * Define os limites de recursos (nodos, fronteira, tempo e cancelamento)
+	 * aplicados as prximas execues da busca.
+	 * @param limites limites a serem respeitados (null remove todos os limites)
+	 */
+	public void setLimites(LimitesDeBusca limites);
+
+	/**
+	 * Recupera a situao em que a ltima busca foi encerrada.
+	 * @return resultado da ltima busca (null se nenhuma foi concluda)
+	 */
+	public ResultadoDaBusca getResultado();
+
+	/**
+	 * Realiza a explorao do espao de busca, tomando como partida o estado
+	 * inicial, at alcanar um estado soluo (objetivo).
+	 */
+	public void buscar();
+
+	/**
+	 * Recupera o caminho correspondente a soluo encontrada pela busca.
+	 * @return estados da soluo, desde a raiz at a meta (vazio se no houver)
+	 */
+	public List<Estado<?>> getCaminhoSolucao();
+
+}
@@ -0,0 +1,19 @@
+package estrategiasDeBusca;
+
+/**
+ * Cria instncias de uma estratgia de busca. Permite que cada busca executada
+ * em paralelo (ver ResolvedorEmLote) possua a sua prpria instncia, j que as
+ * estratgias guardam na instncia o estado da explorao em andamento.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface FabricaDeBusca {
+
+	/**
+	 * Cria uma nova instncia da estratgia, ainda sem estados inicial e meta.
+	 * @return estratgia de busca pronta para ser configurada
+	 */
+	public EstrategiaDeBusca criar();
+
+}
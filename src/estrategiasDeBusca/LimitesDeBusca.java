@@ -0,0 +1,86 @@
+package estrategiasDeBusca;
+
+/**
+ * Esta classe define os recursos que uma busca pode consumir: quantidade mxima
+ * de nodos expandidos, tamanho mximo da fronteira, tempo mximo de execuo e
+ * um sinal de cancelamento. Os limites so verificados a cada expanso apenas
+ * com comparaes de contadores, e a busca que ultrapassar algum deles 
+ * encerrada com o ResultadoDaBusca correspondente, sem soluo.
+ *
+ * Por padro nenhum limite  imposto.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class LimitesDeBusca {
+
+	private long maxNodosExpandidos = Long.MAX_VALUE;
+	private int maxFronteira = Integer.MAX_VALUE;
+	private long tempoMaximoNs = Long.MAX_VALUE;
+	private SinalDeCancelamento cancelamento;
+
+	public long getMaxNodosExpandidos() {
+		return maxNodosExpandidos;
+	}
+
+	/**
+	 * Define a quantidade mxima de nodos que a busca pode expandir.
+	 */
+	public void setMaxNodosExpandidos(long maxNodosExpandidos) {
+		this.maxNodosExpandidos = maxNodosExpandidos;
+	}
+
+	public int getMaxFronteira() {
+		return maxFronteira;
+	}
+
+	/**
+	 * Define a quantidade mxima de nodos mantidos simultaneamente na fronteira.
+	 */
+	public void setMaxFronteira(int maxFronteira) {
+		this.maxFronteira = maxFronteira;
+	}
+
+	public long getTempoMaximoMs() {
+		return (tempoMaximoNs == Long.MAX_VALUE) ? Long.MAX_VALUE : tempoMaximoNs / 1000000L;
+	}
+
+	/**
+	 * Define o tempo mximo de execuo, contado a partir do incio de cada busca.
+	 * @param tempoMaximoMs prazo em milissegundos
+	 */
+	public void setTempoMaximoMs(long tempoMaximoMs) {
+		this.tempoMaximoNs = (tempoMaximoMs >= Long.MAX_VALUE / 1000000L) ? Long.MAX_VALUE : tempoMaximoMs * 1000000L;
+	}
+
+	public SinalDeCancelamento getCancelamento() {
+		return cancelamento;
+	}
+
+	/**
+	 * Define o sinal que, quando acionado, cancela a busca.
+	 */
+	public void setCancelamento(SinalDeCancelamento cancelamento) {
+		this.cancelamento = cancelamento;
+	}
+
+	/**
+	 * Confronta o consumo atual da busca com os limites definidos.
+	 * @param qtdExpandidos nodos expandidos at o momento
+	 * @param tamanhoDaFronteira maior tamanho alcanado pela fronteira
+	 * @param tempoDecorridoNs tempo decorrido desde o incio da busca
+	 * @return motivo da interrupo ou null, caso a busca possa prosseguir
+	 */
+	public ResultadoDaBusca verificar(long qtdExpandidos, int tamanhoDaFronteira, long tempoDecorridoNs) {
+		if (cancelamento != null && cancelamento.isCancelado())
+			return ResultadoDaBusca.CANCELADA;
+		if (qtdExpandidos >= maxNodosExpandidos)
+			return ResultadoDaBusca.LIMITE_DE_NODOS_EXCEDIDO;
+		if (tamanhoDaFronteira > maxFronteira)
+			return ResultadoDaBusca.LIMITE_DE_FRONTEIRA_EXCEDIDO;
+		if (tempoDecorridoNs > tempoMaximoNs)
+			return ResultadoDaBusca.PRAZO_ESGOTADO;
+		return null;
+	}
+
+}
@@ -0,0 +1,22 @@
+package estrategiasDeBusca;
+
+/**
+ * Esta interface permite acompanhar o andamento de uma busca. O ouvinte 
+ * notificado periodicamente (a cada intervalo de nodos expandidos definido em
+ * EstatisticasDeBusca) e uma ltima vez quando a busca  concluda.
+ *
+ * As notificaes ocorrem na prpria thread da busca, portanto o ouvinte deve
+ * ser rpido e no deve alterar o objeto de estatsticas recebido.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface OuvinteDeBusca {
+
+	/**
+	 * Informa o estado atual da busca.
+	 * @param estatisticas contadores da busca no momento da notificao
+	 */
+	public void progresso(EstatisticasDeBusca estatisticas);
+
+}
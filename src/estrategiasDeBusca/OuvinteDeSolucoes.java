@@ -0,0 +1,30 @@
+package estrategiasDeBusca;
+
+import java.util.List;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Esta interface permite acompanhar as solues publicadas pelas estratgias
+ * de busca incrementais (anytime), que encontram rapidamente uma primeira
+ * soluo e a melhoram enquanto houver tempo. O ouvinte  notificado a cada
+ * soluo melhor que a anterior, ou quando a garantia sobre a soluo corrente
+ *  reforada.
+ *
+ * As notificaes ocorrem na prpria thread da busca, portanto o ouvinte deve
+ * ser rpido e no deve alterar os estados do caminho recebido.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface OuvinteDeSolucoes {
+
+	/**
+	 * Informa a melhor soluo conhecida at o momento.
+	 * @param caminho caminho desde o estado inicial at a meta
+	 * @param limiteDeSubotimalidade fator mximo entre o custo do caminho e o
+	 *        custo timo (1 indica que a soluo  tima)
+	 */
+	public void solucaoMelhorada(List<Estado<?>> caminho, double limiteDeSubotimalidade);
+
+}
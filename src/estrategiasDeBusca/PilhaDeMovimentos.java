@@ -0,0 +1,133 @@
+package estrategiasDeBusca;
+
+import espacoDeEstados.Reversivel;
+
+/**
+ * Lista de abertos das buscas em profundidade baseadas em movimentos (ver
+ * Reversivel.aplicar). No lugar dos estados, a pilha guarda apenas os movimentos
+ * ainda no explorados de cada nvel do ramo corrente, alm dos movimentos
+ * aplicados desde a raiz. Um nico estado  ento modificado ao longo de toda a
+ * busca: avanar aplica o movimento do topo e, quando os movimentos de um nvel
+ * se esgotam, os movimentos do ramo so desfeitos at o nvel anterior.
+ *
+ * Os nodos so visitados exatamente na mesma ordem da pilha de estados, mas a
+ * memria  composta por vetores primitivos reaproveitados entre as buscas e
+ * que s crescem quando a busca ultrapassa o tamanho j alcanado.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class PilhaDeMovimentos {
+
+	private int[] movimentos = new int[64];	// movimentos pendentes de todos os nveis
+	private int[] chaves = new int[64];		// chave de ordenao de cada movimento pendente
+	private int topo = 0;
+	private int[] inicioDoNivel = new int[32];	// posio da pilha onde comeam os movimentos de cada nvel
+	private int[] aplicados = new int[32];		// movimentos aplicados desde a raiz
+	private int profundidade = 0;
+
+	/**
+	 * Esvazia a pilha, tornando o estado corrente a raiz da explorao.
+	 */
+	public void limpar() {
+		topo = 0;
+		profundidade = 0;
+		inicioDoNivel[0] = 0;
+	}
+
+	/**
+	 * Empilha um movimento possvel a partir do estado corrente.
+	 */
+	public void empilhar(int movimento) {
+		empilhar(movimento, 0);
+	}
+
+	/**
+	 * Empilha um movimento possvel a partir do estado corrente, associado a uma
+	 * chave utilizada por ordenarNivel().
+	 */
+	public void empilhar(int movimento, int chave) {
+		if (topo == movimentos.length) {
+			movimentos = copiar(movimentos, topo * 2);
+			chaves = copiar(chaves, topo * 2);
+		}
+		movimentos[topo] = movimento;
+		chaves[topo++] = chave;
+	}
+
+	/**
+	 * Ordena os movimentos empilhados a partir do estado corrente de modo que o
+	 * de menor chave seja o primeiro a ser explorado. Movimentos de chaves
+	 * iguais so explorados na ordem em que foram empilhados.
+	 */
+	public void ordenarNivel() {
+		int inicio = inicioDoNivel[profundidade];
+		// ordenao por insero em ordem decrescente, estvel quanto a ordem inversa de empilhamento
+		for (int i = inicio + 1; i < topo; i++) {
+			int movimento = movimentos[i];
+			int chave = chaves[i];
+			int j = i - 1;
+			while (j >= inicio && chaves[j] <= chave) {
+				movimentos[j + 1] = movimentos[j];
+				chaves[j + 1] = chaves[j];
+				j--;
+			}
+			movimentos[j + 1] = movimento;
+			chaves[j + 1] = chave;
+		}
+	}
+
+	/**
+	 * Leva o estado ao prximo nodo a ser explorado: desfaz os movimentos dos
+	 * nveis que no possuem mais movimentos pendentes e aplica o movimento do
+	 * topo da pilha.
+	 * @param estado estado mutvel que percorre o espao de busca
+	 * @return false caso no haja mais nodos a explorar (o estado volta a raiz)
+	 */
+	public boolean avancar(Reversivel estado) {
+		while (topo == inicioDoNivel[profundidade]) {
+			if (profundidade == 0)
+				return false;
+			estado.desfazer(aplicados[--profundidade]);
+		}
+		int movimento = movimentos[--topo];
+		estado.aplicar(movimento);
+		if (profundidade + 1 == aplicados.length) {
+			aplicados = copiar(aplicados, aplicados.length * 2);
+			inicioDoNivel = copiar(inicioDoNivel, inicioDoNivel.length * 2);
+		}
+		aplicados[profundidade++] = movimento;
+		inicioDoNivel[profundidade] = topo;
+		return true;
+	}
+
+	/**
+	 * Recupera a quantidade de movimentos pendentes, que corresponde ao tamanho
+	 * da fronteira da busca.
+	 */
+	public int getTamanho() {
+		return topo;
+	}
+
+	/**
+	 * Recupera a profundidade do estado corrente em relao a raiz.
+	 */
+	public int getProfundidade() {
+		return profundidade;
+	}
+
+	/**
+	 * Recupera os movimentos aplicados desde a raiz at o estado corrente, nas
+	 * primeiras getProfundidade() posies do vetor.
+	 */
+	public int[] getMovimentosAplicados() {
+		return aplicados;
+	}
+
+	private static int[] copiar(int[] origem, int tamanho) {
+		int[] destino = new int[tamanho];
+		System.arraycopy(origem, 0, destino, 0, origem.length);
+		return destino;
+	}
+
+}
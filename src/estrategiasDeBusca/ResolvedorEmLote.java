@@ -0,0 +1,202 @@
+package estrategiasDeBusca;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import espacoDeEstados.Estado;
+import espacoDeEstados.Reversivel;
+
+/**
+ * Executa em paralelo um grande nmero de buscas independentes, descritas por
+ * objetos TarefaDeBusca, num conjunto limitado de threads. Cada tarefa recebe
+ * uma instncia prpria da estratgia, criada pela sua FabricaDeBusca, de modo
+ * que nenhuma estrutura da explorao (abertos, repetidos, caminho, estatsticas)
+ *  compartilhada entre as buscas.
+ *
+ * As tarefas so consumidas sob demanda: no mximo getMaxPendentes() delas ficam
+ * submetidas ao mesmo tempo, e uma nova s  retirada da origem quando um
+ * resultado  entregue. Os resultados so devolvidos na ordem em que as buscas
+ * terminam, e no na ordem das tarefas.
+ *
+ * Ex: ResolvedorEmLote resolvedor = new ResolvedorEmLote(4);
+ *     Iterator<ResultadoDaTarefa> resultados = resolvedor.resolver(tarefas);
+ *     while (resultados.hasNext())
+ *         System.out.println(resultados.next());
+ *     resolvedor.encerrar();
+ *
+ * Os estados iniciais reversveis (ver Reversivel) so copiados antes
+ * da busca, pois as estratgias atualizam a avaliao do estado inicial; os
+ * demais no devem ser compartilhados por tarefas distintas.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class ResolvedorEmLote {
+
+	private static final AtomicInteger qtdResolvedores = new AtomicInteger(0);
+
+	private final ExecutorService executor;
+	private final int qtdThreads;
+	private int maxPendentes;
+	private LimitesDeBusca limites;
+
+	/**
+	 * Cria um resolvedor com uma thread por processador disponvel.
+	 */
+	public ResolvedorEmLote() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Cria um resolvedor com a quantidade de threads informada.
+	 * @param qtdThreads quantidade mxima de buscas executadas simultaneamente
+	 */
+	public ResolvedorEmLote(int qtdThreads) {
+		if (qtdThreads < 1)
+			throw new IllegalArgumentException(" necessria ao menos uma thread");
+		this.qtdThreads = qtdThreads;
+		this.maxPendentes = qtdThreads * 2;
+		final int numero = qtdResolvedores.incrementAndGet();
+		this.executor = Executors.newFixedThreadPool(qtdThreads, new ThreadFactory() {
+			private int qtdCriadas = 0;
+
+			@Override
+			public synchronized Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "resolvedor-" + numero + "-" + (qtdCriadas++));
+				t.setDaemon(true);
+				return t;
+			}
+		});
+	}
+
+	public int getQtdThreads() {
+		return qtdThreads;
+	}
+
+	public int getMaxPendentes() {
+		return maxPendentes;
+	}
+
+	/**
+	 * Define quantas tarefas podem estar submetidas ao mesmo tempo (em execuo
+	 * ou aguardando uma thread), limitando a memria consumida pelo lote.
+	 * @param maxPendentes quantidade mxima de tarefas submetidas (ao menos 1)
+	 */
+	public void setMaxPendentes(int maxPendentes) {
+		this.maxPendentes = Math.max(1, maxPendentes);
+	}
+
+	public LimitesDeBusca getLimites() {
+		return limites;
+	}
+
+	/**
+	 * Define os limites aplicados a cada uma das buscas. Como os limites so
+	 * apenas consultados pelas buscas, uma mesma instncia pode ser compartilhada
+	 * e o seu SinalDeCancelamento interrompe todas as buscas do lote.
+	 * @param limites limites de cada busca (null para buscas ilimitadas)
+	 */
+	public void setLimites(LimitesDeBusca limites) {
+		this.limites = limites;
+	}
+
+	/**
+	 * Inicia a resoluo das tarefas.
+	 * @param tarefas tarefas a serem executadas
+	 * @return iterador que devolve os resultados conforme as buscas terminam
+	 */
+	public Iterator<ResultadoDaTarefa> resolver(Iterable<TarefaDeBusca> tarefas) {
+		return resolver(tarefas.iterator());
+	}
+
+	/**
+	 * Inicia a resoluo das tarefas, que so retiradas da origem somente quando
+	 * houver espao entre as tarefas pendentes. Cada chamada a next() do
+	 * iterador devolvido aguarda o trmino da prxima busca.
+	 * @param tarefas origem das tarefas a serem executadas
+	 * @return iterador que devolve os resultados conforme as buscas terminam
+	 */
+	public Iterator<ResultadoDaTarefa> resolver(final Iterator<TarefaDeBusca> tarefas) {
+		final CompletionService<ResultadoDaTarefa> concluidas = new ExecutorCompletionService<ResultadoDaTarefa>(executor);
+		final LimitesDeBusca limitesDoLote = limites;
+		return new Iterator<ResultadoDaTarefa>() {
+			private int qtdPendentes = 0;
+
+			@Override
+			public boolean hasNext() {
+				while (qtdPendentes < maxPendentes && tarefas.hasNext()) {
+					concluidas.submit(executar(tarefas.next(), limitesDoLote));
+					qtdPendentes++;
+				}
+				return qtdPendentes > 0;
+			}
+
+			@Override
+			public ResultadoDaTarefa next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				try {
+					ResultadoDaTarefa resultado = concluidas.take().get();
+					qtdPendentes--;
+					return resultado;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrompido enquanto aguardava o resultado de uma busca", e);
+				} catch (ExecutionException e) {
+					// as falhas das buscas j so capturadas na prpria tarefa
+					qtdPendentes--;
+					throw new IllegalStateException(e.getCause());
+				}
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Encerra as threads do resolvedor aps a concluso das tarefas submetidas.
+	 */
+	public void encerrar() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Monta a execuo de uma tarefa: cria a estratgia, realiza a busca e
+	 * captura qualquer exceo no prprio resultado, para que a falha de uma
+	 * tarefa no interrompa o lote.
+	 */
+	private static Callable<ResultadoDaTarefa> executar(final TarefaDeBusca tarefa, final LimitesDeBusca limites) {
+		return new Callable<ResultadoDaTarefa>() {
+			@Override
+			public ResultadoDaTarefa call() {
+				EstrategiaDeBusca busca = null;
+				try {
+					busca = tarefa.getFabrica().criar();
+					Estado<?> inicio = tarefa.getInicio();
+					busca.setInicio((inicio instanceof Reversivel) ? ((Reversivel) inicio).copiar() : inicio);
+					busca.setObjetivo(tarefa.getMeta());
+					busca.setLimites(limites);
+					busca.buscar();
+					return new ResultadoDaTarefa(tarefa, busca, null);
+				} catch (RuntimeException e) {
+					return new ResultadoDaTarefa(tarefa, busca, e);
+				} catch (OutOfMemoryError e) {
+					// a instncia  descartada para liberar as estruturas da busca
+					return new ResultadoDaTarefa(tarefa, null, e);
+				}
+			}
+		};
+	}
+
+}
@@ -0,0 +1,32 @@
+package estrategiasDeBusca;
+
+/**
+ * Situao em que uma busca foi encerrada.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public enum ResultadoDaBusca {
+
+	/** A meta foi alcanada e o caminho da soluo est disponvel. */
+	SOLUCAO_ENCONTRADA,
+
+	/** Todo o espao alcanvel foi explorado sem que a meta fosse encontrada. */
+	SEM_SOLUCAO,
+
+	/** A meta  comprovadamente inalcanvel a partir do estado inicial (verificado antes da busca). */
+	INSOLUVEL,
+
+	/** A busca atingiu a quantidade mxima de nodos expandidos. */
+	LIMITE_DE_NODOS_EXCEDIDO,
+
+	/** A fronteira (lista de abertos) ultrapassou o tamanho mximo permitido. */
+	LIMITE_DE_FRONTEIRA_EXCEDIDO,
+
+	/** O tempo mximo estipulado para a busca se esgotou. */
+	PRAZO_ESGOTADO,
+
+	/** A busca foi cancelada atravs de um SinalDeCancelamento. */
+	CANCELADA
+
+}
@@ -0,0 +1,81 @@
+package estrategiasDeBusca;
+
+import java.util.Collections;
+import java.util.List;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Resultado de uma TarefaDeBusca executada pelo ResolvedorEmLote. Rene a
+ * tarefa, a instncia da estratgia que a executou (com o caminho e as
+ * estatsticas da busca) ou o erro que impediu a sua concluso.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class ResultadoDaTarefa {
+
+	private final TarefaDeBusca tarefa;
+	private final EstrategiaDeBusca busca;
+	private final Throwable erro;
+
+	ResultadoDaTarefa(TarefaDeBusca tarefa, EstrategiaDeBusca busca, Throwable erro) {
+		this.tarefa = tarefa;
+		this.busca = busca;
+		this.erro = erro;
+	}
+
+	public TarefaDeBusca getTarefa() {
+		return tarefa;
+	}
+
+	/**
+	 * Recupera a instncia da estratgia que executou a tarefa.
+	 * @return estratgia utilizada ou null, caso no tenha sido possvel cri-la
+	 */
+	public EstrategiaDeBusca getBusca() {
+		return busca;
+	}
+
+	/**
+	 * Recupera a exceo lanada durante a execuo da tarefa.
+	 * @return erro ocorrido ou null, caso a busca tenha sido concluda
+	 */
+	public Throwable getErro() {
+		return erro;
+	}
+
+	/**
+	 * Recupera a situao em que a busca foi encerrada.
+	 * @return resultado da busca ou null, caso tenha ocorrido um erro
+	 */
+	public ResultadoDaBusca getResultado() {
+		return (erro == null) ? busca.getResultado() : null;
+	}
+
+	/**
+	 * Recupera o caminho da soluo encontrada.
+	 * @return caminho da soluo (vazio se no houver soluo ou em caso de erro)
+	 */
+	public List<Estado<?>> getCaminhoSolucao() {
+		if (erro != null)
+			return Collections.emptyList();
+		return busca.getCaminhoSolucao();
+	}
+
+	/**
+	 * Recupera as estatsticas da busca.
+	 * @return estatsticas ou null, caso no tenha sido possvel criar a estratgia
+	 */
+	public EstatisticasDeBusca getEstatisticas() {
+		return (busca == null) ? null : busca.getEstatisticas();
+	}
+
+	@Override
+	public String toString() {
+		if (erro != null)
+			return tarefa + ": " + erro;
+		return tarefa + ": " + busca.getResultado() + " (" + busca.getEstatisticas() + ")";
+	}
+
+}
@@ -0,0 +1,53 @@
+package estrategiasDeBusca;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Controle de repetidos nulo, que aceita todos os estados gerados. Reproduz o
+ * comportamento clssico das estratgias de busca em rvore, sem qualquer
+ * memria dos estados j visitados.
+ * 
+ * @author Leandro C. Fernandes
+ *
+ */
+public class SemControleDeRepetidos implements ControleDeRepetidos {
+
+	private int qtdRegistrados = 0;
+
+	@Override
+	public boolean registrar(Estado<?> estado) {
+		qtdRegistrados++;
+		return true;
+	}
+
+	@Override
+	public boolean registrarMutavel(Estado<?> estado) {
+		return registrar(estado);
+	}
+
+	@Override
+	public boolean contem(Estado<?> estado) {
+		return false;
+	}
+
+	@Override
+	public void limpar() {
+		qtdRegistrados = 0;
+	}
+
+	@Override
+	public int getQtdRegistrados() {
+		return qtdRegistrados;
+	}
+
+	@Override
+	public long getQtdDescartados() {
+		return 0;
+	}
+
+	@Override
+	public long getQtdReaberturas() {
+		return 0;
+	}
+
+}
@@ -0,0 +1,30 @@
+package estrategiasDeBusca;
+
+/**
+ * Sinal que permite cancelar, a partir de outra thread, uma busca em andamento.
+ * A busca consulta o sinal a cada expanso, com o custo de uma leitura voltil,
+ * e  encerrada com o resultado CANCELADA assim que ele for acionado. Um mesmo
+ * sinal pode ser compartilhado por vrias buscas, cancelando todas de uma vez.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class SinalDeCancelamento {
+
+	private volatile boolean cancelado = false;
+
+	/**
+	 * Solicita o cancelamento das buscas que utilizam este sinal.
+	 */
+	public void cancelar() {
+		cancelado = true;
+	}
+
+	/**
+	 * Indica se o cancelamento foi solicitado.
+	 */
+	public boolean isCancelado() {
+		return cancelado;
+	}
+
+}
@@ -0,0 +1,55 @@
+package estrategiasDeBusca;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Descreve uma busca a ser executada pelo ResolvedorEmLote: o estado inicial,
+ * o estado meta e a estratgia que deve ser utilizada, alm de um rtulo livre
+ * que permite relacionar o resultado ao pedido que o originou.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class TarefaDeBusca {
+
+	private final Object rotulo;
+	private final Estado<?> inicio;
+	private final Estado<?> meta;
+	private final FabricaDeBusca fabrica;
+
+	/**
+	 * Cria uma tarefa de busca.
+	 * @param rotulo identificao da tarefa, devolvida junto ao resultado
+	 * @param inicio estado inicial da busca
+	 * @param meta estado que contm os objetivos da busca
+	 * @param fabrica cria a instncia da estratgia que executar a busca
+	 */
+	public TarefaDeBusca(Object rotulo, Estado<?> inicio, Estado<?> meta, FabricaDeBusca fabrica) {
+		this.rotulo = rotulo;
+		this.inicio = inicio;
+		this.meta = meta;
+		this.fabrica = fabrica;
+	}
+
+	public Object getRotulo() {
+		return rotulo;
+	}
+
+	public Estado<?> getInicio() {
+		return inicio;
+	}
+
+	public Estado<?> getMeta() {
+		return meta;
+	}
+
+	public FabricaDeBusca getFabrica() {
+		return fabrica;
+	}
+
+	@Override
+	public String toString() {
+		return String.valueOf(rotulo);
+	}
+
+}
@@ -0,0 +1,74 @@
+package estrategiasDeBusca.adversaria;
+
+import java.util.Random;
+
+import espacoDeEstados.EstadoDeJogo;
+
+/**
+ * Gera as chaves de Zobrist das posies de um jogo: cada combinao de
+ * posio e pea recebe um nmero aleatrio de 64 bits e a chave de uma posio
+ *  o ou-exclusivo dos nmeros das peas presentes no tabuleiro, combinado com o
+ * nmero do jogador da vez. Posies distintas colidem com probabilidade
+ * desprezvel, o que permite utilizar a chave no lugar do estado na tabela de
+ * transposio.
+ *
+ * Os nmeros so gerados a partir de uma semente fixa, de modo que as chaves
+ * so as mesmas em todas as execues.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class ChavesZobrist {
+
+	private static final long SEMENTE = 0x5DEECE66DL;
+
+	private final long[][] numeros;	// nmero de cada pea em cada posio
+	private final long segundoJogador;	// combinado  chave quando a vez  do segundo jogador
+
+	/**
+	 * Cria as chaves para um tabuleiro com a quantidade de posies e de peas
+	 * informadas.
+	 * @param qtdPosicoes quantidade de posies do tabuleiro
+	 * @param qtdPecas quantidade de tipos de pea (sem contar a posio vazia)
+	 */
+	public ChavesZobrist(int qtdPosicoes, int qtdPecas) {
+		Random aleatorio = new Random(SEMENTE);
+		numeros = new long[qtdPosicoes][qtdPecas + 1];
+		for (int pos = 0; pos < qtdPosicoes; pos++)
+			for (int peca = 1; peca <= qtdPecas; peca++)
+				numeros[pos][peca] = aleatorio.nextLong();
+		segundoJogador = aleatorio.nextLong();
+	}
+
+	/**
+	 * Calcula a chave de uma posio do jogo.
+	 * @param posicao posio a ser identificada
+	 * @return chave de 64 bits da posio
+	 */
+	public long calcular(EstadoDeJogo posicao) {
+		long chave = (posicao.getVez() == 0) ? 0L : segundoJogador;
+		for (int pos = 0; pos < numeros.length; pos++)
+			chave ^= numeros[pos][posicao.getPeca(pos)];
+		return chave;
+	}
+
+	/**
+	 * Nmero que representa uma pea numa posio, permitindo atualizar a chave
+	 * de forma incremental quando a jogada  conhecida.
+	 */
+	public long getNumero(int posicao, int peca) {
+		return numeros[posicao][peca];
+	}
+
+	/**
+	 * Nmero que representa a troca do jogador da vez.
+	 */
+	public long getNumeroDaVez() {
+		return segundoJogador;
+	}
+
+	public int getQtdPosicoes() {
+		return numeros.length;
+	}
+
+}
@@ -0,0 +1,312 @@
+package estrategiasDeBusca.adversaria;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import espacoDeEstados.Estado;
+import espacoDeEstados.EstadoDeJogo;
+import espacoDeEstados.Simetrico;
+import estrategiasDeBusca.EstatisticasDeBusca;
+import estrategiasDeBusca.OuvinteDeBusca;
+import estrategiasDeBusca.ResultadoDaBusca;
+
+/**
+ * Busca adversria para jogos de dois jogadores (ver EstadoDeJogo), na forma
+ * Negamax do Minimax: o valor de uma posio para o jogador da vez  o maior
+ * dentre os simtricos dos valores dos seus sucessores, avaliados do ponto de
+ * vista do adversrio. A rvore de jogo  expandida por getSucessores() e a
+ * busca emprega:
+ *
+ *  - poda alfa-beta, que descarta as jogadas que no podem alterar o valor da
+ *    posio em relao a janela [alfa, beta];
+ *  - ordenao das jogadas, explorando primeiro a melhor jogada registrada na
+ *    tabela de transposio e, em seguida, os sucessores de menor utilidade
+ *    para o adversrio, o que antecipa os cortes;
+ *  - tabela de transposio indexada por chaves de Zobrist, que evita avaliar
+ *    novamente posies alcanadas por diferentes sequncias de jogadas;
+ *  - opcionalmente (setUsarSimetrias), a substituio de cada posio pelo seu
+ *    representante cannico (ver Simetrico), de modo que posies simtricas
+ *    compartilhem a mesma entrada da tabela.
+ *
+ * A tabela  mantida entre as chamadas, de modo que consultas sucessivas sobre
+ * a mesma partida aproveitam as posies j avaliadas.
+ *
+ * Ex: Negamax negamax = new Negamax();
+ *     Estado<?> jogada = negamax.escolherJogada(partida);
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class Negamax {
+
+	public static final int ILIMITADA = 0xFFFF;	// profundidade suficiente para alcanar as posies terminais
+
+	private static final int INFINITO = 1 << 30;
+
+	private String nomeDaEstrategia;
+	private int profundidadeMaxima;
+	private TabelaDeTransposicao tabela;
+	private ChavesZobrist zobrist;
+	private EstatisticasDeBusca estatisticas;
+	private boolean usarSimetrias;		// explora o representante cannico de cada posio
+	private Estado<?> raiz;				// posio da consulta corrente
+	private Estado<?> melhorJogada;		// sucessor da raiz escolhido pela ltima consulta
+	private int valor;					// valor da raiz na ltima consulta
+
+	/**
+	 * Cria a busca sem limite de profundidade, que avalia as posies at o
+	 * trmino da partida.
+	 */
+	public Negamax() {
+		this(ILIMITADA);
+	}
+
+	/**
+	 * Cria a busca limitada a profundidade informada. As posies no terminais
+	 * que atingem o limite so avaliadas pela estimativa de getUtilidade().
+	 * @param profundidadeMaxima quantidade mxima de jogadas a partir da raiz
+	 */
+	public Negamax(int profundidadeMaxima) {
+		this.nomeDaEstrategia = "Negamax com poda alfa-beta";
+		this.profundidadeMaxima = Math.min(profundidadeMaxima, ILIMITADA);
+		this.tabela = new TabelaDeTransposicao();
+		this.estatisticas = new EstatisticasDeBusca();
+	}
+
+	public String getNomeDaEstrategia() {
+		return nomeDaEstrategia;
+	}
+
+	public int getProfundidadeMaxima() {
+		return profundidadeMaxima;
+	}
+
+	public void setProfundidadeMaxima(int profundidadeMaxima) {
+		this.profundidadeMaxima = Math.min(profundidadeMaxima, ILIMITADA);
+	}
+
+	/**
+	 * Define a tabela de transposio utilizada pela busca.
+	 * @param tabela tabela compartilhada pelas consultas desta instncia
+	 */
+	public void setTabelaDeTransposicao(TabelaDeTransposicao tabela) {
+		this.tabela = tabela;
+	}
+
+	public TabelaDeTransposicao getTabelaDeTransposicao() {
+		return tabela;
+	}
+
+	/**
+	 * Define as chaves de Zobrist utilizadas para indexar a tabela. Caso no
+	 * sejam informadas, so criadas na primeira consulta para tabuleiros com
+	 * duas peas (uma por jogador).
+	 * @param zobrist chaves compatveis com o tabuleiro do jogo
+	 */
+	public void setChavesZobrist(ChavesZobrist zobrist) {
+		this.zobrist = zobrist;
+	}
+
+	/**
+	 * Define se as posies que implementam Simetrico devem ser substitudas
+	 * pelo seu representante cannico antes da consulta a tabela e da
+	 * expanso. Como posies simtricas possuem o mesmo valor, o resultado no
+	 * se altera, mas a quantidade de posies avaliadas e armazenadas diminui.
+	 * A jogada escolhida e a variao principal so sempre devolvidas na
+	 * orientao da posio consultada.
+	 * @param usarSimetrias true para explorar apenas os representantes cannicos
+	 */
+	public void setUsarSimetrias(boolean usarSimetrias) {
+		this.usarSimetrias = usarSimetrias;
+	}
+
+	public boolean isUsarSimetrias() {
+		return usarSimetrias;
+	}
+
+	/**
+	 * Recupera as estatsticas da ltima consulta: posies expandidas e
+	 * geradas, e transposies aproveitadas (contadas como duplicados).
+	 */
+	public EstatisticasDeBusca getEstatisticas() {
+		return estatisticas;
+	}
+
+	/**
+	 * Registra um ouvinte para acompanhar o progresso das consultas.
+	 * @param ouvinte objeto notificado periodicamente (null desativa as notificaes)
+	 * @param intervalo quantidade de posies expandidas entre duas notificaes
+	 */
+	public void setOuvinteDeBusca(OuvinteDeBusca ouvinte, long intervalo) {
+		estatisticas.setOuvinte(ouvinte, intervalo);
+	}
+
+	/**
+	 * Escolhe a melhor jogada para o jogador da vez.
+	 * @param posicao posio corrente da partida (deve implementar EstadoDeJogo)
+	 * @return sucessor correspondente a melhor jogada ou null, caso a partida
+	 * j tenha terminado
+	 */
+	public Estado<?> escolherJogada(Estado<?> posicao) {
+		avaliar(posicao);
+		return melhorJogada;
+	}
+
+	/**
+	 * Calcula o valor de uma posio para o jogador da vez.
+	 * @param posicao posio a ser avaliada (deve implementar EstadoDeJogo)
+	 * @return valor exato (ou estimado, se limitado pela profundidade) da posio
+	 */
+	public int avaliar(Estado<?> posicao) {
+		EstadoDeJogo jogo = (EstadoDeJogo) posicao;
+		if (zobrist == null || zobrist.getQtdPosicoes() != jogo.getQtdPosicoes())
+			zobrist = new ChavesZobrist(jogo.getQtdPosicoes(), 2);
+		estatisticas.iniciar(nomeDaEstrategia);
+		raiz = posicao;
+		melhorJogada = null;
+		valor = explorar(posicao, profundidadeMaxima, -INFINITO, INFINITO);
+		raiz = null;
+		estatisticas.encerrarExploracao();
+		estatisticas.concluir(getVariacaoPrincipal(), ResultadoDaBusca.SOLUCAO_ENCONTRADA);
+		return valor;
+	}
+
+	/**
+	 * Recupera o valor da raiz calculado pela ltima consulta.
+	 */
+	public int getValor() {
+		return valor;
+	}
+
+	/**
+	 * Recupera a sequncia de jogadas esperada a partir da jogada escolhida na
+	 * ltima consulta, seguindo as melhores jogadas registradas na tabela de
+	 * transposio enquanto a partida no terminar.
+	 * @return lista iniciada pela posio consultada (vazia se j terminada)
+	 */
+	public List<Estado<?>> getVariacaoPrincipal() {
+		List<Estado<?>> variacao = new ArrayList<Estado<?>>();
+		if (melhorJogada == null)
+			return variacao;
+		variacao.add(melhorJogada.getAncestral());
+		Estado<?> corrente = melhorJogada;
+		while (corrente != null) {
+			variacao.add(corrente);
+			if (((EstadoDeJogo) corrente).isTerminal() || variacao.size() > profundidadeMaxima)
+				break;
+			// a jogada registrada se refere a posio explorada, que pode ser o representante cannico
+			int simetria = getSimetria(corrente);
+			Estado<?> explorado = (simetria == 0) ? corrente : ((Simetrico) corrente).transformar(simetria);
+			int indice = tabela.localizar(zobrist.calcular((EstadoDeJogo) explorado));
+			if (indice < 0 || tabela.getJogada(indice) == TabelaDeTransposicao.SEM_JOGADA)
+				break;
+			Estado<?> proximo = (Estado<?>) explorado.getSucessores().get(tabela.getJogada(indice));
+			if (simetria != 0) {
+				Simetrico s = (Simetrico) proximo;
+				proximo = s.transformar(s.getSimetriaInversa(simetria));
+			}
+			proximo.setAncestral(corrente);
+			proximo.setNivel(corrente.getNivel() + 1);
+			corrente = proximo;
+		}
+		return variacao;
+	}
+
+	/**
+	 * Avalia uma posio com a janela [alfa, beta]: valores fora dela indicam
+	 * apenas um limite do valor real, o que  registrado na tabela.
+	 */
+	private int explorar(Estado<?> estado, int profundidade, int alfa, int beta) {
+		EstadoDeJogo jogo = (EstadoDeJogo) estado;
+		if (profundidade == 0 || jogo.isTerminal())
+			return jogo.getUtilidade();
+		// na raiz a orientao original  mantida, pois a jogada escolhida deve ser um de seus sucessores
+		if (estado != raiz) {
+			int simetria = getSimetria(estado);
+			if (simetria != 0) {
+				estado = ((Simetrico) estado).transformar(simetria);
+				jogo = (EstadoDeJogo) estado;
+			}
+		}
+		long chave = zobrist.calcular(jogo);
+		int melhorIndice = TabelaDeTransposicao.SEM_JOGADA;
+		int entrada = tabela.localizar(chave);
+		if (entrada >= 0) {
+			melhorIndice = tabela.getJogada(entrada);
+			// na raiz a tabela serve apenas para ordenar, pois  preciso identificar a jogada
+			if (estado != raiz && tabela.getProfundidade(entrada) >= profundidade) {
+				int v = tabela.getValor(entrada);
+				int tipo = tabela.getTipo(entrada);
+				if (tipo == TabelaDeTransposicao.EXATO
+						|| (tipo == TabelaDeTransposicao.LIMITE_INFERIOR && v >= beta)
+						|| (tipo == TabelaDeTransposicao.LIMITE_SUPERIOR && v <= alfa)) {
+					estatisticas.descartado();
+					return v;
+				}
+			}
+		}
+
+		List<?> sucessores = estado.getSucessores();
+		int qtd = sucessores.size();
+		estatisticas.expandido(qtd, 0);
+		int[] ordem = ordenar(sucessores, melhorIndice);
+
+		// sem limite, todas as posies so avaliadas at o fim e a profundidade
+		// restante no diminui, o que permite reaproveit-las em qualquer consulta
+		int proxima = (profundidade == ILIMITADA) ? ILIMITADA : profundidade - 1;
+		int alfaOriginal = alfa;
+		int melhor = -INFINITO;
+		for (int i = 0; i < qtd; i++) {
+			Estado<?> sucessor = (Estado<?>) sucessores.get(ordem[i]);
+			int v = -explorar(sucessor, proxima, -beta, -alfa);
+			if (v > melhor) {
+				melhor = v;
+				melhorIndice = ordem[i];
+				if (estado == raiz)
+					melhorJogada = sucessor;
+			}
+			if (melhor > alfa)
+				alfa = melhor;
+			if (alfa >= beta)
+				break;
+		}
+
+		int tipo = (melhor <= alfaOriginal) ? TabelaDeTransposicao.LIMITE_SUPERIOR
+				: (melhor >= beta) ? TabelaDeTransposicao.LIMITE_INFERIOR : TabelaDeTransposicao.EXATO;
+		tabela.armazenar(chave, melhor, profundidade, tipo, melhorIndice);
+		return melhor;
+	}
+
+	/**
+	 * Simetria que leva a posio ao representante cannico que ser explorado
+	 * no seu lugar (0 quando as simetrias no so utilizadas).
+	 */
+	private int getSimetria(Estado<?> estado) {
+		return (usarSimetrias && estado instanceof Simetrico) ? ((Simetrico) estado).getSimetriaCanonica() : 0;
+	}
+
+	/**
+	 * Define a ordem de explorao dos sucessores: primeiro a jogada indicada
+	 * pela tabela e depois os de menor utilidade para o adversrio.
+	 * @return ndices dos sucessores na ordem em que devem ser explorados
+	 */
+	private static int[] ordenar(List<?> sucessores, int melhorIndice) {
+		int qtd = sucessores.size();
+		int[] ordem = new int[qtd];
+		int[] chaves = new int[qtd];
+		for (int i = 0; i < qtd; i++) {
+			int chave = (i == melhorIndice) ? -INFINITO : ((EstadoDeJogo) sucessores.get(i)).getUtilidade();
+			// ordenao por insero, estvel para sucessores de mesma utilidade
+			int j = i - 1;
+			while (j >= 0 && chaves[j] > chave) {
+				ordem[j + 1] = ordem[j];
+				chaves[j + 1] = chaves[j];
+				j--;
+			}
+			ordem[j + 1] = i;
+			chaves[j + 1] = chave;
+		}
+		return ordem;
+	}
+
+}
@@ -0,0 +1,130 @@
+package estrategiasDeBusca.adversaria;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de transposio da busca adversria: guarda, indexado pela chave de
+ * Zobrist da posio, o valor calculado para ela, a profundidade restante da
+ * busca que o calculou, o tipo desse valor (exato ou limite imposto pela poda
+ * alfa-beta) e a melhor jogada encontrada. Assim, uma posio alcanada por
+ * diferentes sequncias de jogadas  avaliada uma nica vez.
+ *
+ * As entradas ficam em dois vetores de long com endereamento direto (sem
+ * listas de coliso): quando duas posies disputam a mesma entrada, permanece
+ * a que foi calculada com maior profundidade restante.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class TabelaDeTransposicao {
+
+	public static final int EXATO = 0;
+	public static final int LIMITE_INFERIOR = 1;	// o valor real  maior ou igual (corte beta)
+	public static final int LIMITE_SUPERIOR = 2;	// o valor real  menor ou igual (nenhuma jogada superou alfa)
+
+	public static final int SEM_JOGADA = 0xFF;
+
+	private final long[] chaves;
+	private final long[] dados;	// valor (32 bits), profundidade (16), jogada (8) e tipo + 1 (8)
+	private final int mascara;
+	private long qtdConsultas;
+	private long qtdAcertos;
+
+	/**
+	 * Cria uma tabela com 65.536 entradas.
+	 */
+	public TabelaDeTransposicao() {
+		this(1 << 16);
+	}
+
+	/**
+	 * Cria uma tabela com capacidade para a quantidade de entradas informada,
+	 * arredondada para a potncia de 2 seguinte.
+	 * @param capacidade quantidade mnima de entradas
+	 */
+	public TabelaDeTransposicao(int capacidade) {
+		int tamanho = Integer.highestOneBit(Math.max(2, capacidade - 1)) << 1;
+		chaves = new long[tamanho];
+		dados = new long[tamanho];
+		mascara = tamanho - 1;
+	}
+
+	/**
+	 * Descarta todas as entradas da tabela.
+	 */
+	public void limpar() {
+		Arrays.fill(dados, 0L);
+		qtdConsultas = 0;
+		qtdAcertos = 0;
+	}
+
+	/**
+	 * Procura a entrada correspondente a uma posio.
+	 * @param chave chave de Zobrist da posio
+	 * @return ndice da entrada ou -1, caso a posio no esteja na tabela
+	 */
+	public int localizar(long chave) {
+		int indice = indice(chave);
+		qtdConsultas++;
+		if (dados[indice] == 0L || chaves[indice] != chave)
+			return -1;
+		qtdAcertos++;
+		return indice;
+	}
+
+	/**
+	 * Registra o resultado da avaliao de uma posio.
+	 * @param chave chave de Zobrist da posio
+	 * @param valor valor calculado para o jogador da vez
+	 * @param profundidade profundidade restante da busca que calculou o valor
+	 * @param tipo EXATO, LIMITE_INFERIOR ou LIMITE_SUPERIOR
+	 * @param jogada ndice do melhor sucessor (SEM_JOGADA se no houver)
+	 */
+	public void armazenar(long chave, int valor, int profundidade, int tipo, int jogada) {
+		int indice = indice(chave);
+		profundidade = Math.min(profundidade, 0xFFFF);
+		if (dados[indice] != 0L && chaves[indice] != chave && getProfundidade(indice) > profundidade)
+			return;
+		chaves[indice] = chave;
+		dados[indice] = ((long) valor << 32) | ((long) profundidade << 16) | ((jogada & 0xFF) << 8) | (tipo + 1);
+	}
+
+	public int getValor(int indice) {
+		return (int) (dados[indice] >> 32);
+	}
+
+	public int getProfundidade(int indice) {
+		return (int) ((dados[indice] >>> 16) & 0xFFFF);
+	}
+
+	public int getJogada(int indice) {
+		return (int) ((dados[indice] >>> 8) & 0xFF);
+	}
+
+	public int getTipo(int indice) {
+		return (int) (dados[indice] & 0xFF) - 1;
+	}
+
+	public int getCapacidade() {
+		return chaves.length;
+	}
+
+	/**
+	 * Quantidade de consultas realizadas desde a ltima limpeza.
+	 */
+	public long getQtdConsultas() {
+		return qtdConsultas;
+	}
+
+	/**
+	 * Quantidade de consultas que encontraram a posio na tabela.
+	 */
+	public long getQtdAcertos() {
+		return qtdAcertos;
+	}
+
+	private int indice(long chave) {
+		return (int) (chave ^ (chave >>> 32)) & mascara;
+	}
+
+}
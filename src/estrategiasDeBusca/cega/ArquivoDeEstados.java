@@ -0,0 +1,130 @@
+package estrategiasDeBusca.cega;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Arquivo com uma sequncia de cdigos de estados (ver Codificavel), utilizado
+ * pela busca em largura em memria externa para manter em disco os nveis e os
+ * trechos ordenados de sucessores. Os cdigos so gravados sequencialmente e,
+ * depois de fechado o arquivo, lidos atravs de mapeamentos em memria de
+ * tamanho limitado (janelas), de modo que arquivos maiores que a memria
+ * disponvel podem ser percorridos ou consultados sem ocupar o heap.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+class ArquivoDeEstados {
+
+	static final int BYTES_POR_ESTADO = 8;
+	private static final int ESTADOS_POR_JANELA = 1 << 23;	// 64 MB mapeados por vez
+	private static final int TAMANHO_DO_BUFFER = 1 << 16;	// buffer de gravao
+
+	private final File arquivo;
+	private DataOutputStream saida;		// aberto somente durante a gravao
+	private long qtdEstados;
+	private MappedByteBuffer janela;	// trecho mapeado do arquivo
+	private long inicioDaJanela;		// ndice do primeiro estado da janela
+	private long fimDaJanela;			// ndice seguinte ao ltimo estado da janela
+
+	/**
+	 * Cria o arquivo, j pronto para receber os cdigos.
+	 * @param arquivo arquivo a ser criado (substitudo, caso j exista)
+	 */
+	ArquivoDeEstados(File arquivo) throws IOException {
+		this.arquivo = arquivo;
+		saida = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(arquivo), TAMANHO_DO_BUFFER));
+	}
+
+	/**
+	 * Acrescenta um cdigo ao final do arquivo.
+	 */
+	void gravar(long codigo) throws IOException {
+		saida.writeLong(codigo);
+		qtdEstados++;
+	}
+
+	/**
+	 * Acrescenta ao final do arquivo os cdigos de um trecho de um vetor.
+	 */
+	void gravar(long[] codigos, int inicio, int fim) throws IOException {
+		for (int i = inicio; i < fim; i++)
+			saida.writeLong(codigos[i]);
+		qtdEstados += fim - inicio;
+	}
+
+	/**
+	 * Encerra a gravao, liberando o arquivo para a leitura.
+	 */
+	void fechar() throws IOException {
+		if (saida != null) {
+			saida.close();
+			saida = null;
+		}
+		inicioDaJanela = fimDaJanela = 0;
+	}
+
+	long tamanho() {
+		return qtdEstados;
+	}
+
+	/**
+	 * Recupera o cdigo armazenado numa posio do arquivo, mapeando a janela
+	 * que a contm caso ainda no esteja mapeada. O acesso sequencial remapeia
+	 * o arquivo apenas uma vez a cada ESTADOS_POR_JANELA cdigos.
+	 * @param indice posio do cdigo (a partir de 0)
+	 */
+	long get(long indice) throws IOException {
+		if (indice < inicioDaJanela || indice >= fimDaJanela)
+			mapear(indice);
+		return janela.getLong((int) (indice - inicioDaJanela) * BYTES_POR_ESTADO);
+	}
+
+	/**
+	 * Verifica, por busca binria, se o cdigo est presente num arquivo
+	 * gravado em ordem crescente.
+	 */
+	boolean contem(long codigo) throws IOException {
+		long inicio = 0, fim = qtdEstados - 1;
+		while (inicio <= fim) {
+			long meio = (inicio + fim) >>> 1;
+			long valor = get(meio);
+			if (valor < codigo)
+				inicio = meio + 1;
+			else if (valor > codigo)
+				fim = meio - 1;
+			else
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Fecha e remove o arquivo do disco.
+	 */
+	void excluir() throws IOException {
+		fechar();
+		janela = null;
+		if (!arquivo.delete())
+			arquivo.deleteOnExit();	// alguns sistemas no removem arquivos ainda mapeados
+	}
+
+	private void mapear(long indice) throws IOException {
+		inicioDaJanela = indice - (indice % ESTADOS_POR_JANELA);
+		fimDaJanela = Math.min(qtdEstados, inicioDaJanela + ESTADOS_POR_JANELA);
+		RandomAccessFile raf = new RandomAccessFile(arquivo, "r");
+		try {
+			janela = raf.getChannel().map(FileChannel.MapMode.READ_ONLY,
+					inicioDaJanela * BYTES_POR_ESTADO, (fimDaJanela - inicioDaJanela) * BYTES_POR_ESTADO);
+		} finally {
+			raf.close();	// o mapeamento permanece vlido aps o fechamento do arquivo
+		}
+	}
+
+}
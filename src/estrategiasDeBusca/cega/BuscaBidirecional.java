@@ -0,0 +1,178 @@
+package estrategiasDeBusca.cega;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Esta classe implementa a estratgia de busca cega conhecida como "Busca
+ * Bidirecional", que executa simultaneamente duas buscas em largura: uma a
+ * partir do estado inicial e outra a partir do estado meta. A busca termina
+ * quando as duas fronteiras se encontram, o que  detectado atravs das tabelas
+ * hash de estados visitados de cada lado. Enquanto a busca em largura gera da
+ * ordem de b^d nodos, a bidirecional gera cerca de 2b^(d/2).
+ * 
+ * A estratgia pressupe que as aes sejam reversveis, isto , que os
+ * sucessores de um estado sejam tambm os seus predecessores (como no Puzzle-8),
+ * e que a meta seja um estado concreto, que possa ser expandido.
+ * 
+ * @author Leandro C. Fernandes
+ *
+ */
+public class BuscaBidirecional extends BuscaCega {
+	
+	private ArrayDeque<Estado<?>> fronteiraInicio;		// nodos abertos da busca a partir do incio
+	private ArrayDeque<Estado<?>> fronteiraMeta;		// nodos abertos da busca a partir da meta
+	private Map<Estado<?>, Estado<?>> visitadosInicio;	// estados alcanados a partir do incio
+	private Map<Estado<?>, Estado<?>> visitadosMeta;	// estados alcanados a partir da meta
+	
+	private Estado<?> encontroInicio;	// nodo de encontro na rvore do incio
+	private Estado<?> encontroMeta;		// nodo de encontro na rvore da meta
+	private int menorComprimento;		// comprimento do melhor caminho conhecido
+	private long qtdDescartados;		// estados repetidos descartados
+
+	/**
+	 * Construtor padro.
+	 */
+	public BuscaBidirecional() {
+		this(null,null);
+	}
+	
+	/**
+	 * Cria uma nova instncia de Busca Bidirecional e define os estados inicial
+	 * e objetivo para o processo.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 */
+	public BuscaBidirecional(Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		super(estadoInicial,estadoMeta);
+		nomeDaEstrategia = "Busca Bidirecional";
+		fronteiraInicio = new ArrayDeque<Estado<?>>();
+		fronteiraMeta = new ArrayDeque<Estado<?>>();
+		visitadosInicio = new HashMap<Estado<?>, Estado<?>>();
+		visitadosMeta = new HashMap<Estado<?>, Estado<?>>();
+	}
+	
+	/**
+	 * Recupera a quantidade de estados distintos alcanados pelas duas buscas.
+	 * @return nmero de estados visitados
+	 */
+	public int getQtdVisitados() {
+		return visitadosInicio.size() + visitadosMeta.size();
+	}
+	
+	/**
+	 * Recupera quantos estados foram descartados por j terem sido visitados.
+	 * @return nmero de duplicados eliminados
+	 */
+	public long getQtdDescartados() {
+		return qtdDescartados;
+	}
+	
+	/**
+	 * Implementa efetivamente a estratgia de busca, expandindo a cada passo um
+	 * nvel completo da fronteira de menor tamanho. Ao final do nvel em que as
+	 * buscas se encontram, o menor dos caminhos detectados  escolhido, o que
+	 * garante que a soluo tenha o menor nmero de passos possvel. O caminho 
+	 * ento armazenado no atributo caminho.
+	 */
+	@Override
+	public void buscar() {
+		iniciarBusca();
+		fronteiraInicio.clear();
+		fronteiraMeta.clear();
+		visitadosInicio.clear();
+		visitadosMeta.clear();
+		encontroInicio = encontroMeta = null;
+		menorComprimento = Integer.MAX_VALUE;
+		qtdDescartados = 0;
+		
+		visitadosInicio.put(eInicial, eInicial);
+		visitadosMeta.put(eObjetivo, eObjetivo);
+		if (eInicial.equals(eObjetivo)) {
+			encontroInicio = eInicial;
+			encontroMeta = eObjetivo;
+		}
+		fronteiraInicio.add(eInicial);
+		fronteiraMeta.add(eObjetivo);
+		
+		while (encontroInicio == null && !fronteiraInicio.isEmpty() && !fronteiraMeta.isEmpty() && dentroDosLimites()) {
+			if (fronteiraInicio.size() <= fronteiraMeta.size())
+				expandirNivel(fronteiraInicio, visitadosInicio, visitadosMeta, eInicial, eObjetivo, true);
+			else
+				expandirNivel(fronteiraMeta, visitadosMeta, visitadosInicio, eObjetivo, eInicial, false);
+		}
+		
+		// Se as buscas se encontraram ...
+		estatisticas.encerrarExploracao();
+		if (encontroInicio != null && !isInterrompida())
+			unirCaminhos();
+		concluirBusca();
+	}
+	
+	/**
+	 * Expande todos os nodos de um nvel de uma das fronteiras, registrando os
+	 * pontos em que ela toca a fronteira oposta.
+	 */
+	@SuppressWarnings("unchecked")
+	private void expandirNivel(ArrayDeque<Estado<?>> fronteira, Map<Estado<?>, Estado<?>> visitados,
+			Map<Estado<?>, Estado<?>> visitadosOpostos, Estado<?> raiz, Estado<?> raizOposta, boolean ladoInicio) {
+		int qtd = fronteira.size();
+		for (int i = 0; i < qtd && dentroDosLimites(); i++) {
+			Estado<?> eCorrente = fronteira.poll();
+			List<Estado<?>> eSucessores = (List<Estado<?>>) eCorrente.getSucessores();
+			for (Estado<?> estado : eSucessores) {
+				if (visitados.containsKey(estado)) {
+					qtdDescartados++;
+					estatisticas.descartado();
+					continue;
+				}
+				visitados.put(estado, estado);
+				Estado<?> oposto = visitadosOpostos.get(estado);
+				if (oposto != null) {
+					int comprimento = (estado.getNivel() - raiz.getNivel()) + (oposto.getNivel() - raizOposta.getNivel());
+					if (comprimento < menorComprimento) {
+						menorComprimento = comprimento;
+						encontroInicio = ladoInicio ? estado : oposto;
+						encontroMeta = ladoInicio ? oposto : estado;
+					}
+				}
+				fronteira.add(estado);
+			}
+			estatisticas.expandido(eSucessores.size(), fronteiraInicio.size() + fronteiraMeta.size());
+		}
+	}
+	
+	/**
+	 * Une as duas metades do caminho. A metade do incio  obtida seguindo os
+	 * ancestrais do nodo de encontro. A metade da meta  percorrida no sentido
+	 * inverso, gerando novamente cada passo a partir do nodo anterior, de modo
+	 * que todos os nodos do caminho tenham ancestral, nvel e custo coerentes
+	 * com a direo da soluo.
+	 */
+	@SuppressWarnings("unchecked")
+	private void unirCaminhos() {
+		Estado<?> eCorrente = encontroInicio;
+		caminho.add(eCorrente);
+		while (eCorrente.getAncestral() != null) {
+			eCorrente = eCorrente.getAncestral();
+			caminho.add(eCorrente);
+		}
+		Collections.reverse(caminho);
+		
+		eCorrente = encontroInicio;
+		for (Estado<?> passo = encontroMeta.getAncestral(); passo != null; passo = passo.getAncestral()) {
+			for (Estado<?> estado : (List<Estado<?>>) eCorrente.getSucessores())
+				if (estado.equals(passo)) {
+					eCorrente = estado;
+					break;
+				}
+			caminho.add(eCorrente);
+		}
+	}
+	
+}
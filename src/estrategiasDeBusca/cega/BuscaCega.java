@@ -1,9 +1,7 @@
 package estrategiasDeBusca.cega;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import espacoDeEstados.Estado;
+import estrategiasDeBusca.BuscaAbstrata;
 
 /**
  * Esta classe modela os aspectos fundamentais de uma estratgia de busca cega,
@@ -15,12 +13,7 @@ import espacoDeEstados.Estado;
  * @author Leandro Fernandes
  *
  */
-public abstract class BuscaCega {
-	
-	protected String nomeDaEstrategia;	// nome da estratgia de busca utilizada
-	protected Estado<?> eInicial;		// representa o estado inicial da busca
-	protected Estado<?> eObjetivo;		// representa um estado do problema que contenha os objetivos ou seja, em si mesmo, a meta para a busca.
-	protected List<Estado<?>> caminho; // contm o caminho da soluo desde a raiz (inicio) 
+public abstract class BuscaCega extends BuscaAbstrata {
 	
 	/**
 	 * Construtor padro.
@@ -30,60 +23,8 @@ public abstract class BuscaCega {
 	}
 	
 	public BuscaCega(Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		super(estadoInicial,estadoMeta);
 		this.nomeDaEstrategia = "Busca cega";
-		eInicial = estadoInicial;
-		eObjetivo = estadoMeta;
-		caminho = new ArrayList<Estado<?>>();
-	}
-
-	/**
-	 * Recupera o nome da estratgia de busca.
-	 * @return nome da estratgia de busca
-	 */
-	public String getNomeDaEstrategia() {
-		return nomeDaEstrategia;
-	}
-	
-	/**
-	 * Define o estado inicial da busca, isto , o ponto de partida do processo
-	 * @param estadoInicial um dos estados possveis do problema
-	 */
-	public void setInicio(Estado<?> estadoInicial) {
-		this.eInicial = estadoInicial;
-	}
-	
-	/**
-	 * Define o estado objetivo para o processo de busca, sendo por dado por um
-	 * estado que apresente os objetivos desejados ou que seja, em si mesmo, um
-	 * estado meta. 
-	 * @param estadoMeta um estado possvel do problema que atende os objetivos
-	 */
-	public void setObjetivo(Estado<?> estadoMeta) {
-		this.eObjetivo = estadoMeta;
-	}
-	
-	/**
-	 * Recupera o estado considerado como meta para a busca, aquele que contm
-	 * ou atende os objetivos estabelecidos para o processo de busca.
-	 * @return um estado soluo para o problema apresentado.
-	 */
-	public Estado<?> getObjetivo() {
-		return eObjetivo;
-	}
-	
-	/**
-	 * Mtodo que realiza a explorao do espao de busca, tomando como partida
-	 * o estado inicial e seguindo, estado aps estado, na construo do caminho
-	 * que leva a um estado soluo (objetivo).
-	 */
-	public abstract void buscar();
-	
-	/**
-	 * Recupera o caminho correspondente a soluo encontrada pela busca.
-	 * @return
-	 */
-	public List<Estado<?>> getCaminhoSolucao() {
-		return caminho;
 	}
 	
 }
\ No newline at end of file
@@ -1,11 +1,19 @@
 package estrategiasDeBusca.cega;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 
+import espacoDeEstados.Codificavel;
+import espacoDeEstados.Decodificavel;
 import espacoDeEstados.Estado;
+import espacoDeEstados.Reversivel;
+import estrategiasDeBusca.ArmazemDeNodos;
+import estrategiasDeBusca.ControleDeRepetidos;
+import estrategiasDeBusca.ControleDeRepetidosCompacto;
+import estrategiasDeBusca.ControleDeRepetidosHash;
 
 /**
  * Esta classe implementa uma estratgia de busca cega conhecida como "Busca em
@@ -13,12 +21,30 @@ import espacoDeEstados.Estado;
  * visitando primeiro os nodos no-expandidos da rvore de busca que se encontram
  * mais prximos da raiz.
  * 
+ * Quando o estado inicial  Decodificavel, oferece movimentos (no mximo
+ * ArmazemDeNodos.MAX_MOVIMENTOS por estado) e os repetidos so detectados
+ * apenas pelos cdigos (ver ControleDeRepetidosCompacto), os nodos so
+ * mantidos num ArmazemDeNodos em vez de objetos: como os nodos so inseridos
+ * na ordem em que so gerados, o prprio armazm faz o papel da fila e um nico
+ * estado  reaproveitado para expandir cada cdigo, de modo que nenhum objeto
+ *  criado por nodo. A soluo  descrita por um byte por movimento (ver
+ * getMovimentosDaSolucao) e convertida em estados apenas para formar o
+ * caminho. Nos demais casos a busca segue pelos sucessores de cada estado.
+ * 
+ * Enquanto nenhum controle de repetidos for definido explicitamente (ver
+ * setControleDeRepetidos), cada busca utiliza o controle compacto quando o
+ * estado inicial permite a explorao por cdigos e o controle por tabela
+ * hash nos demais casos. Um controle definido pelo usurio  sempre mantido.
+ * 
  * @author Leandro C. Fernandes
  *
  */
 public class BuscaEmLargura extends BuscaCega {
 	
 	private Queue<Estado<?>> eAbertos;
+	private ArmazemDeNodos armazem;			// nodos da explorao por cdigos
+	private byte[] movimentosDaSolucao;		// movimentos da ltima soluo encontrada
+	private boolean controlePadrao = true;	// o controle de repetidos no foi definido pelo usurio
 
 	/**
 	 * Construtor padro.
@@ -37,6 +63,47 @@ public class BuscaEmLargura extends BuscaCega {
 		super(estadoInicial,estadoMeta);
 		nomeDaEstrategia = "Busca em Largura";
 		eAbertos = new LinkedList<Estado<?>>();
+		armazem = new ArmazemDeNodos();
+	}
+	
+	/**
+	 * Define o controle de repetidos utilizado por todas as buscas seguintes,
+	 * substituindo a escolha automtica entre o controle compacto e o hash.
+	 * @param controle implementao do controle de repetidos (lista de fechados)
+	 */
+	@Override
+	public void setControleDeRepetidos(ControleDeRepetidos controle) {
+		super.setControleDeRepetidos(controle);
+		controlePadrao = false;
+	}
+	
+	/**
+	 * Recupera a soluo encontrada pela ltima busca na forma compacta: um
+	 * byte por movimento, indicando a sua posio na lista produzida por
+	 * Reversivel.getMovimentos() no estado em que foi aplicado (ver getCaminho).
+	 * @return movimentos desde o estado inicial ou null, caso no haja soluo
+	 *         ou a busca no tenha sido realizada sobre cdigos
+	 */
+	public byte[] getMovimentosDaSolucao() {
+		return movimentosDaSolucao;
+	}
+	
+	/**
+	 * Converte uma sequncia de movimentos na forma compacta (ver
+	 * getMovimentosDaSolucao) nos estados correspondentes, reproduzindo-os a
+	 * partir do estado inicial.
+	 * @param movimentos posies dos movimentos aplicados desde o estado inicial
+	 * @return estados do caminho, do estado inicial ao ltimo alcanado
+	 */
+	public List<Estado<?>> getCaminho(byte[] movimentos) {
+		List<Estado<?>> estados = new ArrayList<Estado<?>>(movimentos.length + 1);
+		Estado<?> eCorrente = reproduzirCaminho(traduzir(movimentos), movimentos.length);
+		for (int i = 0; i <= movimentos.length; i++) {
+			estados.add(eCorrente);
+			eCorrente = eCorrente.getAncestral();
+		}
+		Collections.reverse(estados);
+		return estados;
 	}
 	
 	/**
@@ -49,21 +116,84 @@ public class BuscaEmLargura extends BuscaCega {
 	@Override
 	public void buscar() {
 		Estado<?> eCorrente = eInicial;
-		while ((eCorrente != null) && (!eCorrente.equals(eObjetivo))) {
-			for (Estado<?> estado : (List<Estado<?>>) eCorrente.getSucessores())
-				eAbertos.add(estado);
+		boolean codificavel = eInicial instanceof Decodificavel && eInicial instanceof Reversivel
+				&& ((Reversivel) eInicial).getMaxMovimentos() <= ArmazemDeNodos.MAX_MOVIMENTOS;
+		if (controlePadrao && codificavel != (repetidos instanceof ControleDeRepetidosCompacto))
+			repetidos = codificavel ? new ControleDeRepetidosCompacto() : new ControleDeRepetidosHash();
+		boolean porCodigos = codificavel && repetidos instanceof ControleDeRepetidosCompacto;
+		iniciarBusca();
+		eAbertos.clear();
+		movimentosDaSolucao = null;
+		repetidos.registrar(eInicial);
+		if (porCodigos) {
+			encerrarBusca(explorarPorCodigos());
+			return;
+		}
+		while ((eCorrente != null) && (!eCorrente.equals(eObjetivo)) && dentroDosLimites()) {
+			List<Estado<?>> eSucessores = (List<Estado<?>>) eCorrente.getSucessores();
+			for (Estado<?> estado : eSucessores)
+				if (repetidos.registrar(estado))
+					eAbertos.add(estado);
+			estatisticas.expandido(eSucessores.size(), eAbertos.size());
 			eCorrente = eAbertos.poll();
 		}
-		// Se o lao foi encerrado por um estado vlido ...
-		if (eCorrente != null) {
-			// ento construmos o caminho da soluo (da folha at a raiz)
-			caminho.add(eCorrente);
-			while (eCorrente.getAncestral() != null) {
-				eCorrente = eCorrente.getAncestral();
-				caminho.add(eCorrente);
+		encerrarBusca(eCorrente);
+	}
+	
+	/**
+	 * Explorao em largura sobre os cdigos dos estados, mantidos no armazm
+	 * de nodos. Cada nodo retirado da fila  decodificado numa cpia mutvel do
+	 * estado inicial, cujos movimentos so aplicados apenas para submeter o
+	 * sucessor ao controle de repetidos e desfeitos em seguida. Como o controle
+	 * compacto guarda apenas os cdigos, nenhuma cpia do estado  criada. Os
+	 * nodos so visitados na mesma ordem da verso baseada em sucessores.
+	 * @return estado meta alcanado, com o caminho desde o estado inicial
+	 *         reconstrudo, ou null caso no haja soluo ou a busca tenha sido
+	 *         interrompida
+	 */
+	private Estado<?> explorarPorCodigos() {
+		Estado<?> eCorrente = ((Reversivel) eInicial).copiar();
+		Reversivel movel = (Reversivel) eCorrente;
+		int[] movimentos = new int[movel.getMaxMovimentos()];
+		armazem.limpar();
+		int nodo = armazem.adicionar(((Codificavel) eCorrente).getCodigo(), eCorrente.getCusto(),
+				ArmazemDeNodos.SEM_ANCESTRAL, ArmazemDeNodos.SEM_MOVIMENTO);
+		int proximo = 1;	// o armazm funciona como fila: os nodos seguintes aguardam expanso
+		while (!eCorrente.equals(eObjetivo) && dentroDosLimites()) {
+			int qtdMovimentos = movel.getMovimentos(movimentos);
+			for (int i = 0; i < qtdMovimentos; i++) {
+				movel.aplicar(movimentos[i]);
+				if (repetidos.registrarMutavel(eCorrente))
+					armazem.adicionar(((Codificavel) eCorrente).getCodigo(), eCorrente.getCusto(), nodo, (byte) i);
+				movel.desfazer(movimentos[i]);
 			}
-			Collections.reverse(caminho);
+			estatisticas.expandido(qtdMovimentos, armazem.getTamanho() - proximo);
+			if (proximo == armazem.getTamanho())
+				return null;
+			nodo = proximo++;
+			((Decodificavel) eCorrente).setCodigo(armazem.getCodigo(nodo));
+			eCorrente.setCusto(armazem.getCusto(nodo));
+		}
+		if (isInterrompida())
+			return null;
+		movimentosDaSolucao = armazem.getMovimentos(nodo);
+		return reproduzirCaminho(traduzir(movimentosDaSolucao), movimentosDaSolucao.length);
+	}
+	
+	/**
+	 * Traduz as posies dos movimentos para os prprios movimentos (ver
+	 * Reversivel.getMovimentos), percorrendo-os numa cpia do estado inicial.
+	 */
+	private int[] traduzir(byte[] posicoes) {
+		Reversivel movel = (Reversivel) ((Reversivel) eInicial).copiar();
+		int[] movimentos = new int[movel.getMaxMovimentos()];
+		int[] sequencia = new int[posicoes.length];
+		for (int i = 0; i < posicoes.length; i++) {
+			movel.getMovimentos(movimentos);
+			sequencia[i] = movimentos[posicoes[i]];
+			movel.aplicar(sequencia[i]);
 		}
+		return sequencia;
 	}
 	
 }
@@ -0,0 +1,419 @@
+package estrategiasDeBusca.cega;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import espacoDeEstados.Codificavel;
+import espacoDeEstados.Decodificavel;
+import espacoDeEstados.Estado;
+import espacoDeEstados.Reversivel;
+
+/**
+ * Esta classe implementa a "Busca em Largura" em memria externa, destinada a
+ * espaos de estados cujos nveis no cabem no heap. Cada nvel  mantido em
+ * disco como uma sequncia ordenada e sem repeties dos cdigos dos seus
+ * estados (ver Decodificavel), e um nico objeto  reaproveitado para expandir
+ * cada cdigo lido do arquivo.
+ *
+ * Os sucessores gerados so acumulados num buffer de tamanho fixo que, quando
+ * cheio,  ordenado e gravado como um trecho em disco. Concluda a expanso do
+ * nvel, os trechos so intercalados e os estados repetidos so eliminados de
+ * uma s vez (deteco atrasada de duplicados), comparando o resultado com os
+ * dois ltimos nveis: quando todo movimento possui um inverso, os sucessores
+ * de um nvel s podem pertencer ao nvel anterior, ao prprio nvel ou ao
+ * prximo. Caso contrrio, todos os nveis anteriores so consultados.
+ *
+ * Alm do buffer, a busca mantm no heap apenas um elemento por trecho durante
+ * a intercalao. O caminho at a meta  reconstrudo ao final, nvel a nvel,
+ * localizando nos arquivos um antecessor de cada estado do caminho.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class BuscaEmLarguraExterna extends BuscaCega {
+
+	public static final int CAPACIDADE_PADRAO = 1 << 20;	// estados no buffer de sucessores (8 MB)
+	public static final int CAPACIDADE_MINIMA = 16;
+
+	private File diretorio;					// onde os arquivos so criados (null = diretrio temporrio)
+	private int capacidadeDoBuffer;			// quantidade de sucessores mantidos no heap
+	private List<ArquivoDeEstados> niveis;	// nveis j concludos (null para os descartados)
+	private List<ArquivoDeEstados> trechos;	// trechos ordenados do prximo nvel
+	private List<Long> tamanhosDosNiveis;	// quantidade de estados em cada nvel
+	private Reversivel modelo;				// estado reaproveitado na expanso dos cdigos
+	private int[] movimentos;
+	private long[] buffer;
+	private int qtdNoBuffer;
+	private boolean movimentosInversiveis;	// todo movimento possui um inverso
+
+	/**
+	 * Construtor padro.
+	 */
+	public BuscaEmLarguraExterna() {
+		this(null,null);
+	}
+
+	/**
+	 * Cria uma nova instncia da Busca em Largura em memria externa, com os
+	 * arquivos no diretrio temporrio do sistema e o buffer padro.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca (null para
+	 *        enumerar todo o espao alcanvel)
+	 */
+	public BuscaEmLarguraExterna(Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		this(estadoInicial, estadoMeta, null, CAPACIDADE_PADRAO);
+	}
+
+	/**
+	 * Cria uma nova instncia da Busca em Largura em memria externa, definindo
+	 * onde os nveis sero gravados e quantos sucessores so mantidos no heap.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca (null para
+	 *        enumerar todo o espao alcanvel)
+	 * @param diretorio diretrio dos arquivos (null para o diretrio temporrio)
+	 * @param capacidadeDoBuffer quantidade de sucessores mantidos no heap
+	 */
+	public BuscaEmLarguraExterna(Estado<?> estadoInicial, Estado<?> estadoMeta, File diretorio, int capacidadeDoBuffer) {
+		super(estadoInicial,estadoMeta);
+		nomeDaEstrategia = "Busca em Largura em Memria Externa";
+		tamanhosDosNiveis = new ArrayList<Long>();
+		setDiretorio(diretorio);
+		setCapacidadeDoBuffer(capacidadeDoBuffer);
+	}
+
+	public File getDiretorio() {
+		return diretorio;
+	}
+
+	/**
+	 * Define o diretrio onde os nveis e os trechos sero gravados.
+	 * @param diretorio diretrio existente (null para o diretrio temporrio)
+	 */
+	public void setDiretorio(File diretorio) {
+		this.diretorio = diretorio;
+	}
+
+	public int getCapacidadeDoBuffer() {
+		return capacidadeDoBuffer;
+	}
+
+	/**
+	 * Define quantos sucessores so acumulados no heap antes de serem ordenados
+	 * e gravados em disco.
+	 * @param capacidadeDoBuffer quantidade de estados (ao menos CAPACIDADE_MINIMA)
+	 */
+	public void setCapacidadeDoBuffer(int capacidadeDoBuffer) {
+		if (capacidadeDoBuffer < CAPACIDADE_MINIMA)
+			throw new IllegalArgumentException("O buffer deve comportar ao menos " + CAPACIDADE_MINIMA + " estados");
+		this.capacidadeDoBuffer = capacidadeDoBuffer;
+	}
+
+	/**
+	 * Recupera a quantidade de estados de cada nvel explorado pela ltima
+	 * busca. Quando no h meta, corresponde a enumerao completa do espao
+	 * alcanvel a partir do estado inicial.
+	 * @return quantidade de estados a cada distncia do estado inicial
+	 */
+	public List<Long> getTamanhosDosNiveis() {
+		return tamanhosDosNiveis;
+	}
+
+	/**
+	 * Implementa efetivamente a estratgia de busca, expandindo em sequncia os
+	 * cdigos de cada nvel gravado em disco at que a meta seja gerada ou que
+	 * o prximo nvel fique vazio. O estado inicial deve ser Decodificavel e
+	 * oferecer a interface de movimentos. Ao trmino, o caminho correspondente
+	 * a soluo encontra-se armazenado no atributo caminho e os arquivos
+	 * criados foram removidos.
+	 */
+	@Override
+	public void buscar() {
+		iniciarBusca();
+		tamanhosDosNiveis.clear();
+		if (isInterrompida()) {
+			encerrarBusca(null);
+			return;
+		}
+		if (!(eInicial instanceof Decodificavel) || !(eInicial instanceof Reversivel))
+			throw new IllegalArgumentException("A busca em memria externa exige estados Decodificavel que ofeream movimentos");
+		modelo = (Reversivel) ((Reversivel) eInicial).copiar();
+		movimentos = new int[modelo.getMaxMovimentos()];
+		movimentosInversiveis = verificarInversos();
+		boolean possuiMeta = eObjetivo instanceof Codificavel;
+		long codigoMeta = possuiMeta ? ((Codificavel) eObjetivo).getCodigo() : 0L;
+		long codigoInicial = ((Codificavel) eInicial).getCodigo();
+
+		Estado<?> eMeta = null;
+		niveis = new ArrayList<ArquivoDeEstados>();
+		trechos = new ArrayList<ArquivoDeEstados>();
+		buffer = new long[capacidadeDoBuffer];
+		try {
+			ArquivoDeEstados raiz = novoArquivo("nivel");
+			raiz.gravar(codigoInicial);
+			raiz.fechar();
+			adicionarNivel(raiz, possuiMeta);
+			boolean encontrado = possuiMeta && codigoInicial == codigoMeta;
+			while (!encontrado && dentroDosLimites()) {
+				ArquivoDeEstados nivel = niveis.get(niveis.size() - 1);
+				qtdNoBuffer = 0;
+				for (long i = 0; i < nivel.tamanho() && !encontrado && dentroDosLimites(); i++) {
+					((Decodificavel) modelo).setCodigo(nivel.get(i));
+					int qtd = modelo.getMovimentos(movimentos);
+					for (int m = 0; m < qtd; m++) {
+						modelo.aplicar(movimentos[m]);
+						long codigo = ((Codificavel) modelo).getCodigo();
+						modelo.desfazer(movimentos[m]);
+						if (possuiMeta && codigo == codigoMeta)
+							encontrado = true;
+						if (qtdNoBuffer == buffer.length)
+							descarregarBuffer();
+						buffer[qtdNoBuffer++] = codigo;
+					}
+					estatisticas.expandido(qtd, (int) Math.min(Integer.MAX_VALUE, nivel.tamanho()));
+				}
+				if (encontrado || isInterrompida())
+					break;
+				descarregarBuffer();
+				ArquivoDeEstados proximo = intercalarTrechos();
+				if (proximo.tamanho() == 0) {
+					proximo.excluir();
+					break;
+				}
+				adicionarNivel(proximo, possuiMeta);
+			}
+			if (encontrado && !isInterrompida())
+				eMeta = reconstruirCaminho(codigoMeta);
+		} catch (IOException e) {
+			throw new IllegalStateException("Falha ao manter os nveis da busca em disco", e);
+		} finally {
+			excluirArquivos();
+			buffer = null;
+		}
+		encerrarBusca(eMeta);
+	}
+
+	/**
+	 * Verifica se os movimentos do estado inicial possuem inversos, o que
+	 * permite comparar os sucessores apenas com os dois ltimos nveis.
+	 */
+	private boolean verificarInversos() {
+		int qtd = modelo.getMovimentos(movimentos);
+		for (int m = 0; m < qtd; m++)
+			if (modelo.getMovimentoInverso(movimentos[m]) < 0)
+				return false;
+		return true;
+	}
+
+	/**
+	 * Incorpora um nvel concludo. Sem meta a ser alcanada, o caminho no
+	 * ser reconstrudo e os nveis que j no sero consultados so removidos.
+	 */
+	private void adicionarNivel(ArquivoDeEstados nivel, boolean possuiMeta) throws IOException {
+		niveis.add(nivel);
+		tamanhosDosNiveis.add(nivel.tamanho());
+		int descartavel = niveis.size() - 3;
+		if (!possuiMeta && movimentosInversiveis && descartavel >= 0 && niveis.get(descartavel) != null) {
+			niveis.get(descartavel).excluir();
+			niveis.set(descartavel, null);
+		}
+	}
+
+	/**
+	 * Ordena os sucessores acumulados no buffer, eliminando as repeties, e os
+	 * grava como um novo trecho em disco.
+	 */
+	private void descarregarBuffer() throws IOException {
+		if (qtdNoBuffer == 0)
+			return;
+		Arrays.sort(buffer, 0, qtdNoBuffer);
+		int qtdUnicos = 1;
+		for (int i = 1; i < qtdNoBuffer; i++) {
+			if (buffer[i] == buffer[qtdUnicos - 1])
+				estatisticas.descartado();
+			else
+				buffer[qtdUnicos++] = buffer[i];
+		}
+		ArquivoDeEstados trecho = novoArquivo("trecho");
+		trecho.gravar(buffer, 0, qtdUnicos);
+		trecho.fechar();
+		trechos.add(trecho);
+		qtdNoBuffer = 0;
+	}
+
+	/**
+	 * Intercala os trechos ordenados num nico arquivo, descartando os cdigos
+	 * repetidos entre os trechos e os j presentes nos nveis anteriores. Os
+	 * trechos so removidos ao final.
+	 * @return arquivo ordenado e sem repeties com o prximo nvel
+	 */
+	private ArquivoDeEstados intercalarTrechos() throws IOException {
+		int k = trechos.size();
+		long[] posicao = new long[k];
+		long[] valor = new long[k];
+		int[] heap = new int[k];		// trechos ordenados pelo cdigo corrente
+		int tamanhoDoHeap = 0;
+		for (int t = 0; t < k; t++) {
+			valor[t] = trechos.get(t).get(0);
+			heap[tamanhoDoHeap++] = t;
+			subir(heap, valor, tamanhoDoHeap - 1);
+		}
+
+		List<ArquivoDeEstados> anteriores = new ArrayList<ArquivoDeEstados>();
+		for (int n = movimentosInversiveis ? Math.max(0, niveis.size() - 2) : 0; n < niveis.size(); n++)
+			anteriores.add(niveis.get(n));
+		long[] cursor = new long[anteriores.size()];
+
+		ArquivoDeEstados proximo = novoArquivo("nivel");
+		boolean primeiro = true;
+		long ultimo = 0L;
+		while (tamanhoDoHeap > 0) {
+			int t = heap[0];
+			long codigo = valor[t];
+			if (++posicao[t] < trechos.get(t).tamanho()) {
+				valor[t] = trechos.get(t).get(posicao[t]);
+			} else {
+				heap[0] = heap[--tamanhoDoHeap];
+			}
+			descer(heap, valor, tamanhoDoHeap, 0);
+
+			if (!primeiro && codigo == ultimo) {
+				estatisticas.descartado();
+				continue;
+			}
+			primeiro = false;
+			ultimo = codigo;
+			if (visitado(codigo, anteriores, cursor)) {
+				estatisticas.descartado();
+				continue;
+			}
+			proximo.gravar(codigo);
+		}
+		proximo.fechar();
+		for (ArquivoDeEstados trecho : trechos)
+			trecho.excluir();
+		trechos.clear();
+		return proximo;
+	}
+
+	/**
+	 * Verifica se o cdigo pertence a algum dos nveis anteriores. Como os
+	 * cdigos so consultados em ordem crescente, cada nvel  percorrido uma
+	 * nica vez, avanando o seu cursor.
+	 */
+	private boolean visitado(long codigo, List<ArquivoDeEstados> anteriores, long[] cursor) throws IOException {
+		for (int n = 0; n < anteriores.size(); n++) {
+			ArquivoDeEstados nivel = anteriores.get(n);
+			while (cursor[n] < nivel.tamanho() && nivel.get(cursor[n]) < codigo)
+				cursor[n]++;
+			if (cursor[n] < nivel.tamanho() && nivel.get(cursor[n]) == codigo)
+				return true;
+		}
+		return false;
+	}
+
+	private static void subir(int[] heap, long[] valor, int i) {
+		while (i > 0) {
+			int pai = (i - 1) >>> 1;
+			if (valor[heap[pai]] <= valor[heap[i]])
+				break;
+			int t = heap[pai]; heap[pai] = heap[i]; heap[i] = t;
+			i = pai;
+		}
+	}
+
+	private static void descer(int[] heap, long[] valor, int tamanho, int i) {
+		while (true) {
+			int menor = i, esq = 2 * i + 1, dir = esq + 1;
+			if (esq < tamanho && valor[heap[esq]] < valor[heap[menor]])
+				menor = esq;
+			if (dir < tamanho && valor[heap[dir]] < valor[heap[menor]])
+				menor = dir;
+			if (menor == i)
+				return;
+			int t = heap[menor]; heap[menor] = heap[i]; heap[i] = t;
+			i = menor;
+		}
+	}
+
+	/**
+	 * Reconstri o caminho at a meta, gerada pela expanso do ltimo nvel,
+	 * localizando em cada nvel anterior um estado do qual o seguinte 
+	 * sucessor. Com movimentos inversveis, os candidatos so os prprios
+	 * sucessores do estado (consultados por busca binria); do contrrio, o
+	 * nvel  percorrido at encontrar um antecessor.
+	 * @return estado meta, encadeado aos seus ancestrais at o estado inicial
+	 */
+	private Estado<?> reconstruirCaminho(long codigoMeta) throws IOException {
+		long[] codigos = new long[niveis.size() + 1];
+		codigos[niveis.size()] = codigoMeta;
+		for (int n = niveis.size() - 1; n > 0; n--)
+			codigos[n] = localizarAntecessor(niveis.get(n), codigos[n + 1]);
+		codigos[0] = ((Codificavel) eInicial).getCodigo();
+
+		Estado<?> anterior = eInicial;
+		for (int n = 1; n < codigos.length; n++) {
+			Estado<?> estado = modelo.copiar();
+			((Decodificavel) estado).setCodigo(codigos[n]);
+			estado.setAncestral(anterior);
+			estado.setNivel(n);
+			estado.setCusto(n);
+			anterior = estado;
+		}
+		return anterior;
+	}
+
+	private long localizarAntecessor(ArquivoDeEstados nivel, long codigo) throws IOException {
+		if (movimentosInversiveis) {
+			((Decodificavel) modelo).setCodigo(codigo);
+			int qtd = modelo.getMovimentos(movimentos);
+			for (int m = 0; m < qtd; m++) {
+				modelo.aplicar(movimentos[m]);
+				long candidato = ((Codificavel) modelo).getCodigo();
+				modelo.desfazer(movimentos[m]);
+				if (nivel.contem(candidato))
+					return candidato;
+			}
+		} else {
+			for (long i = 0; i < nivel.tamanho(); i++) {
+				long candidato = nivel.get(i);
+				((Decodificavel) modelo).setCodigo(candidato);
+				int qtd = modelo.getMovimentos(movimentos);
+				for (int m = 0; m < qtd; m++) {
+					modelo.aplicar(movimentos[m]);
+					long sucessor = ((Codificavel) modelo).getCodigo();
+					modelo.desfazer(movimentos[m]);
+					if (sucessor == codigo)
+						return candidato;
+				}
+			}
+		}
+		throw new IllegalStateException("Nenhum antecessor encontrado para o cdigo " + Long.toHexString(codigo));
+	}
+
+	private ArquivoDeEstados novoArquivo(String prefixo) throws IOException {
+		return new ArquivoDeEstados(File.createTempFile(prefixo, ".bfs", diretorio));
+	}
+
+	/**
+	 * Remove do disco todos os nveis e trechos ainda existentes.
+	 */
+	private void excluirArquivos() {
+		List<ArquivoDeEstados> arquivos = new ArrayList<ArquivoDeEstados>(niveis);
+		arquivos.addAll(trechos);
+		for (ArquivoDeEstados arquivo : arquivos) {
+			if (arquivo == null)
+				continue;
+			try {
+				arquivo.excluir();
+			} catch (IOException e) {
+				// o arquivo temporrio permanece no disco
+			}
+		}
+		niveis.clear();
+		trechos.clear();
+	}
+
+}
@@ -0,0 +1,211 @@
+package estrategiasDeBusca.cega;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+import espacoDeEstados.Estado;
+import estrategiasDeBusca.CoordenacaoParalela;
+import estrategiasDeBusca.EstatisticasDeBusca;
+
+/**
+ * Esta classe implementa uma verso paralela da "Busca em Largura" que avana
+ * de forma sincronizada nvel a nvel: todos os nodos de um nvel so expandidos
+ * simultaneamente pelas threads de um ForkJoinPool e os sucessores inditos
+ * formam o prximo nvel. Os estados j alcanados so registrados num conjunto
+ * concorrente, de modo que cada estado entra em um nico nvel, uma nica vez,
+ * mesmo quando gerado ao mesmo tempo por vrias threads.
+ *
+ * A busca termina no primeiro nvel em que a meta  gerada. Como todos os nodos
+ * de um nvel esto a mesma profundidade, qualquer ocorrncia da meta nesse
+ * nvel corresponde a um caminho de tamanho mnimo, tal como na busca em largura
+ * sequencial (embora no necessariamente o mesmo caminho).
+ *
+ * O controle de repetidos da estratgia no  utilizado, pois no  seguro para
+ * acesso concorrente.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class BuscaEmLarguraParalela extends BuscaCega {
+
+	private static final int TAMANHO_MINIMO_DA_TAREFA = 64;	// nodos abaixo dos quais uma tarefa no  dividida
+
+	private int qtdThreads;						// paralelismo do pool de threads
+	private List<Estado<?>> nivel;				// nodos do nvel em expanso
+	private Set<Estado<?>> alcancados;			// estados que j entraram em algum nvel
+	private AtomicReference<Estado<?>> eSolucao;	// primeira ocorrncia da meta no nvel corrente
+	private final CoordenacaoParalela coordenacao = new CoordenacaoParalela();	// limites e interrupo compartilhados pelas tarefas
+
+	/**
+	 * Construtor padro. Utiliza uma thread para cada processador disponvel.
+	 */
+	public BuscaEmLarguraParalela() {
+		this(null,null);
+	}
+
+	/**
+	 * Cria uma nova instncia da Busca em Largura paralela e define os estados
+	 * inicial e objetivo para o processo.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 */
+	public BuscaEmLarguraParalela(Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		this(estadoInicial, estadoMeta, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Cria uma nova instncia da Busca em Largura paralela, definindo os estados
+	 * inicial e objetivo e a quantidade de threads utilizadas.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 * @param qtdThreads quantidade de threads que expandiro cada nvel
+	 */
+	public BuscaEmLarguraParalela(Estado<?> estadoInicial, Estado<?> estadoMeta, int qtdThreads) {
+		super(estadoInicial,estadoMeta);
+		nomeDaEstrategia = "Busca em Largura Paralela";
+		setQtdThreads(qtdThreads);
+	}
+
+	public int getQtdThreads() {
+		return qtdThreads;
+	}
+
+	/**
+	 * Define a quantidade de threads que expandiro cada nvel.
+	 * @param qtdThreads quantidade de threads (ao menos uma)
+	 */
+	public void setQtdThreads(int qtdThreads) {
+		if (qtdThreads < 1)
+			throw new IllegalArgumentException("A busca exige ao menos uma thread");
+		this.qtdThreads = qtdThreads;
+	}
+
+	/**
+	 * Implementa efetivamente a estratgia de busca, expandindo em paralelo um
+	 * nvel inteiro por vez at que a meta seja gerada ou que no restem nodos.
+	 * As estatsticas de cada tarefa so somadas ao final de cada nvel, quando
+	 * tambm so verificados os limites de busca; dentro de um nvel, cada thread
+	 * verifica os limites a cada CoordenacaoParalela.LOTE_DE_VERIFICACAO
+	 * expanses, somadas ao longo das tarefas que executar. O ouvinte de busca no  notificado durante a explorao. O
+	 * pool de threads  criado para cada busca e encerrado em seguida. Ao
+	 * trmino, o caminho correspondente a soluo encontra-se armazenado no
+	 * atributo caminho.
+	 */
+	@Override
+	public void buscar() {
+		iniciarBusca();
+		if (isInterrompida()) {
+			encerrarBusca(null);
+			return;
+		}
+		coordenacao.iniciar(limites);
+		eSolucao = new AtomicReference<Estado<?>>();
+		alcancados = Collections.newSetFromMap(new ConcurrentHashMap<Estado<?>, Boolean>());
+		alcancados.add(eInicial);
+		nivel = new ArrayList<Estado<?>>();
+		nivel.add(eInicial);
+		if (eInicial.equals(eObjetivo))
+			eSolucao.set(eInicial);
+
+		ForkJoinPool pool = new ForkJoinPool(qtdThreads);
+		try {
+			while (eSolucao.get() == null && !nivel.isEmpty() && dentroDosLimites()) {
+				ExpandirNivel tarefa = new ExpandirNivel(0, nivel.size());
+				pool.invoke(tarefa);
+				List<Estado<?>> proximo = new ArrayList<Estado<?>>(tarefa.qtdGerados());
+				tarefa.reunir(proximo, estatisticas);
+				estatisticas.fronteira(proximo.size());
+				if (coordenacao.getParada() != null)
+					interrupcao = coordenacao.getParada();
+				nivel = proximo;
+			}
+		} finally {
+			pool.shutdown();
+		}
+		nivel = null;
+		alcancados = null;
+		encerrarBusca(eSolucao.get());
+	}
+
+	/**
+	 * Tarefa que expande uma faixa dos nodos do nvel corrente. Faixas grandes
+	 * so divididas ao meio at o TAMANHO_MINIMO_DA_TAREFA; cada folha guarda os
+	 * sucessores inditos que gerou e as suas prprias estatsticas, reunidos
+	 * pela thread da busca na ordem das faixas.
+	 */
+	private class ExpandirNivel extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		final int inicio, fim;
+		ExpandirNivel esquerda, direita;	// subtarefas (null nas folhas)
+		List<Estado<?>> gerados;			// sucessores inditos gerados pela folha
+		EstatisticasDeBusca parciais;		// contadores da folha
+
+		ExpandirNivel(int inicio, int fim) {
+			this.inicio = inicio;
+			this.fim = fim;
+		}
+
+		@Override
+		protected void compute() {
+			if (fim - inicio > TAMANHO_MINIMO_DA_TAREFA) {
+				int meio = (inicio + fim) >>> 1;
+				esquerda = new ExpandirNivel(inicio, meio);
+				direita = new ExpandirNivel(meio, fim);
+				invokeAll(esquerda, direita);
+			} else {
+				expandir();
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private void expandir() {
+			gerados = new ArrayList<Estado<?>>();
+			parciais = new EstatisticasDeBusca();
+			for (int i = inicio; i < fim && eSolucao.get() == null && coordenacao.getParada() == null; i++) {
+				List<Estado<?>> eSucessores = (List<Estado<?>>) nivel.get(i).getSucessores();
+				for (Estado<?> estado : eSucessores) {
+					if (!alcancados.add(estado)) {
+						parciais.descartado();
+						continue;
+					}
+					gerados.add(estado);
+					if (estado.equals(eObjetivo))
+						eSolucao.compareAndSet(null, estado);
+				}
+				parciais.expandido(eSucessores.size(), 0);
+				if (limites != null)
+					coordenacao.registrarExpansao(estatisticas.getMaiorFronteira());
+			}
+		}
+
+		int qtdGerados() {
+			if (esquerda != null)
+				return esquerda.qtdGerados() + direita.qtdGerados();
+			return gerados.size();
+		}
+
+		/**
+		 * Acrescenta ao prximo nvel os sucessores gerados pelas folhas desta
+		 * tarefa e soma as suas estatsticas.
+		 */
+		void reunir(List<Estado<?>> proximo, EstatisticasDeBusca total) {
+			if (esquerda != null) {
+				esquerda.reunir(proximo, total);
+				direita.reunir(proximo, total);
+			} else {
+				proximo.addAll(gerados);
+				total.acumular(parciais);
+			}
+		}
+
+	}
+
+}
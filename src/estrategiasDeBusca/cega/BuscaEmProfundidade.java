@@ -1,22 +1,29 @@
 package estrategiasDeBusca.cega;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Stack;
 
 import espacoDeEstados.Estado;
+import espacoDeEstados.Reversivel;
+import estrategiasDeBusca.PilhaDeMovimentos;
 
 /**
  * Esta classe implementa uma estratgia de busca cega conhecida como "Busca em
  * Profundidade", que  caracterstica por explorar o espao se aprofundando no
  * ramo atual antes de faz-lo noutra ramificao.
  * 
+ * Quando o estado inicial  reversvel (ver Reversivel), a explorao modifica
+ * uma cpia do estado inicial atravs de movimentos, mantendo na pilha apenas
+ * os movimentos pendentes, de modo que a expanso dos nodos no aloca
+ * objetos. O controle de repetidos compacto completa uma busca sem alocaes.
+ * 
  * @author Leandro C. Fernandes
  *
  */
 public class BuscaEmProfundidade extends BuscaCega {
 	
 	protected Stack<Estado<?>> eAbertos;
+	protected PilhaDeMovimentos pilhaDeMovimentos;	// lista de abertos da explorao por movimentos
 
 	/**
 	 * Construtor padro.
@@ -35,6 +42,7 @@ public class BuscaEmProfundidade extends BuscaCega {
 		super(estadoInicial,estadoMeta);
 		super.nomeDaEstrategia = "Busca em Profundidade";
 		eAbertos = new Stack<Estado<?>>();
+		pilhaDeMovimentos = new PilhaDeMovimentos();
 	}
 	
 	/**
@@ -48,21 +56,73 @@ public class BuscaEmProfundidade extends BuscaCega {
 	@Override
 	public void buscar() {
 		Estado<?> eCorrente = eInicial;
-		while ((eCorrente != null) && (!eCorrente.equals(eObjetivo))) {
-			for (Estado<?> estado : (List<Estado<?>>) eCorrente.getSucessores())
-				eAbertos.push(estado);
-			eCorrente = eAbertos.pop();
+		iniciarBusca();
+		eAbertos.clear();
+		repetidos.registrar(eInicial);
+		if (eInicial instanceof Reversivel) {
+			encerrarBusca(explorarPorMovimentos(Integer.MAX_VALUE));
+			return;
 		}
-		// Se o lao foi encerrado por um estado vlido ...
-		if (eCorrente != null) {
-			// ento construmos o caminho da soluo (da folha at a raiz)
-			caminho.add(eCorrente);
-			while (eCorrente.getAncestral() != null) {
-				eCorrente = eCorrente.getAncestral();
-				caminho.add(eCorrente);
-			}
-			Collections.reverse(caminho);
+		while ((eCorrente != null) && (!eCorrente.equals(eObjetivo)) && dentroDosLimites()) {
+			List<Estado<?>> eSucessores = (List<Estado<?>>) eCorrente.getSucessores();
+			for (Estado<?> estado : eSucessores)
+				if (repetidos.registrar(estado))
+					eAbertos.push(estado);
+			estatisticas.expandido(eSucessores.size(), eAbertos.size());
+			eCorrente = eAbertos.isEmpty() ? null : eAbertos.pop();
 		}
+		encerrarBusca(eCorrente);
+	}
+	
+	/**
+	 * Explorao em profundidade sobre uma cpia mutvel do estado inicial. Os
+	 * movimentos de cada nodo so aplicados apenas para submeter o sucessor ao
+	 * controle de repetidos e desfeitos em seguida; os aceitos so empilhados e
+	 * explorados na mesma ordem da verso baseada em sucessores.
+	 * @param limite nvel a partir do qual os nodos no so mais expandidos
+	 * @return estado meta alcanado, com o caminho desde o estado inicial
+	 *         reconstrudo, ou null caso no haja soluo ou a busca tenha sido
+	 *         interrompida
+	 */
+	protected Estado<?> explorarPorMovimentos(int limite) {
+		Estado<?> eCorrente = ((Reversivel) eInicial).copiar();
+		Reversivel movel = (Reversivel) eCorrente;
+		int[] movimentos = new int[movel.getMaxMovimentos()];
+		pilhaDeMovimentos.limpar();
+		while (!eCorrente.equals(eObjetivo) && dentroDosLimites()) {
+			if (eCorrente.getNivel() < limite) {
+				int qtdMovimentos = movel.getMovimentos(movimentos);
+				for (int i = 0; i < qtdMovimentos; i++) {
+					movel.aplicar(movimentos[i]);
+					if (repetidos.registrarMutavel(eCorrente))
+						pilhaDeMovimentos.empilhar(movimentos[i]);
+					movel.desfazer(movimentos[i]);
+				}
+				nodoExpandido(qtdMovimentos, pilhaDeMovimentos.getTamanho());
+			} else
+				nodoNaoExpandido();
+			if (!pilhaDeMovimentos.avancar(movel))
+				return null;
+		}
+		if (isInterrompida())
+			return null;
+		return reproduzirCaminho(pilhaDeMovimentos.getMovimentosAplicados(), pilhaDeMovimentos.getProfundidade());
+	}
+	
+	/**
+	 * Contabiliza a expanso de um nodo pela explorao por movimentos.
+	 * @param qtdSucessores quantidade de sucessores gerados
+	 * @param tamanhoDaFronteira quantidade de movimentos pendentes
+	 */
+	protected void nodoExpandido(int qtdSucessores, int tamanhoDaFronteira) {
+		estatisticas.expandido(qtdSucessores, tamanhoDaFronteira);
+	}
+	
+	/**
+	 * Notifica que um nodo deixou de ser expandido por ter alcanado o limite
+	 * de profundidade.
+	 */
+	protected void nodoNaoExpandido() {
 	}
 	
 }
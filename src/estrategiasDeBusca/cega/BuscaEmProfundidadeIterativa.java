@@ -0,0 +1,107 @@
+package estrategiasDeBusca.cega;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Esta classe implementa uma estratgia de busca cega conhecida como "Busca em
+ * Profundidade Iterativa" (Iterative Deepening), que executa repetidamente a
+ * busca em profundidade limitada, aumentando o limite em um nvel a cada
+ * iterao. Dessa maneira encontra a soluo mais rasa, assim como a busca em
+ * largura, mas consumindo a memria de uma busca em profundidade, alm de
+ * dispensar que o limite seja conhecido de antemo.
+ * 
+ * A pilha de abertos e a tabela de estados visitados so reaproveitadas entre as
+ * iteraes, evitando a realocao dessas estruturas a cada aprofundamento.
+ * 
+ * @author Leandro C. Fernandes
+ *
+ */
+public class BuscaEmProfundidadeIterativa extends BuscaEmProfundidadeLimitada {
+	
+	private int limiteMaximo;			// maior limite que ser tentado
+	private List<Long> nodosPorIteracao;	// nodos expandidos em cada iterao
+
+	/**
+	 * Construtor padro.
+	 */
+	public BuscaEmProfundidadeIterativa() {
+		this(null,null);
+	}
+	
+	/**
+	 * Cria uma nova instncia de Busca em Profundidade Iterativa, definindo os
+	 * estados inicial e objetivo para o processo.
+	 * @param estadoInicial estado inicial de busca.
+	 * @param estadoMeta estado que contm os objetivos da busca.
+	 */
+	public BuscaEmProfundidadeIterativa(Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		super(estadoInicial,estadoMeta,0);
+		limiteMaximo = Integer.MAX_VALUE;
+		nodosPorIteracao = new ArrayList<Long>();
+	}
+	
+	/**
+	 * Retorna o maior limite de aprofundamento que ser tentado.
+	 * @return nvel mximo de aprofundamento da rvore.
+	 */
+	public int getLimiteMaximo() {
+		return limiteMaximo;
+	}
+
+	/**
+	 * Define o maior limite de aprofundamento que ser tentado antes de
+	 * encerrar a busca sem soluo.
+	 * @param limiteMaximo nvel mximo de aprofundamento da rvore.
+	 */
+	public void setLimiteMaximo(int limiteMaximo) {
+		this.limiteMaximo = limiteMaximo;
+	}
+	
+	/**
+	 * Recupera a quantidade de nodos expandidos em cada iterao da ltima busca,
+	 * sendo o elemento i correspondente a iterao com limite i.
+	 * @return lista com o nmero de nodos expandidos por iterao
+	 */
+	public List<Long> getNodosPorIteracao() {
+		return Collections.unmodifiableList(nodosPorIteracao);
+	}
+	
+	/**
+	 * Implementa efetivamente a estratgia de busca, executando a busca em
+	 * profundidade limitada com limites crescentes a partir de zero. O processo
+	 * termina quando a meta  encontrada, quando uma iterao explora todo o
+	 * espao sem atingir o limite (no h soluo) ou quando o limite mximo 
+	 * ultrapassado. Ao trmino, o caminho correspondente a soluo ter sido
+	 * armazenado no atributo caminho.
+	 */
+	@Override
+	public void buscar() {
+		Estado<?> eSolucao = null;
+		nodosPorIteracao.clear();
+		iniciarBusca();
+		for (int limite = 0; limite <= limiteMaximo; limite++) {
+			setLimite(limite);
+			estatisticas.novaIteracao();
+			eSolucao = aprofundar();
+			nodosPorIteracao.add(qtdExpandidos);
+			if (eSolucao != null || !houveCorte || isInterrompida())
+				break;
+		}
+		encerrarBusca(eSolucao);
+	}
+	
+	/**
+	 * Define o limite da iterao corrente, preservando o nome da estratgia.
+	 * @param limite nvel mximo de aprofundamento da iterao.
+	 */
+	@Override
+	public void setLimite(int limite) {
+		super.setLimite(limite);
+		super.nomeDaEstrategia = "Busca em Profundidade Iterativa";
+	}
+	
+}
@@ -1,9 +1,10 @@
 package estrategiasDeBusca.cega;
 
-import java.util.Collections;
 import java.util.List;
 
 import espacoDeEstados.Estado;
+import espacoDeEstados.Reversivel;
+import estrategiasDeBusca.ControleDeRepetidosHash;
 
 /**
  * Esta classe implementa uma estratgia de busca cega conhecida como "Busca em
@@ -16,6 +17,8 @@ import espacoDeEstados.Estado;
 public class BuscaEmProfundidadeLimitada extends BuscaEmProfundidade {
 	
 	private int limite;
+	protected boolean houveCorte;		// indica se algum ramo deixou de ser explorado por causa do limite
+	protected long qtdExpandidos;		// quantidade de nodos expandidos na ltima busca
 
 	/**
 	 * Construtor padro.
@@ -33,8 +36,10 @@ public class BuscaEmProfundidadeLimitada extends BuscaEmProfundidade {
 	 */
 	public BuscaEmProfundidadeLimitada(Estado<?> estadoInicial, Estado<?> estadoMeta, int nivelLimite) {
 		super(estadoInicial,estadoMeta);
-		super.nomeDaEstrategia = "Busca em Profundidade Limitada (at " + limite + " nveis)";
-		this.limite = nivelLimite;
+		setLimite(nivelLimite);
+		// um estado j visto  reaberto quando alcanado num nvel mais raso,
+		// pois a sua subrvore pode ento conter a soluo dentro do limite
+		repetidos = new ControleDeRepetidosHash(true);
 	}
 	
 	/**
@@ -51,6 +56,15 @@ public class BuscaEmProfundidadeLimitada extends BuscaEmProfundidade {
 	 */
 	public void setLimite(int limite) {
 		this.limite = limite;
+		super.nomeDaEstrategia = "Busca em Profundidade Limitada (at " + limite + " nveis)";
+	}
+	
+	/**
+	 * Recupera a quantidade de nodos expandidos pela ltima execuo da busca.
+	 * @return nmero de nodos expandidos
+	 */
+	public long getQtdExpandidos() {
+		return qtdExpandidos;
 	}
 
 	/**
@@ -60,26 +74,54 @@ public class BuscaEmProfundidadeLimitada extends BuscaEmProfundidade {
 	 * Ao trmino, o caminho correspondente a soluo ter sido armazenado no
 	 * atributo caminho.
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public void buscar() {
+		iniciarBusca();
+		encerrarBusca(aprofundar());
+	}
+	
+	/**
+	 * Realiza uma explorao em profundidade at o limite corrente, partindo do
+	 * estado inicial. Os duplicados descartados numa explorao anterior so
+	 * somados as estatsticas antes de o controle de repetidos ser limpo.
+	 * @return estado meta alcanado ou null, caso no exista soluo dentro do
+	 *         limite ou a busca tenha sido interrompida
+	 */
+	@SuppressWarnings("unchecked")
+	protected Estado<?> aprofundar() {
 		Estado<?> eCorrente = eInicial;
-		while ((eCorrente != null) && (!eCorrente.equals(eObjetivo))) {
-			if (eCorrente.getNivel() < limite)
-				for (Estado<?> estado : (List<Estado<?>>) eCorrente.getSucessores())
-					eAbertos.push(estado);
-			eCorrente = eAbertos.pop();
-		}
-		// Se o lao foi encerrado por um estado vlido ...
-		if (eCorrente != null) {
-			// ento construmos o caminho da soluo (da folha at a raiz)
-			caminho.add(eCorrente);
-			while (eCorrente.getAncestral() != null) {
-				eCorrente = eCorrente.getAncestral();
-				caminho.add(eCorrente);
-			}
-			Collections.reverse(caminho);
+		houveCorte = false;
+		qtdExpandidos = 0;
+		eAbertos.clear();
+		estatisticas.acumularRepetidos(repetidos);
+		repetidos.limpar();
+		repetidos.registrar(eInicial);
+		if (eInicial instanceof Reversivel)
+			return explorarPorMovimentos(limite);
+		while ((eCorrente != null) && (!eCorrente.equals(eObjetivo)) && dentroDosLimites()) {
+			if (eCorrente.getNivel() < limite) {
+				qtdExpandidos++;
+				List<Estado<?>> eSucessores = (List<Estado<?>>) eCorrente.getSucessores();
+				for (Estado<?> estado : eSucessores)
+					if (repetidos.registrar(estado))
+						eAbertos.push(estado);
+				estatisticas.expandido(eSucessores.size(), eAbertos.size());
+			} else
+				houveCorte = true;
+			eCorrente = eAbertos.isEmpty() ? null : eAbertos.pop();
 		}
+		return isInterrompida() ? null : eCorrente;
+	}
+	
+	@Override
+	protected void nodoExpandido(int qtdSucessores, int tamanhoDaFronteira) {
+		qtdExpandidos++;
+		super.nodoExpandido(qtdSucessores, tamanhoDaFronteira);
+	}
+	
+	@Override
+	protected void nodoNaoExpandido() {
+		houveCorte = true;
 	}
 	
 }
@@ -1,14 +1,13 @@
 package estrategiasDeBusca.heuristica;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Stack;
 
 import espacoDeEstados.Estado;
+import estrategiasDeBusca.ControleDeRepetidosHash;
 
 public class AStar extends BuscaInformada {
 
-	private Stack<Estado<?>> eAbertos;
+	private ListaDeAbertos eAbertos;
 
 	/**
 	 * Construtor padro.
@@ -26,30 +25,43 @@ public class AStar extends BuscaInformada {
 	public AStar(Estado<?> estadoInicial, Estado<?> estadoMeta) {
 		super(estadoInicial,estadoMeta);
 		nomeDaEstrategia = "Busca tima - A* (A-Star)";
-		eAbertos = new Stack<Estado<?>>();
+		eAbertos = new HeapIndexado(new OrdenarPorCustoMaisAvaliacao());
+		repetidos = new ControleDeRepetidosHash(true);
+	}
+	
+	/**
+	 * Define a estrutura utilizada para manter os nodos abertos. Por padro 
+	 * utilizado um heap indexado, mas quando os valores de f so inteiros
+	 * pequenos e limitados (como no Puzzle-8) uma FilaDeBaldes  mais eficiente.
+	 * @param lista estrutura que armazenar a fronteira da busca
+	 */
+	public void setListaDeAbertos(ListaDeAbertos lista) {
+		this.eAbertos = lista;
 	}
 	
 	@SuppressWarnings("unchecked")
 	@Override
 	public void buscar() {
 		Estado<?> eCorrente = eInicial;
-		while ((eCorrente != null) && (!eCorrente.equals(eObjetivo))) {
+		iniciarBusca();
+		eAbertos.limpar();
+		repetidos.registrar(eInicial);
+		avaliar(eInicial);
+		while ((eCorrente != null) && (!eCorrente.equals(eObjetivo)) && dentroDosLimites()) {
 			List<?> eSucessores = eCorrente.getSucessores();			
-			for (Estado<?> estado : (List<Estado<?>>) eSucessores)
-				eAbertos.push(estado);
-			Collections.sort((List<Estado<?>>) eAbertos, new OrdenarPorCustoMaisAvaliacao());
-			Collections.reverse((List<Estado<?>>) eAbertos);
-			eCorrente = eAbertos.pop();
-		}
-		// Se o lao foi encerrado por um estado vlido ...
-		if (eCorrente != null) {
-			// ento construmos o caminho da soluo (da folha at a raiz)
-			caminho.add(eCorrente);
-			while (eCorrente.getAncestral() != null) {
-				eCorrente = eCorrente.getAncestral();
-				caminho.add(eCorrente);
+			for (Estado<?> estado : (List<Estado<?>>) eSucessores) {
+				avaliar(estado);
+				// estados repetidos s retornam a fronteira se alcanados por um custo menor
+				if (!repetidos.registrar(estado))
+					continue;
+				if (eAbertos.contem(estado))
+					eAbertos.atualizar(estado);		// decrease-key do nodo que j estava aberto
+				else
+					eAbertos.inserir(estado);		// estado indito ou reabertura de um fechado
 			}
-			Collections.reverse(caminho);
-		}		
+			estatisticas.expandido(eSucessores.size(), eAbertos.tamanho());
+			eCorrente = eAbertos.removerPrimeiro();
+		}
+		encerrarBusca(eCorrente);
 	}
 }
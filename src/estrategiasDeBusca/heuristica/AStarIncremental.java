@@ -0,0 +1,266 @@
+package estrategiasDeBusca.heuristica;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import espacoDeEstados.Estado;
+import estrategiasDeBusca.OuvinteDeSolucoes;
+
+/**
+ * Esta classe implementa a busca ARA* (Anytime Repairing A*), uma verso
+ * incremental (anytime) da busca A* ponderada. Uma primeira soluo  obtida
+ * rapidamente com um peso elevado sobre a avaliao e, em seguida, o peso 
+ * reduzido pouco a pouco at 1. Com uma heurstica admissvel, cada nova
+ * soluo  no mximo peso vezes mais cara que a tima.
+ *
+ * As iteraes reaproveitam o trabalho das anteriores: os valores de g j
+ * conhecidos so mantidos e apenas os nodos cujo custo diminuiu depois de
+ * expandidos na iterao corrente (inconsistentes) voltam a lista de abertos,
+ * que  ento reordenada pelo novo peso. Cada soluo melhorada  publicada ao
+ * OuvinteDeSolucoes, junto do limite de subotimalidade comprovado, calculado a
+ * partir do menor g + h entre os nodos abertos e inconsistentes.
+ *
+ * Os limites de busca (em especial o tempo mximo) funcionam como prazo:
+ * quando excedidos depois de encontrada uma soluo, a busca  encerrada com a
+ * melhor soluo conhecida, cuja garantia  informada por
+ * getLimiteDeSubotimalidade().
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class AStarIncremental extends BuscaInformada {
+
+	public static final double PESO_INICIAL_PADRAO = 3.0;
+	public static final double DECREMENTO_PADRAO = 0.5;
+
+	private double pesoInicial;					// peso da primeira iterao
+	private double decremento;					// reduo do peso a cada iterao
+	private OuvinteDeSolucoes ouvinteDeSolucoes;
+	private OrdenarPorCustoMaisAvaliacaoPonderada criterio;
+	private ListaDeAbertos eAbertos;
+	private Map<Estado<?>, Estado<?>> melhores;	// nodo de menor custo conhecido para cada estado
+	private Set<Estado<?>> fechados;			// estados expandidos na iterao corrente
+	private Set<Estado<?>> inconsistentes;		// fechados cujo custo diminuiu depois da expanso
+	private Estado<?> eMeta;					// nodo meta de menor custo conhecido
+	private double limiteInferior;				// menor custo possvel para a soluo
+	private double limiteDeSubotimalidade;
+
+	/**
+	 * Construtor padro.
+	 */
+	public AStarIncremental() {
+		this(null,null);
+	}
+
+	/**
+	 * Cria uma nova instncia da busca ARA*, com o peso inicial e o decremento
+	 * padres, e define os estados inicial e objetivo para o processo.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 */
+	public AStarIncremental(Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		this(estadoInicial, estadoMeta, PESO_INICIAL_PADRAO, DECREMENTO_PADRAO);
+	}
+
+	/**
+	 * Cria uma nova instncia da busca ARA*, definindo os estados inicial e
+	 * objetivo, o peso da primeira iterao e quanto ele  reduzido a cada nova
+	 * iterao.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 * @param pesoInicial peso (epsilon) aplicado a avaliao na primeira iterao, ao menos 1
+	 * @param decremento reduo do peso a cada iterao, positiva
+	 */
+	public AStarIncremental(Estado<?> estadoInicial, Estado<?> estadoMeta, double pesoInicial, double decremento) {
+		super(estadoInicial,estadoMeta);
+		nomeDaEstrategia = "Busca A* Incremental - ARA* (Anytime Repairing A*)";
+		setPesoInicial(pesoInicial);
+		setDecremento(decremento);
+		criterio = new OrdenarPorCustoMaisAvaliacaoPonderada(pesoInicial);
+		eAbertos = new HeapIndexado(criterio);
+		melhores = new HashMap<Estado<?>, Estado<?>>();
+		fechados = new HashSet<Estado<?>>();
+		inconsistentes = new HashSet<Estado<?>>();
+	}
+
+	public double getPesoInicial() {
+		return pesoInicial;
+	}
+
+	/**
+	 * Define o peso aplicado a avaliao na primeira iterao.
+	 * @param pesoInicial peso (epsilon), ao menos 1
+	 */
+	public void setPesoInicial(double pesoInicial) {
+		if (!(pesoInicial >= 1.0))
+			throw new IllegalArgumentException("O peso da avaliao deve ser ao menos 1");
+		this.pesoInicial = pesoInicial;
+	}
+
+	public double getDecremento() {
+		return decremento;
+	}
+
+	/**
+	 * Define quanto o peso  reduzido a cada iterao.
+	 * @param decremento reduo do peso, positiva
+	 */
+	public void setDecremento(double decremento) {
+		if (!(decremento > 0.0))
+			throw new IllegalArgumentException("O decremento do peso deve ser positivo");
+		this.decremento = decremento;
+	}
+
+	/**
+	 * Registra um ouvinte para receber cada soluo melhorada.
+	 * @param ouvinte objeto notificado a cada soluo (null desativa as notificaes)
+	 */
+	public void setOuvinteDeSolucoes(OuvinteDeSolucoes ouvinte) {
+		this.ouvinteDeSolucoes = ouvinte;
+	}
+
+	/**
+	 * Recupera o fator mximo entre o custo da soluo devolvida pela ltima
+	 * busca e o custo timo (1 indica que a soluo  tima).
+	 * @return limite de subotimalidade ou infinito, caso no haja soluo
+	 */
+	public double getLimiteDeSubotimalidade() {
+		return limiteDeSubotimalidade;
+	}
+
+	/**
+	 * Implementa efetivamente a estratgia de busca, executando iteraes da
+	 * busca A* ponderada com pesos decrescentes at comprovar que a soluo 
+	 * tima, esgotar os nodos ou exceder um limite. Ao trmino, o caminho
+	 * correspondente a melhor soluo encontra-se armazenado no atributo caminho.
+	 */
+	@Override
+	public void buscar() {
+		iniciarBusca();
+		eAbertos.limpar();
+		melhores.clear();
+		fechados.clear();
+		inconsistentes.clear();
+		eMeta = null;
+		limiteDeSubotimalidade = Double.POSITIVE_INFINITY;
+		if (isInterrompida()) {
+			encerrarBusca(null);
+			return;
+		}
+		avaliar(eInicial);
+		limiteInferior = eInicial.getAvaliacao();
+		melhores.put(eInicial, eInicial);
+		if (eInicial.equals(eObjetivo))
+			eMeta = eInicial;
+
+		double peso = pesoInicial;
+		criterio.setPeso(peso);
+		eAbertos.inserir(eInicial);
+		while (true) {
+			Estado<?> eAnterior = eMeta;
+			melhorarCaminho();
+			if (isInterrompida()) {
+				publicar(eAnterior, calcularLimite());
+				break;
+			}
+			// rene os abertos e os inconsistentes, que sero reordenados pelo novo peso
+			List<Estado<?>> pendentes = new ArrayList<Estado<?>>(eAbertos.tamanho() + inconsistentes.size());
+			while (!eAbertos.estaVazia())
+				pendentes.add(eAbertos.removerPrimeiro());
+			for (Estado<?> estado : inconsistentes)
+				pendentes.add(melhores.get(estado));
+			inconsistentes.clear();
+			// o menor g + h entre eles no excede o custo timo (a prpria meta permanece aberta)
+			double menorF = Double.POSITIVE_INFINITY;
+			for (Estado<?> estado : pendentes)
+				menorF = Math.min(menorF, estado.getCusto() + estado.getAvaliacao());
+			if (menorF != Double.POSITIVE_INFINITY)
+				limiteInferior = Math.max(limiteInferior, menorF);
+			publicar(eAnterior, Math.min(peso, calcularLimite()));
+			if (eMeta == null || peso == 1.0 || limiteDeSubotimalidade <= 1.0)
+				break;
+
+			peso = Math.max(1.0, peso - decremento);
+			criterio.setPeso(peso);
+			fechados.clear();
+			for (Estado<?> estado : pendentes)
+				eAbertos.inserir(estado);
+			estatisticas.novaIteracao();
+		}
+		if (eMeta != null)
+			interrupcao = null;	// o prazo encerra a busca com a melhor soluo conhecida
+		encerrarBusca(eMeta);
+	}
+
+	/**
+	 * Uma iterao da busca A* ponderada: expande os nodos abertos enquanto o
+	 * primeiro deles puder levar a uma soluo melhor que a conhecida,
+	 * considerando o peso corrente.
+	 */
+	@SuppressWarnings("unchecked")
+	private void melhorarCaminho() {
+		while (!eAbertos.estaVazia() && dentroDosLimites()) {
+			Estado<?> eCorrente = eAbertos.removerPrimeiro();
+			if (eMeta != null && criterio.valor(eCorrente) >= eMeta.getCusto()) {
+				eAbertos.inserir(eCorrente);
+				return;
+			}
+			fechados.add(eCorrente);
+			List<Estado<?>> eSucessores = (List<Estado<?>>) eCorrente.getSucessores();
+			for (Estado<?> estado : eSucessores) {
+				avaliar(estado);
+				Estado<?> conhecido = melhores.get(estado);
+				if (conhecido != null && conhecido.getCusto() <= estado.getCusto()) {
+					estatisticas.descartado();
+					continue;
+				}
+				melhores.put(estado, estado);
+				if (estado.equals(eObjetivo))
+					eMeta = estado;
+				if (fechados.contains(estado))
+					inconsistentes.add(estado);		// volta a ser aberto somente na prxima iterao
+				else if (eAbertos.contem(estado))
+					eAbertos.atualizar(estado);
+				else
+					eAbertos.inserir(estado);
+			}
+			estatisticas.expandido(eSucessores.size(), eAbertos.tamanho());
+		}
+	}
+
+	/**
+	 * Calcula o fator entre o custo da soluo conhecida e o menor custo
+	 * possvel para a soluo tima.
+	 */
+	private double calcularLimite() {
+		if (eMeta == null)
+			return Double.POSITIVE_INFINITY;
+		return (eMeta.getCusto() <= limiteInferior) ? 1.0 : eMeta.getCusto() / limiteInferior;
+	}
+
+	/**
+	 * Registra o limite de subotimalidade da soluo conhecida e a publica ao
+	 * ouvinte, caso ela ou a sua garantia tenham melhorado.
+	 * @param eAnterior nodo meta conhecido antes da ltima iterao
+	 * @param limite limite de subotimalidade da soluo conhecida
+	 */
+	private void publicar(Estado<?> eAnterior, double limite) {
+		if (eMeta == null)
+			return;
+		boolean melhorou = (eMeta != eAnterior) || (limite < limiteDeSubotimalidade);
+		limiteDeSubotimalidade = Math.min(limiteDeSubotimalidade, limite);
+		if (melhorou && ouvinteDeSolucoes != null) {
+			List<Estado<?>> solucao = new ArrayList<Estado<?>>();
+			for (Estado<?> estado = eMeta; estado != null; estado = estado.getAncestral())
+				solucao.add(estado);
+			Collections.reverse(solucao);
+			ouvinteDeSolucoes.solucaoMelhorada(solucao, limiteDeSubotimalidade);
+		}
+	}
+
+}
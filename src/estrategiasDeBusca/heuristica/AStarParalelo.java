@@ -0,0 +1,293 @@
+package estrategiasDeBusca.heuristica;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import espacoDeEstados.Estado;
+import estrategiasDeBusca.CoordenacaoParalela;
+import estrategiasDeBusca.EstatisticasDeBusca;
+
+/**
+ * Esta classe implementa uma verso paralela da busca A* conhecida como HDA*
+ * (Hash Distributed A*). O espao de estados  repartido entre vrias threads
+ * (trabalhadores) de acordo com o cdigo hash de cada estado: cada trabalhador
+ *  o dono exclusivo dos estados que lhe cabem e mantm as suas prprias listas
+ * de abertos e fechados, sem qualquer sincronizao. Os sucessores gerados so
+ * enviados ao respectivo dono atravs de filas no bloqueantes.
+ *
+ * O primeiro caminho encontrado at a meta no  necessariamente timo, pois os
+ * trabalhadores avanam de forma independente. Por isso o custo da melhor soluo
+ * conhecida  compartilhado e a busca s termina quando nenhum trabalhador possui
+ * nodos com f inferior a esse custo e no h mensagens em trnsito. Com uma
+ * heurstica admissvel, a soluo devolvida  tima.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class AStarParalelo extends BuscaInformada {
+
+	private static final int INFINITO = Integer.MAX_VALUE;
+	private static final long ESPERA_OCIOSA = 20000L;	// intervalo (ns) entre verificaes de um trabalhador ocioso
+
+	private int qtdTrabalhadores;				// quantidade de threads utilizadas
+	private Trabalhador[] trabalhadores;
+	private AtomicInteger pendentes;			// trabalhadores ativos + mensagens em trnsito
+	private AtomicInteger custoDaSolucao;		// custo da melhor soluo conhecida
+	private Estado<?> eSolucao;					// nodo meta da melhor soluo conhecida
+	private volatile Throwable falha;			// primeira falha ocorrida num trabalhador
+	private volatile boolean encerrar;			// solicita que todos os trabalhadores terminem
+	private final CoordenacaoParalela coordenacao = new CoordenacaoParalela();	// limites e interrupo compartilhados pelos trabalhadores
+
+	/**
+	 * Construtor padro. Utiliza uma thread para cada processador disponvel.
+	 */
+	public AStarParalelo() {
+		this(null,null);
+	}
+
+	/**
+	 * Cria uma nova instncia da busca A* paralela e define os estados inicial
+	 * e objetivo para o processo.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 */
+	public AStarParalelo(Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		this(estadoInicial, estadoMeta, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Cria uma nova instncia da busca A* paralela, definindo os estados inicial
+	 * e objetivo e a quantidade de threads utilizadas.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 * @param qtdTrabalhadores quantidade de threads que dividiro o espao de estados
+	 */
+	public AStarParalelo(Estado<?> estadoInicial, Estado<?> estadoMeta, int qtdTrabalhadores) {
+		super(estadoInicial,estadoMeta);
+		nomeDaEstrategia = "Busca tima Paralela - HDA* (Hash Distributed A*)";
+		setQtdTrabalhadores(qtdTrabalhadores);
+	}
+
+	public int getQtdTrabalhadores() {
+		return qtdTrabalhadores;
+	}
+
+	/**
+	 * Define a quantidade de threads que dividiro o espao de estados.
+	 * @param qtdTrabalhadores quantidade de threads (ao menos uma)
+	 */
+	public void setQtdTrabalhadores(int qtdTrabalhadores) {
+		if (qtdTrabalhadores < 1)
+			throw new IllegalArgumentException("A busca exige ao menos um trabalhador");
+		this.qtdTrabalhadores = qtdTrabalhadores;
+	}
+
+	/**
+	 * Recupera a quantidade total de nodos expandidos pelos trabalhadores.
+	 * @return nmero de nodos expandidos
+	 */
+	public long getQtdExpandidos() {
+		return estatisticas.getQtdExpandidos();
+	}
+
+	/**
+	 * Recupera quantos estados foram descartados por j terem sido alcanados
+	 * com custo igual ou menor.
+	 * @return nmero de duplicados eliminados
+	 */
+	public long getQtdDescartados() {
+		return estatisticas.getQtdDuplicados();
+	}
+
+	/**
+	 * Implementa efetivamente a estratgia de busca, distribuindo o estado
+	 * inicial ao seu dono e aguardando at que todos os trabalhadores concluam.
+	 * Cada trabalhador mantm as suas prprias estatsticas, que so somadas
+	 * somente ao final; por isso o ouvinte de busca  notificado apenas na
+	 * concluso. Os limites de busca so verificados por cada trabalhador a cada
+	 * CoordenacaoParalela.LOTE_DE_VERIFICACAO expanses, de modo que a
+	 * quantidade de nodos pode exceder o limite em at um lote por trabalhador.
+	 * Ao trmino, o caminho correspondente a soluo encontra-se armazenado no
+	 * atributo caminho.
+	 */
+	@Override
+	public void buscar() {
+		iniciarBusca();
+		if (isInterrompida()) {
+			encerrarBusca(null);
+			return;
+		}
+		eSolucao = null;
+		falha = null;
+		encerrar = false;
+		coordenacao.iniciar(limites);
+		custoDaSolucao = new AtomicInteger(INFINITO);
+		pendentes = new AtomicInteger(qtdTrabalhadores);
+		trabalhadores = new Trabalhador[qtdTrabalhadores];
+		for (int i = 0; i < qtdTrabalhadores; i++)
+			trabalhadores[i] = new Trabalhador(i);
+
+		avaliar(eInicial);
+		enviar(eInicial);
+
+		ThreadFactory fabrica = CoordenacaoParalela.fabricaDeThreads("hda-trabalhador-");
+		Thread[] threads = new Thread[qtdTrabalhadores];
+		for (int i = 0; i < qtdTrabalhadores; i++) {
+			threads[i] = fabrica.newThread(trabalhadores[i]);
+			threads[i].start();
+		}
+		try {
+			for (Thread t : threads)
+				t.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			for (Thread t : threads)
+				t.interrupt();
+			throw new IllegalStateException("Busca paralela interrompida", e);
+		}
+		if (falha != null)
+			throw new IllegalStateException("Falha num trabalhador da busca paralela", falha);
+
+		if (coordenacao.getParada() != null)
+			interrupcao = coordenacao.getParada();
+		for (Trabalhador t : trabalhadores)
+			estatisticas.acumular(t.parciais);
+		trabalhadores = null;
+		encerrarBusca(eSolucao);
+	}
+
+	/**
+	 * Determina qual trabalhador  o dono de um estado.
+	 */
+	private int dono(Estado<?> estado) {
+		int h = estado.hashCode() * 0x9E3779B9;
+		return ((h ^ (h >>> 16)) & 0x7fffffff) % qtdTrabalhadores;
+	}
+
+	/**
+	 * Envia um estado ao seu dono. A mensagem  contabilizada como pendente antes
+	 * de ser publicada, o que impede a deteco prematura do trmino.
+	 */
+	private void enviar(Estado<?> estado) {
+		pendentes.incrementAndGet();
+		trabalhadores[dono(estado)].caixaDeEntrada.add(estado);
+	}
+
+	/**
+	 * Registra uma soluo, mantendo apenas a de menor custo.
+	 */
+	private synchronized void registrarSolucao(Estado<?> estado) {
+		if (estado.getCusto() < custoDaSolucao.get()) {
+			eSolucao = estado;
+			custoDaSolucao.set(estado.getCusto());
+		}
+	}
+
+	/**
+	 * Trabalhador responsvel por uma fatia do espao de estados.
+	 */
+	private class Trabalhador implements Runnable {
+
+		final int indice;
+		final Queue<Estado<?>> caixaDeEntrada = new ConcurrentLinkedQueue<Estado<?>>();
+		final ListaDeAbertos eAbertos = new HeapIndexado();			// ordenada por f = g + h
+		final Map<Estado<?>, Integer> melhorCusto = new HashMap<Estado<?>, Integer>();
+		final EstatisticasDeBusca parciais = new EstatisticasDeBusca();	// contadores deste trabalhador
+
+		Trabalhador(int indice) {
+			this.indice = indice;
+		}
+
+		@Override
+		public void run() {
+			try {
+				executar();
+			} catch (Throwable t) {
+				falha = t;
+				encerrar = true;	// faz com que os demais trabalhadores encerrem
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private void executar() {
+			while (!encerrar) {
+				Estado<?> recebido;
+				while ((recebido = caixaDeEntrada.poll()) != null) {
+					receber(recebido);
+					pendentes.decrementAndGet();
+				}
+
+				Estado<?> eCorrente = eAbertos.removerPrimeiro();
+				if (eCorrente != null && eCorrente.getCusto() + eCorrente.getAvaliacao() >= custoDaSolucao.get()) {
+					// nenhum nodo restante pode levar a uma soluo melhor
+					eAbertos.limpar();
+					eCorrente = null;
+				}
+				if (eCorrente == null) {
+					if (!aguardar())
+						return;
+					continue;
+				}
+
+				if (eCorrente.equals(eObjetivo)) {
+					registrarSolucao(eCorrente);
+					continue;
+				}
+				List<Estado<?>> eSucessores = (List<Estado<?>>) eCorrente.getSucessores();
+				for (Estado<?> estado : eSucessores) {
+					avaliar(estado);
+					if (estado.getCusto() + estado.getAvaliacao() >= custoDaSolucao.get())
+						continue;
+					if (dono(estado) == indice)
+						receber(estado);
+					else
+						enviar(estado);
+				}
+				parciais.expandido(eSucessores.size(), eAbertos.tamanho());
+				if (limites != null && parciais.getQtdExpandidos() % CoordenacaoParalela.LOTE_DE_VERIFICACAO == 0
+						&& !coordenacao.registrarLote(parciais.getMaiorFronteira()))
+					encerrar = true;
+			}
+		}
+
+		/**
+		 * Incorpora um estado a lista de abertos, caso seja indito ou tenha sido
+		 * alcanado por um custo menor que o conhecido.
+		 */
+		private void receber(Estado<?> estado) {
+			Integer custo = melhorCusto.get(estado);
+			if (custo != null && custo <= estado.getCusto()) {
+				parciais.descartado();
+				return;
+			}
+			melhorCusto.put(estado, estado.getCusto());
+			if (eAbertos.contem(estado))
+				eAbertos.atualizar(estado);
+			else
+				eAbertos.inserir(estado);
+		}
+
+		/**
+		 * Permanece ocioso at receber uma nova mensagem ou at que a busca termine.
+		 * @return true se h mensagens a processar, false se a busca terminou
+		 */
+		private boolean aguardar() {
+			pendentes.decrementAndGet();
+			while (caixaDeEntrada.isEmpty()) {
+				if (pendentes.get() <= 0 || encerrar)
+					return false;
+				LockSupport.parkNanos(ESPERA_OCIOSA);
+			}
+			pendentes.incrementAndGet();
+			return true;
+		}
+
+	}
+
+}
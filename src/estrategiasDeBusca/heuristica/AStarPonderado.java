@@ -0,0 +1,69 @@
+package estrategiasDeBusca.heuristica;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Esta classe implementa a busca A* ponderada (Weighted A*), que ordena a lista
+ * de abertos por f = g + e.h, com o peso e (epsilon) maior ou igual a 1. Ao
+ * valorizar a avaliao, a busca avana em direo a meta expandindo muito
+ * menos nodos que o A*, em troca de uma soluo que pode no ser tima: com
+ * uma heurstica admissvel, o custo encontrado  no mximo e vezes o custo
+ * timo. Com peso 1 a busca equivale ao A*.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class AStarPonderado extends AStar {
+
+	public static final double PESO_PADRAO = 2.0;
+
+	private OrdenarPorCustoMaisAvaliacaoPonderada criterio;	// f = g + e.h, que guarda o peso (epsilon)
+
+	/**
+	 * Construtor padro.
+	 */
+	public AStarPonderado() {
+		this(null,null);
+	}
+
+	/**
+	 * Cria uma nova instncia da busca A* ponderada, com o peso padro, e define
+	 * os estados inicial e objetivo para o processo.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 */
+	public AStarPonderado(Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		this(estadoInicial, estadoMeta, PESO_PADRAO);
+	}
+
+	/**
+	 * Cria uma nova instncia da busca A* ponderada, definindo os estados inicial
+	 * e objetivo e o peso aplicado a avaliao.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 * @param peso fator (epsilon) aplicado a avaliao, ao menos 1
+	 */
+	public AStarPonderado(Estado<?> estadoInicial, Estado<?> estadoMeta, double peso) {
+		super(estadoInicial,estadoMeta);
+		nomeDaEstrategia = "Busca A* Ponderada (Weighted A*)";
+		criterio = new OrdenarPorCustoMaisAvaliacaoPonderada(1.0);
+		setPeso(peso);
+		setListaDeAbertos(new HeapIndexado(criterio));
+	}
+
+	public double getPeso() {
+		return criterio.getPeso();
+	}
+
+	/**
+	 * Define o peso aplicado a avaliao, que  tambm o limite do fator entre
+	 * o custo da soluo encontrada e o custo timo.
+	 * @param peso fator (epsilon) aplicado a avaliao, ao menos 1
+	 */
+	public void setPeso(double peso) {
+		if (!(peso >= 1.0))
+			throw new IllegalArgumentException("O peso da avaliao deve ser ao menos 1");
+		criterio.setPeso(peso);
+	}
+
+}
@@ -0,0 +1,236 @@
+package estrategiasDeBusca.heuristica;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import espacoDeEstados.Estado;
+import espacoDeEstados.QuebraCabecaDeslizante;
+
+/**
+ * Esta classe disponibiliza, como funo heurstica, um banco de padres
+ * aditivo gerado por ConstrutorDeBancoDePadroes. O arquivo  mapeado em memria
+ * (MappedByteBuffer), de modo que o carregamento  praticamente instantneo e as
+ * pginas so trazidas do disco pelo sistema operacional apenas quando consultadas.
+ *
+ * A avaliao de um estado  a soma, para cada padro, da distncia armazenada
+ * para a disposio atual das suas peas. Como os padres so disjuntos, a
+ * heurstica  admissvel e sempre maior ou igual a distncia Manhattan.
+ *
+ * As distncias valem apenas para a meta com que o banco foi construdo: uma
+ * busca com outra meta  rejeitada (ver ajustar). As consultas utilizam vetores
+ * auxiliares reaproveitados por thread e no alocam objetos.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class BancoDePadroes implements FuncaoHeuristicaAjustavel {
+
+	private final int lado;
+	private final int[] meta;				// pea que ocupa cada posio na meta
+	private final int[][] padroes;			// peas de cada padro
+	private final int[] deslocamentos;		// incio da tabela de cada padro no arquivo
+	private final MappedByteBuffer tabelas;
+	private final ThreadLocal<int[][]> auxiliares;	// posio de cada pea e posies de um padro
+
+	private BancoDePadroes(int lado, int[] meta, int[][] padroes, int[] deslocamentos, MappedByteBuffer tabelas) {
+		this.lado = lado;
+		this.meta = meta;
+		this.padroes = padroes;
+		this.deslocamentos = deslocamentos;
+		this.tabelas = tabelas;
+		final int n = lado * lado;
+		this.auxiliares = new ThreadLocal<int[][]>() {
+			@Override
+			protected int[][] initialValue() {
+				return new int[2][n];
+			}
+		};
+	}
+
+	/**
+	 * Carrega um banco de padres previamente gravado, mapeando o arquivo em memria.
+	 * @param arquivo arquivo gerado por ConstrutorDeBancoDePadroes
+	 * @return banco de padres pronto para ser utilizado como heurstica
+	 */
+	public static BancoDePadroes carregar(File arquivo) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(arquivo, "r");
+		try {
+			FileChannel canal = raf.getChannel();
+			MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+			if (buffer.getInt() != ConstrutorDeBancoDePadroes.MAGICO)
+				throw new IOException(arquivo + " no  um banco de padres vlido");
+			int lado = buffer.getInt();
+			int[] meta = new int[lado * lado];
+			for (int i = 0; i < meta.length; i++)
+				meta[i] = buffer.getInt();
+			int[][] padroes = new int[buffer.getInt()][];
+			int[] tamanhos = new int[padroes.length];
+			for (int p = 0; p < padroes.length; p++) {
+				padroes[p] = new int[buffer.getInt()];
+				for (int i = 0; i < padroes[p].length; i++)
+					padroes[p][i] = buffer.getInt();
+				tamanhos[p] = buffer.getInt();
+			}
+			int[] deslocamentos = new int[padroes.length];
+			int pos = buffer.position();
+			for (int p = 0; p < padroes.length; p++) {
+				deslocamentos[p] = pos;
+				pos += tamanhos[p];
+			}
+			if (pos != canal.size())
+				throw new IOException(arquivo + " est incompleto ou corrompido");
+			return new BancoDePadroes(lado, meta, padroes, deslocamentos, buffer);
+		} finally {
+			raf.close();	// o mapeamento permanece vlido aps o fechamento do arquivo
+		}
+	}
+
+	/**
+	 * Carrega o banco de padres do arquivo informado ou, caso ele ainda no
+	 * exista, constri o banco com a partio padro e o grava antes de carreg-lo.
+	 * @param arquivo arquivo do banco de padres
+	 * @param meta pea que ocupa cada posio na configurao meta (0 para a livre)
+	 * @param lado quantidade de linhas e colunas do tabuleiro
+	 * @return banco de padres pronto para ser utilizado como heurstica
+	 * @throws IllegalArgumentException se o arquivo existente foi construdo para
+	 * outro tabuleiro ou outra meta
+	 */
+	public static BancoDePadroes carregarOuConstruir(File arquivo, int[] meta, int lado) throws IOException {
+		if (!arquivo.exists())
+			ConstrutorDeBancoDePadroes.construir(meta, lado, ConstrutorDeBancoDePadroes.particaoPadrao(lado), arquivo);
+		BancoDePadroes banco = carregar(arquivo);
+		if (banco.lado != lado || !Arrays.equals(banco.meta, meta))
+			throw new IllegalArgumentException(arquivo + " foi construdo para outra configurao meta");
+		return banco;
+	}
+
+	public int getLado() {
+		return lado;
+	}
+
+	/**
+	 * Recupera a pea que ocupa uma posio na configurao meta do banco.
+	 */
+	public int getPecaMeta(int posicao) {
+		return meta[posicao];
+	}
+
+	/**
+	 * Verifica se a meta da busca  a meta do banco, a nica para a qual as
+	 * distncias armazenadas so vlidas.
+	 * @return o prprio banco
+	 * @throws IllegalArgumentException se a meta for outra
+	 */
+	@Override
+	public FuncaoHeuristica ajustar(Estado<?> meta) {
+		if (!(meta instanceof QuebraCabecaDeslizante) || ((QuebraCabecaDeslizante) meta).getLado() != lado)
+			throw new IllegalArgumentException("Banco de padres construdo para tabuleiros " + lado + "x" + lado);
+		QuebraCabecaDeslizante tabuleiro = (QuebraCabecaDeslizante) meta;
+		for (int pos = 0; pos < this.meta.length; pos++)
+			if (tabuleiro.getPeca(pos) != this.meta[pos])
+				throw new IllegalArgumentException("A meta da busca difere da meta do banco de padres");
+		return this;
+	}
+
+	@Override
+	public int avaliar(Estado<?> estado) {
+		QuebraCabecaDeslizante tabuleiro = (QuebraCabecaDeslizante) estado;
+		if (tabuleiro.getLado() != lado)
+			throw new IllegalArgumentException("Banco de padres construdo para tabuleiros " + lado + "x" + lado);
+		int[][] auxiliar = auxiliares.get();
+		int[] posicaoDaPeca = auxiliar[0];
+		for (int pos = 0; pos < posicaoDaPeca.length; pos++)
+			posicaoDaPeca[tabuleiro.getPeca(pos)] = pos;
+		return avaliar(posicaoDaPeca, auxiliar[1]);
+	}
+
+	/**
+	 * Avalia uma configurao descrita pela posio de cada pea.
+	 * @param posicaoDaPeca posio ocupada por cada pea (ndice 0  a posio livre)
+	 * @return soma das distncias armazenadas para cada padro
+	 */
+	public int avaliar(int[] posicaoDaPeca) {
+		return avaliar(posicaoDaPeca, auxiliares.get()[1]);
+	}
+
+	private int avaliar(int[] posicaoDaPeca, int[] posicoes) {
+		int n = lado * lado;
+		int h = 0;
+		for (int p = 0; p < padroes.length; p++) {
+			int[] padrao = padroes[p];
+			for (int i = 0; i < padrao.length; i++)
+				posicoes[i] = posicaoDaPeca[padrao[i]];
+			h += tabelas.get(deslocamentos[p] + ordenar(posicoes, padrao.length, n)) & 0xFF;
+		}
+		return h;
+	}
+
+	/**
+	 * Quantidade de disposies possveis de k peas distintas em n posies,
+	 * isto , n! / (n-k)!.
+	 */
+	static int qtdDisposicoes(int n, int k) {
+		long qtd = 1;
+		for (int i = 0; i < k; i++)
+			qtd *= (n - i);
+		if (qtd > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Padro com " + k + " peas  grande demais para " + n + " posies");
+		return (int) qtd;
+	}
+
+	/**
+	 * Calcula a posio (rank) de uma disposio de peas na ordem lexicogrfica
+	 * das permutaes parciais das n posies do tabuleiro.
+	 * @param posicoes posio de cada pea do padro
+	 * @param n quantidade de posies do tabuleiro
+	 * @return ndice entre 0 e n!/(n-k)! - 1
+	 */
+	static int ordenar(int[] posicoes, int n) {
+		return ordenar(posicoes, posicoes.length, n);
+	}
+
+	private static int ordenar(int[] posicoes, int k, int n) {
+		int indice = 0;
+		for (int i = 0; i < k; i++) {
+			int menores = 0;
+			for (int j = 0; j < i; j++)
+				if (posicoes[j] < posicoes[i])
+					menores++;
+			indice = indice * (n - i) + (posicoes[i] - menores);
+		}
+		return indice;
+	}
+
+	/**
+	 * Operao inversa de ordenar(), que reconstri a disposio das peas a
+	 * partir do seu ndice.
+	 * @param indice ndice da disposio
+	 * @param n quantidade de posies do tabuleiro
+	 * @param posicoes vetor que receber a posio de cada pea do padro
+	 */
+	static void desordenar(int indice, int n, int[] posicoes) {
+		int k = posicoes.length;
+		for (int i = k - 1; i >= 0; i--) {
+			posicoes[i] = indice % (n - i);
+			indice /= (n - i);
+		}
+		// converte cada valor relativo na posio livre correspondente
+		long usadas = 0L;
+		for (int i = 0; i < k; i++) {
+			int r = posicoes[i];
+			int pos = -1;
+			while (r >= 0) {
+				pos++;
+				if ((usadas & (1L << pos)) == 0)
+					r--;
+			}
+			posicoes[i] = pos;
+			usadas |= 1L << pos;
+		}
+	}
+
+}
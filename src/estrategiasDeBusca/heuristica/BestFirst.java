@@ -34,23 +34,21 @@ public class BestFirst extends BuscaInformada {
 	@Override
 	public void buscar() {
 		Estado<?> eCorrente = eInicial;
-		while ((eCorrente != null) && (!eCorrente.equals(eObjetivo))) {
+		iniciarBusca();
+		eAbertos.clear();
+		repetidos.registrar(eInicial);
+		while ((eCorrente != null) && (!eCorrente.equals(eObjetivo)) && dentroDosLimites()) {
 			List<?> eSucessores = eCorrente.getSucessores();
+			for (Estado<?> estado : (List<Estado<?>>) eSucessores)
+				avaliar(estado);
 			Collections.sort((List<Estado<?>>) eSucessores, new OrdenarPorAvaliacao());
 			for (Estado<?> estado : (List<Estado<?>>) eSucessores)
-				eAbertos.add(estado);
+				if (repetidos.registrar(estado))
+					eAbertos.add(estado);
+			estatisticas.expandido(eSucessores.size(), eAbertos.size());
 			eCorrente = eAbertos.poll();
 		}
-		// Se o lao foi encerrado por um estado vlido ...
-		if (eCorrente != null) {
-			// ento construmos o caminho da soluo (da folha at a raiz)
-			caminho.add(eCorrente);
-			while (eCorrente.getAncestral() != null) {
-				eCorrente = eCorrente.getAncestral();
-				caminho.add(eCorrente);
-			}
-			Collections.reverse(caminho);
-		}		
+		encerrarBusca(eCorrente);
 	}
 
 }
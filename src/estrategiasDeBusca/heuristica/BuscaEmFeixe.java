@@ -0,0 +1,222 @@
+package estrategiasDeBusca.heuristica;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Esta classe implementa a Busca em Feixe (Beam Search), que explora o espao
+ * nvel a nvel como a busca em largura, mas mantm em cada nvel apenas os k
+ * estados de menor avaliao (a largura do feixe). Os melhores sucessores so
+ * escolhidos por um heap de tamanho k, sem ordenar todos os gerados, e somente
+ * os estados escolhidos so registrados no controle de repetidos. Assim, a
+ * memria consumida  limitada a O(k.profundidade), independentemente do
+ * tamanho do espao de estados.
+ *
+ * Ao descartar estados, a busca pode no encontrar a meta mesmo que ela
+ * exista, e a soluo encontrada no  necessariamente tima. Opcionalmente,
+ * quando o feixe se esgota (ou excede a profundidade mxima) sem alcanar a
+ * meta, a busca  repetida com o dobro da largura, at a largura mxima.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class BuscaEmFeixe extends BuscaInformada {
+
+	public static final int LARGURA_PADRAO = 64;
+	public static final int SEM_LIMITE = Integer.MAX_VALUE;
+
+	private int largura;				// quantidade de estados mantidos em cada nvel
+	private int larguraMaxima;			// largura at a qual o feixe  alargado aps uma falha
+	private int profundidadeMaxima;		// nvel a partir do qual o feixe no avana
+	private Estado<?>[] selecionados;	// heap mximo, por avaliao, dos melhores sucessores do nvel
+
+	/**
+	 * Construtor padro.
+	 */
+	public BuscaEmFeixe() {
+		this(null,null);
+	}
+
+	/**
+	 * Cria uma nova instncia da Busca em Feixe, com a largura padro, e define
+	 * os estados inicial e objetivo para o processo.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 */
+	public BuscaEmFeixe(Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		this(estadoInicial, estadoMeta, LARGURA_PADRAO);
+	}
+
+	/**
+	 * Cria uma nova instncia da Busca em Feixe, definindo os estados inicial e
+	 * objetivo e a largura do feixe.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 * @param largura quantidade de estados mantidos em cada nvel
+	 */
+	public BuscaEmFeixe(Estado<?> estadoInicial, Estado<?> estadoMeta, int largura) {
+		super(estadoInicial,estadoMeta);
+		nomeDaEstrategia = "Busca em Feixe (Beam Search)";
+		setLargura(largura);
+		profundidadeMaxima = SEM_LIMITE;
+	}
+
+	public int getLargura() {
+		return largura;
+	}
+
+	/**
+	 * Define quantos estados so mantidos em cada nvel. A largura mxima passa
+	 * a ser a prpria largura, isto , o feixe no  alargado.
+	 * @param largura quantidade de estados (ao menos um)
+	 */
+	public void setLargura(int largura) {
+		if (largura < 1)
+			throw new IllegalArgumentException("O feixe deve possuir ao menos um estado");
+		this.largura = largura;
+		this.larguraMaxima = largura;
+	}
+
+	public int getLarguraMaxima() {
+		return larguraMaxima;
+	}
+
+	/**
+	 * Permite que a busca seja repetida com o dobro da largura sempre que o
+	 * feixe se esgotar sem alcanar a meta, at a largura informada.
+	 * @param larguraMaxima maior largura utilizada (igual a largura para no alargar)
+	 */
+	public void setLarguraMaxima(int larguraMaxima) {
+		if (larguraMaxima < largura)
+			throw new IllegalArgumentException("A largura mxima no pode ser menor que a largura do feixe");
+		this.larguraMaxima = larguraMaxima;
+	}
+
+	public int getProfundidadeMaxima() {
+		return profundidadeMaxima;
+	}
+
+	/**
+	 * Define o nvel a partir do qual o feixe deixa de avanar, o que limita o
+	 * tempo gasto em cada tentativa (e, com ele, a memria) nos espaos em que
+	 * o feixe dificilmente se esgota.
+	 * @param profundidadeMaxima nvel mximo (SEM_LIMITE para no limitar)
+	 */
+	public void setProfundidadeMaxima(int profundidadeMaxima) {
+		if (profundidadeMaxima < 0)
+			throw new IllegalArgumentException("A profundidade mxima no pode ser negativa");
+		this.profundidadeMaxima = profundidadeMaxima;
+	}
+
+	/**
+	 * Implementa efetivamente a estratgia de busca, avanando o feixe nvel a
+	 * nvel at que a meta seja gerada ou o feixe se esgote, alargando-o e
+	 * repetindo a busca se permitido. Ao trmino, o caminho correspondente a
+	 * soluo encontra-se armazenado no atributo caminho.
+	 */
+	@Override
+	public void buscar() {
+		iniciarBusca();
+		Estado<?> eMeta = null;
+		int k = largura;
+		while (true) {
+			eMeta = avancarFeixe(k);
+			if (eMeta != null || isInterrompida() || k >= larguraMaxima)
+				break;
+			k = (int) Math.min((long) k * 2, larguraMaxima);
+			estatisticas.acumularRepetidos(repetidos);
+			repetidos.limpar();
+			estatisticas.novaIteracao();
+		}
+		selecionados = null;
+		encerrarBusca(eMeta);
+	}
+
+	/**
+	 * Executa uma tentativa com o feixe da largura informada.
+	 * @return estado meta alcanado ou null, caso o feixe tenha se esgotado
+	 */
+	@SuppressWarnings("unchecked")
+	private Estado<?> avancarFeixe(int k) {
+		avaliar(eInicial);
+		repetidos.registrar(eInicial);
+		if (eInicial.equals(eObjetivo))
+			return eInicial;
+		if (selecionados == null || selecionados.length < k)
+			selecionados = new Estado<?>[k];
+		List<Estado<?>> feixe = new ArrayList<Estado<?>>(1);
+		feixe.add(eInicial);
+		Set<Estado<?>> gerados = new HashSet<Estado<?>>();	// candidatos do nvel, para descartar repeties
+		for (int nivel = 0; nivel < profundidadeMaxima && !feixe.isEmpty(); nivel++) {
+			int qtd = 0;
+			gerados.clear();
+			for (Estado<?> eCorrente : feixe) {
+				if (!dentroDosLimites())
+					return null;
+				List<Estado<?>> eSucessores = (List<Estado<?>>) eCorrente.getSucessores();
+				for (Estado<?> estado : eSucessores) {
+					if (estado.equals(eObjetivo))
+						return estado;
+					if (repetidos.contem(estado) || !gerados.add(estado)) {
+						estatisticas.descartado();
+						continue;
+					}
+					avaliar(estado);
+					qtd = selecionar(estado, qtd, k);
+				}
+				estatisticas.expandido(eSucessores.size(), qtd);
+			}
+			feixe = new ArrayList<Estado<?>>(qtd);
+			for (int i = 0; i < qtd; i++) {
+				repetidos.registrar(selecionados[i]);
+				feixe.add(selecionados[i]);
+				selecionados[i] = null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Submete um sucessor ao heap dos k melhores do nvel: enquanto houver
+	 * espao ele  inserido e, depois disso, substitui o pior dos selecionados
+	 * somente se possuir avaliao menor.
+	 * @param qtd quantidade de estados no heap
+	 * @return nova quantidade de estados no heap
+	 */
+	private int selecionar(Estado<?> estado, int qtd, int k) {
+		if (qtd < k) {
+			int i = qtd++;
+			selecionados[i] = estado;
+			while (i > 0 && selecionados[(i - 1) >>> 1].getAvaliacao() < selecionados[i].getAvaliacao()) {
+				trocar(i, (i - 1) >>> 1);
+				i = (i - 1) >>> 1;
+			}
+		} else if (estado.getAvaliacao() < selecionados[0].getAvaliacao()) {
+			selecionados[0] = estado;
+			int i = 0;
+			while (true) {
+				int maior = i, esq = 2 * i + 1, dir = esq + 1;
+				if (esq < qtd && selecionados[esq].getAvaliacao() > selecionados[maior].getAvaliacao())
+					maior = esq;
+				if (dir < qtd && selecionados[dir].getAvaliacao() > selecionados[maior].getAvaliacao())
+					maior = dir;
+				if (maior == i)
+					break;
+				trocar(i, maior);
+				i = maior;
+			}
+		}
+		return qtd;
+	}
+
+	private void trocar(int i, int j) {
+		Estado<?> e = selecionados[i];
+		selecionados[i] = selecionados[j];
+		selecionados[j] = e;
+	}
+
+}
@@ -1,10 +1,9 @@
 package estrategiasDeBusca.heuristica;
 
-import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.List;
 
 import espacoDeEstados.Estado;
+import estrategiasDeBusca.BuscaAbstrata;
 
 /**
  * Esta classe modela os aspectos comuns as estratgias de busca informada,
@@ -14,12 +13,10 @@ import espacoDeEstados.Estado;
  * @author Leandro Fernandes
  *
  */
-public abstract class BuscaInformada {
+public abstract class BuscaInformada extends BuscaAbstrata {
 	
-	protected String nomeDaEstrategia;	// nome da estratgia de busca utilizada
-	protected Estado<?> eInicial;		// representa o estado inicial da busca
-	protected Estado<?> eObjetivo;		// representa um estado do problema que contenha os objetivos ou seja, em si mesmo, a meta para a busca.
-	protected List<Estado<?>> caminho;	// contm o caminho da soluo desde a raiz (inicio) 
+	protected FuncaoHeuristica funcaoHeuristica;	// heurstica externa, utilizada no lugar da calculada pelos estados
+	private FuncaoHeuristica heuristicaDaMeta;		// heurstica externa ajustada para a meta da busca
 	
 	/**
 	 * Construtor padro.
@@ -29,26 +26,19 @@ public abstract class BuscaInformada {
 	}
 	
 	public BuscaInformada(Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		super(estadoInicial,estadoMeta);
 		this.nomeDaEstrategia = "Busca informada";
-		eInicial = estadoInicial;
-		eObjetivo = estadoMeta;
-		caminho = new ArrayList<Estado<?>>();
+		vincularMeta();
 	}
 
-	/**
-	 * Recupera o nome da estratgia de busca.
-	 * @return nome da estratgia de busca
-	 */
-	public String getNomeDaEstrategia() {
-		return nomeDaEstrategia;
-	}
-	
 	/**
 	 * Define o estado inicial da busca, isto , o ponto de partida do processo
 	 * @param estadoInicial um dos estados possveis do problema
 	 */
+	@Override
 	public void setInicio(Estado<?> estadoInicial) {
-		this.eInicial = estadoInicial;
+		super.setInicio(estadoInicial);
+		vincularMeta();
 	}
 	
 	/**
@@ -57,32 +47,78 @@ public abstract class BuscaInformada {
 	 * estado meta. 
 	 * @param estadoMeta um estado possvel do problema que atende os objetivos
 	 */
+	@Override
 	public void setObjetivo(Estado<?> estadoMeta) {
-		this.eObjetivo = estadoMeta;
+		super.setObjetivo(estadoMeta);
+		vincularMeta();
+	}
+	
+	/**
+	 * Informa ao estado inicial qual  a meta da busca, de modo que a heurstica
+	 * utilizada por ele e por todos os seus sucessores seja calculada em relao
+	 * ao objetivo definido.
+	 */
+	protected void vincularMeta() {
+		if (eInicial != null && eObjetivo != null)
+			eInicial.definirMeta(eObjetivo);
+		ajustarHeuristica();
 	}
 	
 	/**
-	 * Recupera o estado considerado como meta para a busca, aquele que contm
-	 * ou atende os objetivos estabelecidos para o processo de busca.
-	 * @return um estado soluo para o problema apresentado.
+	 * Ajusta a heurstica externa para a meta da busca, quando ela for calculada
+	 * em relao a uma meta prpria (ver FuncaoHeuristicaAjustavel).
+	 * @throws IllegalArgumentException se a heurstica no atender a meta da busca
 	 */
-	public Estado<?> getObjetivo() {
-		return eObjetivo;
+	private void ajustarHeuristica() {
+		if (funcaoHeuristica instanceof FuncaoHeuristicaAjustavel && eObjetivo != null)
+			heuristicaDaMeta = ((FuncaoHeuristicaAjustavel) funcaoHeuristica).ajustar(eObjetivo);
+		else
+			heuristicaDaMeta = funcaoHeuristica;
 	}
 	
 	/**
-	 * Mtodo que realiza a explorao do espao de busca, tomando como partida
-	 * o estado inicial e seguindo, estado aps estado, na construo do caminho
-	 * que leva a um estado soluo (objetivo).
+	 * Define uma funo heurstica que passa a ser utilizada no lugar daquela
+	 * calculada pelos prprios estados (null restabelece o comportamento padro).
+	 * @param funcao funo de avaliao dos estados
+	 * @throws IllegalArgumentException se a funo no atender a meta da busca
 	 */
-	public abstract void buscar();
+	public void setFuncaoHeuristica(FuncaoHeuristica funcao) {
+		this.funcaoHeuristica = funcao;
+		ajustarHeuristica();
+	}
 	
 	/**
-	 * Recupera o caminho correspondente a soluo encontrada pela busca.
-	 * @return
+	 * Recupera a funo heurstica externa definida para a busca.
+	 * @return funo de avaliao ou null, caso seja utilizada a dos estados
 	 */
-	public List<Estado<?>> getCaminhoSolucao() {
-		return caminho;
+	public FuncaoHeuristica getFuncaoHeuristica() {
+		return funcaoHeuristica;
+	}
+	
+	/**
+	 * Reavalia um estado com a funo heurstica externa, quando definida.
+	 * @param estado estado recm gerado
+	 */
+	protected void avaliar(Estado<?> estado) {
+		if (heuristicaDaMeta != null) {
+			estado.setAvaliacao( heuristicaDaMeta.avaliar(estado) );
+			estado.setF( estado.getCusto() + estado.getAvaliacao() );
+		}
+	}
+	
+	/**
+	 * Materializa o caminho percorrido por uma explorao baseada em movimentos,
+	 * reavaliando os estados criados com a heurstica externa, se houver.
+	 * @param movimentos movimentos aplicados desde o estado inicial
+	 * @param qtd quantidade de movimentos do caminho
+	 * @return ltimo estado do caminho
+	 */
+	@Override
+	protected Estado<?> reproduzirCaminho(int[] movimentos, int qtd) {
+		Estado<?> eMeta = super.reproduzirCaminho(movimentos, qtd);
+		for (Estado<?> estado = eMeta; estado != eInicial; estado = estado.getAncestral())
+			avaliar(estado);
+		return eMeta;
 	}
 	
 }
@@ -103,14 +139,4 @@ class OrdenarPorAvaliacao implements Comparator<Estado<?>> {
 		return estado1.getAvaliacao() - estado2.getAvaliacao();
 	}
 
-}
-
-class OrdenarPorCustoMaisAvaliacao implements Comparator<Estado<?>> {
-
-	@Override
-	public int compare(Estado<?> estado1, Estado<?> estado2) {
-		int f = (estado1.getCusto() + estado1.getAvaliacao()) - (estado2.getCusto() + estado2.getAvaliacao());		
-		return (f != 0) ? f : estado2.getNivel() - estado1.getNivel();
-	}
-
 }
\ No newline at end of file
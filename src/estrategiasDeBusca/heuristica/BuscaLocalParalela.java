@@ -0,0 +1,519 @@
+package estrategiasDeBusca.heuristica;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import espacoDeEstados.Estado;
+import espacoDeEstados.Reversivel;
+import estrategiasDeBusca.CoordenacaoParalela;
+import estrategiasDeBusca.EstatisticasDeBusca;
+
+/**
+ * Esta classe implementa uma busca local paralela: vrios caminhantes
+ * independentes percorrem o espao de estados ao mesmo tempo, num conjunto
+ * limitado de threads, cada um segundo um TipoDeCaminhada (subida de encosta,
+ * subida de encosta com reincio aleatrio ou tmpera simulada). O primeiro
+ * caminhante que alcanar a meta vence e os demais so cancelados.
+ *
+ * Diferente da HillClimbing, nenhum caminhante mantm pilha ou lista de
+ * abertos: apenas o estado corrente (modificado atravs de movimentos, quando
+ * reversvel) e um registro de um inteiro por passo, com o movimento escolhido
+ * (ou a posio do sucessor escolhido, quando o estado no  reversvel), a
+ * partir do qual o caminho do vencedor  reproduzido. Cada
+ * caminhada  limitada a getMaxPassos() passos e recomea do estado inicial,
+ * de modo que a memria de cada caminhante no cresce com a durao da busca.
+ * Os ciclos percorridos pelo vencedor so removidos do caminho devolvido, que
+ * no  necessariamente o mais curto.
+ *
+ * Cada caminhante utiliza o seu prprio gerador aleatrio, derivado da semente
+ * da busca e do seu ndice. Os limites de busca so verificados por cada
+ * caminhante a cada CoordenacaoParalela.LOTE_DE_VERIFICACAO passos.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class BuscaLocalParalela extends BuscaInformada {
+
+	public static final int MAX_PASSOS_PADRAO = 10000;
+	public static final int MAX_REINICIOS_PADRAO = 100;
+	private static final int MAX_MOVIMENTOS_LATERAIS = 20;	// passos seguidos sem melhora aceitos na subida de encosta
+	private static final int PASSOS_DE_DISPERSAO = 20;		// movimentos aleatrios antes de cada reincio
+	private static final double TEMPERATURA_INICIAL = 2.0;
+	private static final double TEMPERATURA_MINIMA = 0.05;
+	private static final double FATOR_DE_RESFRIAMENTO = 0.999;
+
+	private int qtdThreads;						// threads que executam as caminhadas
+	private int qtdCaminhantes;					// caminhadas simultneas
+	private TipoDeCaminhada[] caminhadas;		// tipos distribudos entre os caminhantes
+	private int maxPassos;						// passos de cada caminhada
+	private int maxReinicios;					// reincios de cada caminhante
+	private long semente;
+
+	private ExecutorService executor;
+	private AtomicReference<Caminhante> vencedor;
+	private AtomicInteger ativos;				// caminhantes que ainda no desistiram
+	private CountDownLatch termino;
+	private volatile boolean encerrar;			// solicita que todos os caminhantes terminem
+	private volatile Throwable falha;			// primeira falha ocorrida num caminhante
+	private final CoordenacaoParalela coordenacao = new CoordenacaoParalela();	// limites e interrupo compartilhados pelos caminhantes
+
+	/**
+	 * Construtor padro.
+	 */
+	public BuscaLocalParalela() {
+		this(null,null);
+	}
+
+	/**
+	 * Cria uma nova instncia da busca local paralela, com uma thread para cada
+	 * processador disponvel, e define os estados inicial e objetivo para o
+	 * processo.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 */
+	public BuscaLocalParalela(Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		this(estadoInicial, estadoMeta, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Cria uma nova instncia da busca local paralela, definindo os estados
+	 * inicial e objetivo e a quantidade de threads utilizadas. So criados ao
+	 * menos um caminhante por thread e um de cada tipo de caminhada.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 * @param qtdThreads quantidade de threads que executam as caminhadas
+	 */
+	public BuscaLocalParalela(Estado<?> estadoInicial, Estado<?> estadoMeta, int qtdThreads) {
+		super(estadoInicial,estadoMeta);
+		nomeDaEstrategia = "Busca Local Paralela (Subida de Encosta, Reincio Aleatrio e Tmpera Simulada)";
+		setQtdThreads(qtdThreads);
+		setCaminhadas(TipoDeCaminhada.values());
+		qtdCaminhantes = Math.max(qtdThreads, caminhadas.length);
+		maxPassos = MAX_PASSOS_PADRAO;
+		maxReinicios = MAX_REINICIOS_PADRAO;
+		semente = System.nanoTime();
+	}
+
+	public int getQtdThreads() {
+		return qtdThreads;
+	}
+
+	/**
+	 * Define a quantidade de threads que executam as caminhadas.
+	 * @param qtdThreads quantidade de threads (ao menos uma)
+	 */
+	public void setQtdThreads(int qtdThreads) {
+		if (qtdThreads < 1)
+			throw new IllegalArgumentException("A busca exige ao menos uma thread");
+		this.qtdThreads = qtdThreads;
+	}
+
+	public int getQtdCaminhantes() {
+		return qtdCaminhantes;
+	}
+
+	/**
+	 * Define quantas caminhadas so realizadas simultaneamente. Havendo mais
+	 * caminhantes que threads, eles se revezam a cada reincio.
+	 * @param qtdCaminhantes quantidade de caminhantes (ao menos um)
+	 */
+	public void setQtdCaminhantes(int qtdCaminhantes) {
+		if (qtdCaminhantes < 1)
+			throw new IllegalArgumentException("A busca exige ao menos um caminhante");
+		this.qtdCaminhantes = qtdCaminhantes;
+	}
+
+	public TipoDeCaminhada[] getCaminhadas() {
+		return caminhadas.clone();
+	}
+
+	/**
+	 * Define os tipos de caminhada, atribudos aos caminhantes de forma
+	 * circular (o caminhante i utiliza caminhadas[i % caminhadas.length]).
+	 * @param caminhadas ao menos um tipo de caminhada
+	 */
+	public void setCaminhadas(TipoDeCaminhada... caminhadas) {
+		if (caminhadas.length == 0)
+			throw new IllegalArgumentException(" necessrio ao menos um tipo de caminhada");
+		this.caminhadas = caminhadas.clone();
+	}
+
+	public int getMaxPassos() {
+		return maxPassos;
+	}
+
+	/**
+	 * Define quantos passos cada caminhada pode dar antes de recomear, o que
+	 * limita o registro de movimentos mantido por cada caminhante.
+	 * @param maxPassos quantidade mxima de passos (ao menos um)
+	 */
+	public void setMaxPassos(int maxPassos) {
+		if (maxPassos < 1)
+			throw new IllegalArgumentException("Cada caminhada deve permitir ao menos um passo");
+		this.maxPassos = maxPassos;
+	}
+
+	public int getMaxReinicios() {
+		return maxReinicios;
+	}
+
+	/**
+	 * Define quantas vezes cada caminhante recomea (exceto na subida de
+	 * encosta simples) antes de desistir. A busca termina sem soluo quando
+	 * todos os caminhantes desistem.
+	 * @param maxReinicios quantidade mxima de reincios (no negativa)
+	 */
+	public void setMaxReinicios(int maxReinicios) {
+		if (maxReinicios < 0)
+			throw new IllegalArgumentException("A quantidade de reincios no pode ser negativa");
+		this.maxReinicios = maxReinicios;
+	}
+
+	/**
+	 * Define a semente dos geradores aleatrios, tornando cada caminhada
+	 * reprodutvel (o vencedor ainda depende do escalonamento das threads).
+	 */
+	public void setSemente(long semente) {
+		this.semente = semente;
+	}
+
+	/**
+	 * Implementa efetivamente a estratgia de busca, iniciando os caminhantes e
+	 * aguardando at que um deles alcance a meta, todos desistam ou um limite
+	 * seja excedido. As estatsticas de cada caminhante so somadas somente ao
+	 * final. Ao trmino, o caminho correspondente a soluo, reproduzido a
+	 * partir dos movimentos do vencedor, encontra-se armazenado no atributo
+	 * caminho.
+	 */
+	@Override
+	public void buscar() {
+		iniciarBusca();
+		if (isInterrompida()) {
+			encerrarBusca(null);
+			return;
+		}
+		avaliar(eInicial);
+		if (eInicial.equals(eObjetivo)) {
+			encerrarBusca(eInicial);
+			return;
+		}
+		vencedor = new AtomicReference<Caminhante>();
+		ativos = new AtomicInteger(qtdCaminhantes);
+		termino = new CountDownLatch(1);
+		encerrar = false;
+		falha = null;
+		coordenacao.iniciar(limites);
+		executor = Executors.newFixedThreadPool(qtdThreads, CoordenacaoParalela.fabricaDeThreads("busca-local-"));
+		Caminhante[] caminhantes = new Caminhante[qtdCaminhantes];
+		for (int i = 0; i < qtdCaminhantes; i++) {
+			caminhantes[i] = new Caminhante(i, caminhadas[i % caminhadas.length]);
+			executor.execute(caminhantes[i]);
+		}
+		try {
+			termino.await();
+			encerrar = true;
+			executor.shutdownNow();
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			encerrar = true;
+			executor.shutdownNow();
+			throw new IllegalStateException("Busca local interrompida", e);
+		} finally {
+			executor = null;
+		}
+		if (falha != null)
+			throw new IllegalStateException("Falha num caminhante da busca local", falha);
+
+		for (Caminhante c : caminhantes)
+			estatisticas.acumular(c.parciais);
+		estatisticas.fronteira(qtdCaminhantes);
+		Caminhante eleito = vencedor.get();
+		if (eleito == null) {
+			if (coordenacao.getParada() != null)
+				interrupcao = coordenacao.getParada();
+			encerrarBusca(null);
+			return;
+		}
+		estatisticas.encerrarExploracao();
+		int[] sequencia = removerCiclos(Arrays.copyOf(eleito.registro, eleito.qtdPassos));
+		construirCaminho(reproduzir(sequencia));
+		concluirBusca();
+	}
+
+	/**
+	 * Reproduz uma sequncia de movimentos (ou de posies na lista de
+	 * sucessores de cada estado, quando no reversvel) a partir do estado
+	 * inicial, avaliando os estados criados com a heurstica externa, se houver.
+	 * @return ltimo estado da sequncia, encadeado aos anteriores como ancestrais
+	 */
+	private Estado<?> reproduzir(int[] sequencia) {
+		if (eInicial instanceof Reversivel)
+			return reproduzirCaminho(sequencia, sequencia.length);
+		Estado<?> eCorrente = eInicial;
+		for (int i = 0; i < sequencia.length; i++) {
+			eCorrente = (Estado<?>) eCorrente.getSucessores().get(sequencia[i]);
+			avaliar(eCorrente);
+		}
+		return eCorrente;
+	}
+
+	/**
+	 * Elimina os ciclos de uma sequncia de movimentos: ao retornar a um estado
+	 * j visitado, os movimentos feitos desde a visita anterior so descartados.
+	 * Como estados iguais oferecem os mesmos movimentos, na mesma ordem, os
+	 * movimentos seguintes continuam vlidos.
+	 */
+	private int[] removerCiclos(int[] sequencia) {
+		List<Estado<?>> estados = new ArrayList<Estado<?>>(sequencia.length + 1);
+		for (Estado<?> estado = reproduzir(sequencia); estado != null; estado = estado.getAncestral())
+			estados.add(estado);
+		Collections.reverse(estados);
+		Map<Estado<?>, Integer> posicoes = new HashMap<Estado<?>, Integer>();
+		List<Estado<?>> visitados = new ArrayList<Estado<?>>();
+		int[] resultado = new int[sequencia.length];
+		visitados.add(estados.get(0));
+		posicoes.put(estados.get(0), 0);
+		for (int i = 0; i < sequencia.length; i++) {
+			Estado<?> eProximo = estados.get(i + 1);
+			Integer anterior = posicoes.get(eProximo);
+			if (anterior == null) {
+				resultado[visitados.size() - 1] = sequencia[i];
+				posicoes.put(eProximo, visitados.size());
+				visitados.add(eProximo);
+				continue;
+			}
+			while (visitados.size() > anterior + 1)
+				posicoes.remove(visitados.remove(visitados.size() - 1));
+		}
+		return Arrays.copyOf(resultado, visitados.size() - 1);
+	}
+
+	/**
+	 * Caminhante que realiza, uma aps a outra, as caminhadas do seu tipo. Cada
+	 * caminhada  uma tarefa do executor; ao fracassar, o caminhante volta ao
+	 * final da fila de tarefas, revezando as threads com os demais.
+	 */
+	private class Caminhante implements Runnable {
+
+		final TipoDeCaminhada tipo;
+		final Random aleatorio;
+		final EstatisticasDeBusca parciais = new EstatisticasDeBusca();	// contadores deste caminhante
+		final boolean reversivel = eInicial instanceof Reversivel;
+		final int[] movimentos = reversivel ? new int[((Reversivel) eInicial).getMaxMovimentos()] : null;
+		List<Estado<?>> sucessores;			// vizinhos do estado corrente, quando no reversvel
+		Estado<?> eCorrente;
+		Reversivel movel;					// o prprio estado corrente, quando reversvel
+		int avaliacaoCorrente;
+		int[] registro = new int[64];		// movimento (ou posio do sucessor) escolhido em cada passo
+		int qtdPassos;
+		int qtdReinicios;
+		int passosSemVerificar;
+
+		Caminhante(int indice, TipoDeCaminhada tipo) {
+			this.tipo = tipo;
+			this.aleatorio = new Random(semente + indice);
+		}
+
+		@Override
+		public void run() {
+			try {
+				if (caminhar()) {
+					if (vencedor.compareAndSet(null, this)) {
+						encerrar = true;
+						termino.countDown();
+					}
+					return;
+				}
+				if (!encerrar && tipo != TipoDeCaminhada.SUBIDA_DE_ENCOSTA && qtdReinicios < maxReinicios) {
+					qtdReinicios++;
+					parciais.novaIteracao();
+					executor.execute(this);
+					return;
+				}
+			} catch (RejectedExecutionException e) {
+				// a busca j foi encerrada
+			} catch (Throwable t) {
+				falha = t;
+				encerrar = true;
+				termino.countDown();
+				return;
+			}
+			if (ativos.decrementAndGet() == 0)
+				termino.countDown();
+		}
+
+		/**
+		 * Realiza uma caminhada a partir do estado inicial.
+		 * @return true se a meta foi alcanada
+		 */
+		private boolean caminhar() {
+			qtdPassos = 0;
+			if (reversivel) {
+				eCorrente = ((Reversivel) eInicial).copiar();
+				movel = (Reversivel) eCorrente;
+				avaliar(eCorrente);
+			} else {
+				eCorrente = eInicial;
+			}
+			avaliacaoCorrente = eCorrente.getAvaliacao();
+			switch (tipo) {
+			case TEMPERA_SIMULADA:
+				return temperar();
+			case REINICIO_ALEATORIO:
+				if (qtdReinicios > 0 && dispersar())
+					return true;
+				return subir();
+			default:
+				return subir();
+			}
+		}
+
+		/**
+		 * Afasta o caminhante do estado inicial com alguns movimentos aleatrios.
+		 */
+		private boolean dispersar() {
+			for (int i = 0; i < PASSOS_DE_DISPERSAO && qtdPassos < maxPassos && prosseguir(); i++) {
+				int qtd = vizinhos();
+				parciais.expandido(qtd, 1);
+				if (qtd == 0)
+					return false;
+				if (mover(aleatorio.nextInt(qtd)))
+					return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Subida de encosta: move-se sempre para o vizinho de menor avaliao,
+		 * sorteando entre os empatados, at alcanar a meta ou parar num mnimo
+		 * local (ou aps muitos movimentos laterais seguidos).
+		 */
+		private boolean subir() {
+			int laterais = 0;
+			while (qtdPassos < maxPassos && prosseguir()) {
+				int qtd = vizinhos();
+				int melhor = Integer.MAX_VALUE, escolhido = -1, qtdEmpatados = 0;
+				for (int i = 0; i < qtd; i++) {
+					int avaliacao = avaliarVizinho(i);
+					if (avaliacao < melhor) {
+						melhor = avaliacao;
+						escolhido = i;
+						qtdEmpatados = 1;
+					} else if (avaliacao == melhor && aleatorio.nextInt(++qtdEmpatados) == 0) {
+						escolhido = i;
+					}
+				}
+				parciais.expandido(qtd, 1);
+				if (escolhido < 0 || melhor > avaliacaoCorrente)
+					return false;
+				if (melhor < avaliacaoCorrente)
+					laterais = 0;
+				else if (++laterais > MAX_MOVIMENTOS_LATERAIS)
+					return false;
+				if (mover(escolhido))
+					return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Tmpera simulada: sorteia um vizinho e o aceita se for melhor ou, sendo
+		 * pior por d, com probabilidade exp(-d/T). A temperatura T diminui a cada
+		 * passo e a caminhada termina quando ela atinge o mnimo.
+		 */
+		private boolean temperar() {
+			double temperatura = TEMPERATURA_INICIAL;
+			while (temperatura > TEMPERATURA_MINIMA && qtdPassos < maxPassos && prosseguir()) {
+				int qtd = vizinhos();
+				if (qtd == 0)
+					return false;
+				int i = aleatorio.nextInt(qtd);
+				int diferenca = avaliarVizinho(i) - avaliacaoCorrente;
+				parciais.expandido(1, 1);
+				if ((diferenca <= 0 || aleatorio.nextDouble() < Math.exp(-diferenca / temperatura)) && mover(i))
+					return true;
+				temperatura *= FATOR_DE_RESFRIAMENTO;
+			}
+			return false;
+		}
+
+		/**
+		 * Obtm os vizinhos do estado corrente.
+		 * @return quantidade de vizinhos
+		 */
+		@SuppressWarnings("unchecked")
+		private int vizinhos() {
+			if (reversivel)
+				return movel.getMovimentos(movimentos);
+			sucessores = (List<Estado<?>>) eCorrente.getSucessores();
+			return sucessores.size();
+		}
+
+		/**
+		 * Avalia um dos vizinhos obtidos por vizinhos(), sem sair do estado corrente.
+		 */
+		private int avaliarVizinho(int i) {
+			if (!reversivel) {
+				avaliar(sucessores.get(i));
+				return sucessores.get(i).getAvaliacao();
+			}
+			movel.aplicar(movimentos[i]);
+			avaliar(eCorrente);
+			int avaliacao = eCorrente.getAvaliacao();
+			movel.desfazer(movimentos[i]);
+			return avaliacao;
+		}
+
+		/**
+		 * Move o caminhante para um dos vizinhos, registrando o passo.
+		 * @return true se a meta foi alcanada
+		 */
+		private boolean mover(int i) {
+			if (reversivel) {
+				movel.aplicar(movimentos[i]);
+			} else {
+				eCorrente = sucessores.get(i);
+				eCorrente.setAncestral(null);	// somente o estado corrente  mantido
+			}
+			avaliar(eCorrente);
+			avaliacaoCorrente = eCorrente.getAvaliacao();
+			if (qtdPassos == registro.length)
+				registro = Arrays.copyOf(registro, Math.min(registro.length * 2, maxPassos));
+			registro[qtdPassos++] = reversivel ? movimentos[i] : i;
+			return eCorrente.equals(eObjetivo);
+		}
+
+		/**
+		 * Verifica se a caminhada pode prosseguir, consultando os limites de
+		 * busca a cada CoordenacaoParalela.LOTE_DE_VERIFICACAO passos.
+		 */
+		private boolean prosseguir() {
+			if (encerrar)
+				return false;
+			if (limites != null && ++passosSemVerificar == CoordenacaoParalela.LOTE_DE_VERIFICACAO) {
+				passosSemVerificar = 0;
+				if (!coordenacao.registrarLote(qtdCaminhantes)) {
+					encerrar = true;
+					termino.countDown();
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,71 @@
+package estrategiasDeBusca.heuristica;
+
+import java.util.List;
+
+import espacoDeEstados.Estado;
+import espacoDeEstados.QuebraCabecaDeslizante;
+
+/**
+ * Resolve o Puzzle-8 sem explorar o espao de estados, consultando a tabela
+ * completa de distncias (ver TabelaDeDistancias). A partir do estado inicial, a
+ * cada passo  escolhido o sucessor que a tabela indica estar um movimento mais
+ * prximo da meta, de modo que apenas os estados do caminho timo so expandidos
+ * e o tempo da busca  proporcional a profundidade da soluo.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class BuscaPorTabela extends BuscaInformada {
+
+	private final TabelaDeDistancias tabela;
+
+	/**
+	 * Cria a busca sobre a tabela de distncias informada.
+	 * @param tabela tabela completa de distncias do Puzzle-8
+	 */
+	public BuscaPorTabela(TabelaDeDistancias tabela) {
+		this(tabela, null, null);
+	}
+
+	/**
+	 * Cria a busca sobre a tabela de distncias informada e define os estados
+	 * inicial e objetivo para o processo.
+	 * @param tabela tabela completa de distncias do Puzzle-8
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 */
+	public BuscaPorTabela(TabelaDeDistancias tabela, Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		super(estadoInicial, estadoMeta);
+		nomeDaEstrategia = "Busca por Tabela de Distncias";
+		this.tabela = tabela;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void buscar() {
+		Estado<?> eCorrente = eInicial;
+		iniciarBusca();
+		int[] rotulo = null;
+		int residuo = 0;
+		if (!isInterrompida()) {
+			rotulo = tabela.getRotulacao((QuebraCabecaDeslizante) eObjetivo);
+			residuo = tabela.getResiduo(tabela.compactar((QuebraCabecaDeslizante) eCorrente, rotulo));
+		}
+		while ((eCorrente != null) && (!eCorrente.equals(eObjetivo)) && dentroDosLimites()) {
+			// o sucessor mais prximo da meta  o nico cujo resto  uma unidade menor
+			int alvo = (residuo + 15) & 0xF;
+			List<?> eSucessores = eCorrente.getSucessores();
+			eCorrente = null;
+			for (Estado<?> estado : (List<Estado<?>>) eSucessores)
+				if (tabela.getResiduo(tabela.compactar((QuebraCabecaDeslizante) estado, rotulo)) == alvo) {
+					avaliar(estado);
+					eCorrente = estado;
+					break;
+				}
+			estatisticas.expandido(eSucessores.size(), 0);
+			residuo = alvo;
+		}
+		encerrarBusca(eCorrente);
+	}
+
+}
@@ -0,0 +1,269 @@
+package estrategiasDeBusca.heuristica;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Esta classe constri bancos de padres aditivos (additive pattern databases)
+ * para quebra-cabeas deslizantes de tabuleiro quadrado. As peas so divididas
+ * em grupos disjuntos (padres) e, para cada grupo, uma busca em largura a partir
+ * da meta calcula o nmero mnimo de movimentos das peas do grupo necessrios
+ * para lev-las de qualquer disposio s suas posies na meta. Movimentos das
+ * demais peas no so contabilizados, por isso os valores dos diferentes grupos
+ * podem ser somados sem que a heurstica deixe de ser admissvel.
+ *
+ * O resultado  gravado num arquivo compacto (um byte por disposio de cada
+ * padro), que  carregado por BancoDePadroes via mapeamento em memria.
+ *
+ * A busca percorre o espao abstrato formado pelas posies das peas do padro
+ * e da posio livre, de modo que cada padro de k peas num tabuleiro de n
+ * posies exige n!/(n-k)! * n bytes durante a construo. Para o Puzzle-15,
+ * padres de at 5 ou 6 peas so viveis.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public final class ConstrutorDeBancoDePadroes {
+
+	static final int MAGICO = 0x50444231;	// "PDB1"
+
+	private static final int NAO_VISITADO = 0xFF;
+
+	private static ExecutorService executor;
+
+	private ConstrutorDeBancoDePadroes() {
+	}
+
+	/**
+	 * Sugere uma partio das peas em padres disjuntos para o tamanho de
+	 * tabuleiro informado: dois padres de 4 peas para o Puzzle-8 e trs de 5
+	 * peas para o Puzzle-15.
+	 * @param lado quantidade de linhas e colunas do tabuleiro
+	 * @return grupos de peas que compem cada padro
+	 */
+	public static int[][] particaoPadrao(int lado) {
+		int qtdPecas = lado * lado - 1;
+		int tamGrupo = (lado <= 3) ? 4 : 5;
+		int qtdGrupos = (qtdPecas + tamGrupo - 1) / tamGrupo;
+		int[][] padroes = new int[qtdGrupos][];
+		for (int g = 0; g < qtdGrupos; g++) {
+			int inicio = g * tamGrupo + 1;
+			int fim = Math.min(inicio + tamGrupo - 1, qtdPecas);
+			padroes[g] = new int[fim - inicio + 1];
+			for (int p = inicio; p <= fim; p++)
+				padroes[g][p - inicio] = p;
+		}
+		return padroes;
+	}
+
+	/**
+	 * Constri o banco de padres numa thread de segundo plano, permitindo que a
+	 * aplicao prossiga enquanto as tabelas so calculadas.
+	 * @param meta pea que ocupa cada posio na configurao meta (0 para a livre)
+	 * @param lado quantidade de linhas e colunas do tabuleiro
+	 * @param padroes grupos disjuntos de peas
+	 * @param arquivo arquivo onde o banco ser gravado
+	 * @return tarefa que, ao ser concluda, fornece o arquivo gerado
+	 */
+	public static synchronized Future<File> construirEmSegundoPlano(final int[] meta, final int lado, final int[][] padroes, final File arquivo) {
+		if (executor == null)
+			executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "construtor-banco-de-padroes");
+					t.setDaemon(true);
+					return t;
+				}
+			});
+		return executor.submit(new Callable<File>() {
+			@Override
+			public File call() throws IOException {
+				return construir(meta, lado, padroes, arquivo);
+			}
+		});
+	}
+
+	/**
+	 * Constri todos os padres e grava o banco no arquivo informado.
+	 * @param meta pea que ocupa cada posio na configurao meta (0 para a livre)
+	 * @param lado quantidade de linhas e colunas do tabuleiro
+	 * @param padroes grupos disjuntos de peas
+	 * @param arquivo arquivo onde o banco ser gravado
+	 * @return o prprio arquivo gerado
+	 */
+	public static File construir(int[] meta, int lado, int[][] padroes, File arquivo) throws IOException {
+		validar(meta, lado, padroes);
+		File temporario = new File(arquivo.getPath() + ".tmp");
+		DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporario)));
+		try {
+			saida.writeInt(MAGICO);
+			saida.writeInt(lado);
+			for (int i = 0; i < meta.length; i++)
+				saida.writeInt(meta[i]);
+			saida.writeInt(padroes.length);
+			for (int[] padrao : padroes) {
+				saida.writeInt(padrao.length);
+				for (int peca : padrao)
+					saida.writeInt(peca);
+				saida.writeInt(BancoDePadroes.qtdDisposicoes(lado * lado, padrao.length));
+			}
+			for (int[] padrao : padroes)
+				saida.write(construirPadrao(meta, lado, padrao));
+		} finally {
+			saida.close();
+		}
+		if (arquivo.exists() && !arquivo.delete())
+			throw new IOException("No foi possvel substituir " + arquivo);
+		if (!temporario.renameTo(arquivo))
+			throw new IOException("No foi possvel gravar " + arquivo);
+		return arquivo;
+	}
+
+	/**
+	 * Calcula a tabela de um nico padro por meio de uma busca em largura
+	 * (0-1 BFS) a partir da meta, em que apenas os movimentos das peas do padro
+	 * tm custo.
+	 * @return distncia mnima de cada disposio das peas do padro at a meta
+	 */
+	static byte[] construirPadrao(int[] meta, int lado, int[] padrao) {
+		int n = lado * lado;
+		int k = padrao.length;
+		int qtdDisposicoes = BancoDePadroes.qtdDisposicoes(n, k);
+		if ((long) qtdDisposicoes * n > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Padro com " + k + " peas  grande demais para este tabuleiro");
+
+		byte[] dist = new byte[qtdDisposicoes * n];	// distncia de cada (disposio, posio livre)
+		Arrays.fill(dist, (byte) NAO_VISITADO);
+
+		int[] posicoes = new int[k];
+		int[] ocupante = new int[n];
+		Arrays.fill(ocupante, -1);
+		for (int i = 0; i < k; i++)
+			posicoes[i] = indiceDe(meta, padrao[i]);
+		int inicial = BancoDePadroes.ordenar(posicoes, n) * n + indiceDe(meta, 0);
+		dist[inicial] = 0;
+
+		FilaDeInteiros atual = new FilaDeInteiros();
+		FilaDeInteiros proxima = new FilaDeInteiros();
+		atual.inserir(inicial);
+		for (int custo = 0; !atual.estaVazia(); custo++) {
+			while (!atual.estaVazia()) {
+				int estado = atual.remover();
+				if ((dist[estado] & 0xFF) != custo)
+					continue;
+				int disposicao = estado / n;
+				int livre = estado % n;
+				BancoDePadroes.desordenar(disposicao, n, posicoes);
+				for (int i = 0; i < k; i++)
+					ocupante[posicoes[i]] = i;
+
+				int lin = livre / lado, col = livre % lado;
+				for (int d = 0; d < 4; d++) {
+					int l = lin + ((d == 0) ? -1 : (d == 1) ? 1 : 0);
+					int c = col + ((d == 2) ? -1 : (d == 3) ? 1 : 0);
+					if (l < 0 || l >= lado || c < 0 || c >= lado)
+						continue;
+					int vizinho = l * lado + c;
+					int peca = ocupante[vizinho];
+					if (peca < 0) {
+						// pea fora do padro: o movimento no tem custo
+						int novo = disposicao * n + vizinho;
+						if ((dist[novo] & 0xFF) > custo) {
+							dist[novo] = (byte) custo;
+							atual.inserir(novo);
+						}
+					} else {
+						posicoes[peca] = livre;
+						int novo = BancoDePadroes.ordenar(posicoes, n) * n + vizinho;
+						posicoes[peca] = vizinho;
+						if ((dist[novo] & 0xFF) > custo + 1) {
+							dist[novo] = (byte) (custo + 1);
+							proxima.inserir(novo);
+						}
+					}
+				}
+				for (int i = 0; i < k; i++)
+					ocupante[posicoes[i]] = -1;
+			}
+			FilaDeInteiros aux = atual;
+			atual = proxima;
+			proxima = aux;
+		}
+
+		// o valor de cada disposio  o menor entre todas as posies da livre
+		byte[] tabela = new byte[qtdDisposicoes];
+		for (int disposicao = 0; disposicao < qtdDisposicoes; disposicao++) {
+			int menor = NAO_VISITADO;
+			for (int livre = 0; livre < n; livre++)
+				menor = Math.min(menor, dist[disposicao * n + livre] & 0xFF);
+			tabela[disposicao] = (byte) menor;
+		}
+		return tabela;
+	}
+
+	private static int indiceDe(int[] vetor, int valor) {
+		for (int i = 0; i < vetor.length; i++)
+			if (vetor[i] == valor)
+				return i;
+		return -1;
+	}
+
+	private static void validar(int[] meta, int lado, int[][] padroes) {
+		int n = lado * lado;
+		if (meta.length != n)
+			throw new IllegalArgumentException("A meta deve possuir " + n + " posies");
+		boolean[] usada = new boolean[n];
+		for (int[] padrao : padroes)
+			for (int peca : padrao) {
+				if (peca <= 0 || peca >= n || indiceDe(meta, peca) < 0)
+					throw new IllegalArgumentException("Pea invlida no padro: " + peca);
+				if (usada[peca])
+					throw new IllegalArgumentException("Os padres devem ser disjuntos (pea " + peca + " repetida)");
+				usada[peca] = true;
+			}
+	}
+
+	/**
+	 * Fila de inteiros sobre vetor circular, que evita o uso de objetos Integer
+	 * durante a busca em largura.
+	 */
+	private static class FilaDeInteiros {
+
+		private int[] elementos = new int[1024];
+		private int inicio = 0;
+		private int qtd = 0;
+
+		void inserir(int valor) {
+			if (qtd == elementos.length) {
+				int[] novo = new int[elementos.length * 2];
+				for (int i = 0; i < qtd; i++)
+					novo[i] = elementos[(inicio + i) % elementos.length];
+				elementos = novo;
+				inicio = 0;
+			}
+			elementos[(inicio + qtd++) % elementos.length] = valor;
+		}
+
+		int remover() {
+			int valor = elementos[inicio];
+			inicio = (inicio + 1) % elementos.length;
+			qtd--;
+			return valor;
+		}
+
+		boolean estaVazia() {
+			return qtd == 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,124 @@
+package estrategiasDeBusca.heuristica;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import espacoDeEstados.Puzzle8;
+import espacoDeEstados.TabuleiroCompacto;
+
+/**
+ * Esta classe constri a tabela completa de distncias do Puzzle-8, isto , o
+ * nmero mnimo de movimentos entre cada configurao alcanvel e a meta. Como
+ * o espao possui apenas 9!/2 = 181.440 estados alcanveis, uma nica busca em
+ * largura retrgrada (partindo da meta)  suficiente para percorr-lo inteiro.
+ *
+ * Cada configurao  indexada pela posio (rank) da sua permutao na ordem
+ * lexicogrfica, obtida pelo cdigo de Lehmer, e a distncia  gravada em 4 bits
+ * (duas configuraes por byte), totalizando 181.440 bytes. Como a distncia
+ * mxima do Puzzle-8 (31) no cabe em 4 bits,  armazenado o resto da diviso
+ * por 16: os vizinhos de uma configurao sempre distam exatamente um movimento
+ * a mais ou a menos da meta, de modo que o resto basta para identificar o vizinho
+ * mais prximo dela (ver TabelaDeDistancias).
+ *
+ * O arquivo gerado  carregado por TabelaDeDistancias via mapeamento em memria.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public final class ConstrutorDeTabelaDeDistancias {
+
+	static final int MAGICO = 0x44535431;	// "DST1"
+	static final int QTD_POSICOES = 9;
+	static final int QTD_PERMUTACOES = 362880;	// 9!
+	static final int NAO_ALCANCAVEL = 0xF;	// valor das configuraes da outra metade do espao
+
+	private static final int NAO_VISITADO = 0xFF;
+
+	private ConstrutorDeTabelaDeDistancias() {
+	}
+
+	/**
+	 * Constri a tabela de distncias at o tabuleiro organizado e a grava no
+	 * arquivo informado.
+	 * @param arquivo arquivo onde a tabela ser gravada
+	 * @return o prprio arquivo gerado
+	 */
+	public static File construir(File arquivo) throws IOException {
+		return construir(Puzzle8.TABULEIRO_ORGANIZADO, arquivo);
+	}
+
+	/**
+	 * Constri a tabela de distncias at a meta informada e a grava no arquivo.
+	 * @param cfgMeta configurao meta do Puzzle-8
+	 * @param arquivo arquivo onde a tabela ser gravada
+	 * @return o prprio arquivo gerado
+	 */
+	public static File construir(char[] cfgMeta, File arquivo) throws IOException {
+		if (cfgMeta.length != QTD_POSICOES)
+			throw new IllegalArgumentException("A meta deve possuir " + QTD_POSICOES + " posies");
+		long meta = TabuleiroCompacto.compactar(cfgMeta);
+		byte[] distancias = new byte[QTD_PERMUTACOES];
+		int profundidadeMaxima = calcularDistancias(meta, distancias);
+
+		File temporario = new File(arquivo.getPath() + ".tmp");
+		DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporario)));
+		try {
+			saida.writeInt(MAGICO);
+			for (int i = 0; i < QTD_POSICOES; i++)
+				saida.writeInt(TabuleiroCompacto.getPeca(meta, i));
+			saida.writeInt(profundidadeMaxima);
+			for (int indice = 0; indice < QTD_PERMUTACOES; indice += 2)
+				saida.write(compactar(distancias[indice]) | (compactar(distancias[indice + 1]) << 4));
+		} finally {
+			saida.close();
+		}
+		if (arquivo.exists() && !arquivo.delete())
+			throw new IOException("No foi possvel substituir " + arquivo);
+		if (!temporario.renameTo(arquivo))
+			throw new IOException("No foi possvel gravar " + arquivo);
+		return arquivo;
+	}
+
+	/**
+	 * Busca em largura retrgrada a partir da meta, que registra a distncia de
+	 * cada configurao alcanada no ndice correspondente a sua permutao.
+	 * @param meta configurao meta compactada
+	 * @param distancias vetor com 9! posies que receber as distncias
+	 * @return maior distncia encontrada
+	 */
+	static int calcularDistancias(long meta, byte[] distancias) {
+		Arrays.fill(distancias, (byte) NAO_VISITADO);
+		long[] fila = new long[QTD_PERMUTACOES / 2];
+		long[] sucessores = new long[4];
+		int inicio = 0, fim = 0;
+		fila[fim++] = meta;
+		distancias[TabelaDeDistancias.ordenar(meta)] = 0;
+		int profundidadeMaxima = 0;
+		while (inicio < fim) {
+			long tabuleiro = fila[inicio++];
+			int distancia = distancias[TabelaDeDistancias.ordenar(tabuleiro)];
+			int qtd = Puzzle8.gerarSucessores(tabuleiro, sucessores);
+			for (int i = 0; i < qtd; i++) {
+				int indice = TabelaDeDistancias.ordenar(sucessores[i]);
+				if ((distancias[indice] & 0xFF) == NAO_VISITADO) {
+					distancias[indice] = (byte) (distancia + 1);
+					profundidadeMaxima = Math.max(profundidadeMaxima, distancia + 1);
+					fila[fim++] = sucessores[i];
+				}
+			}
+		}
+		return profundidadeMaxima;
+	}
+
+	/**
+	 * Reduz a distncia aos 4 bits armazenados no arquivo.
+	 */
+	private static int compactar(byte distancia) {
+		return ((distancia & 0xFF) == NAO_VISITADO) ? NAO_ALCANCAVEL : (distancia & 0xF);
+	}
+
+}
@@ -0,0 +1,178 @@
+package estrategiasDeBusca.heuristica;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Esta classe implementa a lista de abertos da busca A* na forma de uma fila de
+ * baldes (bucket queue), indexada diretamente pelo valor inteiro f = g + h. 
+ * adequada quando f assume poucos valores inteiros e limitados, como acontece
+ * no Puzzle-8, pois inseres e remoes so feitas em tempo constante amortizado.
+ *
+ * O desempate segue as mesmas regras de OrdenarPorCustoMaisAvaliacao: para um
+ * mesmo valor de f, os nodos mais profundos (maior nvel) tm prioridade e,
+ * persistindo o empate, so retirados na ordem em que foram inseridos.
+ *
+ * A operao de atualizao (decrease-key)  feita de forma preguiosa: o novo
+ * nodo  inserido no balde correspondente a sua prioridade e o nodo substitudo
+ *  ignorado quando alcanado.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class FilaDeBaldes implements ListaDeAbertos {
+
+	private Balde[] baldes;						// baldes indexados pelo valor de f
+	private Map<Estado<?>, Entrada> chaves;		// nodo e (f, nvel) vigentes de cada estado aberto
+	private int menorF;							// menor f que pode conter estados
+	private int qtd = 0;
+
+	/**
+	 * Construtor padro.
+	 */
+	public FilaDeBaldes() {
+		this(64);
+	}
+
+	/**
+	 * Cria uma fila de baldes vazia, j reservando espao para valores de f
+	 * entre 0 e o limite informado. Valores maiores so acomodados sob demanda.
+	 * @param limiteF maior valor de f esperado
+	 */
+	public FilaDeBaldes(int limiteF) {
+		baldes = new Balde[Math.max(limiteF, 1) + 1];
+		chaves = new HashMap<Estado<?>, Entrada>();
+		menorF = baldes.length;
+	}
+
+	@Override
+	public void inserir(Estado<?> estado) {
+		int f = estado.getCusto() + estado.getAvaliacao();
+		int nivel = estado.getNivel();
+		if (f < 0)
+			throw new IllegalArgumentException("Valor de f negativo no suportado pela fila de baldes: " + f);
+		if (f >= baldes.length)
+			baldes = Arrays.copyOf(baldes, Math.max(f + 1, baldes.length * 2));
+		if (baldes[f] == null)
+			baldes[f] = new Balde();
+		baldes[f].inserir(estado, nivel);
+		if (f < menorF)
+			menorF = f;
+		if (chaves.put(estado, new Entrada(estado, f, nivel)) == null)
+			qtd++;
+	}
+
+	@Override
+	public Estado<?> removerPrimeiro() {
+		while (qtd > 0) {
+			while (baldes[menorF] == null || baldes[menorF].estaVazio())
+				menorF++;
+			Balde balde = baldes[menorF];
+			int nivel = balde.maiorNivel();
+			Estado<?> estado = balde.remover(nivel);
+			Entrada entrada = chaves.get(estado);
+			// nodos substitudos por atualizaes anteriores so descartados
+			if (entrada != null && entrada.nodo == estado && entrada.f == menorF && entrada.nivel == nivel) {
+				chaves.remove(estado);
+				qtd--;
+				return estado;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void atualizar(Estado<?> estado) {
+		if (chaves.containsKey(estado))
+			inserir(estado);
+	}
+
+	@Override
+	public boolean contem(Estado<?> estado) {
+		return chaves.containsKey(estado);
+	}
+
+	@Override
+	public int tamanho() {
+		return qtd;
+	}
+
+	@Override
+	public boolean estaVazia() {
+		return qtd == 0;
+	}
+
+	@Override
+	public void limpar() {
+		Arrays.fill(baldes, null);
+		chaves.clear();
+		menorF = baldes.length;
+		qtd = 0;
+	}
+
+	/**
+	 * Registro do nodo vigente para um estado aberto e da posio (f, nvel) em
+	 * que ele foi inserido.
+	 */
+	private static class Entrada {
+
+		final Estado<?> nodo;
+		final int f;
+		final int nivel;
+
+		Entrada(Estado<?> nodo, int f, int nivel) {
+			this.nodo = nodo;
+			this.f = f;
+			this.nivel = nivel;
+		}
+
+	}
+
+	/**
+	 * Balde que agrupa os estados com um mesmo valor de f, subdivididos por
+	 * nvel para que o desempate no exija ordenao.
+	 */
+	private static class Balde {
+
+		private ArrayDeque<Estado<?>>[] porNivel = novoVetor(16);
+		private int maior = -1;		// maior nvel que pode conter estados
+		private int qtd = 0;
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		private static ArrayDeque<Estado<?>>[] novoVetor(int tamanho) {
+			return new ArrayDeque[tamanho];
+		}
+
+		void inserir(Estado<?> estado, int nivel) {
+			if (nivel >= porNivel.length)
+				porNivel = Arrays.copyOf(porNivel, Math.max(nivel + 1, porNivel.length * 2));
+			if (porNivel[nivel] == null)
+				porNivel[nivel] = new ArrayDeque<Estado<?>>();
+			porNivel[nivel].addLast(estado);
+			if (nivel > maior)
+				maior = nivel;
+			qtd++;
+		}
+
+		int maiorNivel() {
+			while (porNivel[maior] == null || porNivel[maior].isEmpty())
+				maior--;
+			return maior;
+		}
+
+		Estado<?> remover(int nivel) {
+			qtd--;
+			return porNivel[nivel].pollFirst();
+		}
+
+		boolean estaVazio() {
+			return qtd == 0;
+		}
+
+	}
+
+}
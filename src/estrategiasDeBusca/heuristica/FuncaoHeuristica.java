@@ -0,0 +1,22 @@
+package estrategiasDeBusca.heuristica;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Interface que permite fornecer s estratgias de busca informada uma funo
+ * de avaliao externa ao estado, utilizada no lugar da heurstica que cada
+ * estado calcula para si (ver Estado.heuristica).
+ * 
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface FuncaoHeuristica {
+
+	/**
+	 * Estima o esforo necessrio para alcanar a meta a partir do estado.
+	 * @param estado estado a ser avaliado
+	 * @return valor de avaliao (h) do estado
+	 */
+	public int avaliar(Estado<?> estado);
+
+}
@@ -0,0 +1,25 @@
+package estrategiasDeBusca.heuristica;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Funo heurstica calculada em relao a uma meta prpria (como a de um banco
+ * de padres ou de uma tabela de distncias) e no em relao a meta da busca.
+ * Antes de utiliz-la, a busca informada solicita uma verso ajustada para a
+ * sua meta, de modo que uma meta incompatvel nunca produza avaliaes
+ * inadmissveis em silncio.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface FuncaoHeuristicaAjustavel extends FuncaoHeuristica {
+
+	/**
+	 * Obtm a funo que avalia os estados em relao a meta informada.
+	 * @param meta estado meta da busca
+	 * @return funo ajustada (possivelmente a prpria instncia)
+	 * @throws IllegalArgumentException se a funo no puder atender essa meta
+	 */
+	public FuncaoHeuristica ajustar(Estado<?> meta);
+
+}
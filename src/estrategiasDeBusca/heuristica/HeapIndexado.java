@@ -0,0 +1,169 @@
+package estrategiasDeBusca.heuristica;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Esta classe implementa a lista de abertos na forma de um heap binrio mnimo
+ * indexado. Alm da insero e remoo do primeiro elemento em O(log n), o
+ * ndice que associa cada estado a sua posio no heap permite verificar se
+ * um estado est aberto em O(1) e reposicion-lo quando sua prioridade for
+ * melhorada (decrease-key) tambm em O(log n). O ndice  uma tabela hash e,
+ * portanto, cada estado (segundo equals/hashCode) ocupa uma nica posio.
+ *
+ * A ordem dos elementos  dada pelo comparador informado na construo. Estados
+ * considerados equivalentes pelo comparador so retirados na mesma ordem em que
+ * foram inseridos (FIFO).
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class HeapIndexado implements ListaDeAbertos {
+
+	private static final int CAPACIDADE_INICIAL = 64;
+
+	private Comparator<Estado<?>> criterio;		// critrio de ordenao dos estados
+	private Estado<?>[] elementos;				// rvore binria armazenada em vetor
+	private long[] ordemDeChegada;				// sequncia de insero, usada no desempate
+	private Map<Estado<?>, Integer> posicoes;	// posio de cada estado no vetor
+	private int qtd = 0;
+	private long contChegada = 0;
+
+	/**
+	 * Construtor padro. Ordena os estados por f = g + h, conforme a busca A*.
+	 */
+	public HeapIndexado() {
+		this(new OrdenarPorCustoMaisAvaliacao());
+	}
+
+	/**
+	 * Cria um heap vazio cuja ordem  determinada pelo comparador informado.
+	 * @param criterio comparador que define a prioridade entre os estados
+	 */
+	public HeapIndexado(Comparator<Estado<?>> criterio) {
+		this.criterio = criterio;
+		this.elementos = new Estado<?>[CAPACIDADE_INICIAL];
+		this.ordemDeChegada = new long[CAPACIDADE_INICIAL];
+		this.posicoes = new HashMap<Estado<?>, Integer>();
+	}
+
+	@Override
+	public void inserir(Estado<?> estado) {
+		if (qtd == elementos.length) {
+			elementos = Arrays.copyOf(elementos, qtd * 2);
+			ordemDeChegada = Arrays.copyOf(ordemDeChegada, qtd * 2);
+		}
+		elementos[qtd] = estado;
+		ordemDeChegada[qtd] = contChegada++;
+		posicoes.put(estado, qtd);
+		subir(qtd++);
+	}
+
+	@Override
+	public Estado<?> removerPrimeiro() {
+		if (qtd == 0)
+			return null;
+		Estado<?> primeiro = elementos[0];
+		posicoes.remove(primeiro);
+		qtd--;
+		if (qtd > 0) {
+			mover(qtd, 0);
+			descer(0);
+		}
+		elementos[qtd] = null;
+		return primeiro;
+	}
+
+	@Override
+	public void atualizar(Estado<?> estado) {
+		Integer pos = posicoes.remove(estado);
+		if (pos != null) {
+			elementos[pos] = estado;
+			posicoes.put(estado, pos);
+			subir(pos);
+		}
+	}
+
+	@Override
+	public boolean contem(Estado<?> estado) {
+		return posicoes.containsKey(estado);
+	}
+
+	@Override
+	public int tamanho() {
+		return qtd;
+	}
+
+	@Override
+	public boolean estaVazia() {
+		return qtd == 0;
+	}
+
+	@Override
+	public void limpar() {
+		Arrays.fill(elementos, 0, qtd, null);
+		posicoes.clear();
+		qtd = 0;
+	}
+
+	/**
+	 * Compara os elementos de duas posies do heap.
+	 * @return true caso o elemento da posio i tenha prioridade sobre o da posio j
+	 */
+	private boolean precede(int i, int j) {
+		int c = criterio.compare(elementos[i], elementos[j]);
+		return (c != 0) ? c < 0 : ordemDeChegada[i] < ordemDeChegada[j];
+	}
+
+	/**
+	 * Copia o elemento da posio origem para a posio destino, mantendo o
+	 * ndice atualizado.
+	 */
+	private void mover(int origem, int destino) {
+		elementos[destino] = elementos[origem];
+		ordemDeChegada[destino] = ordemDeChegada[origem];
+		posicoes.put(elementos[destino], destino);
+	}
+
+	private void trocar(int i, int j) {
+		Estado<?> e = elementos[i];
+		long o = ordemDeChegada[i];
+		elementos[i] = elementos[j];
+		ordemDeChegada[i] = ordemDeChegada[j];
+		elementos[j] = e;
+		ordemDeChegada[j] = o;
+		posicoes.put(elementos[i], i);
+		posicoes.put(elementos[j], j);
+	}
+
+	private void subir(int pos) {
+		while (pos > 0) {
+			int pai = (pos - 1) / 2;
+			if (!precede(pos, pai))
+				break;
+			trocar(pos, pai);
+			pos = pai;
+		}
+	}
+
+	private void descer(int pos) {
+		while (true) {
+			int menor = pos;
+			int esq = 2 * pos + 1;
+			int dir = esq + 1;
+			if (esq < qtd && precede(esq, menor))
+				menor = esq;
+			if (dir < qtd && precede(dir, menor))
+				menor = dir;
+			if (menor == pos)
+				break;
+			trocar(pos, menor);
+			pos = menor;
+		}
+	}
+
+}
@@ -5,10 +5,13 @@ import java.util.List;
 import java.util.Stack;
 
 import espacoDeEstados.Estado;
+import espacoDeEstados.Reversivel;
+import estrategiasDeBusca.PilhaDeMovimentos;
 
 public class HillClimbing extends BuscaInformada {
 	
 	protected Stack<Estado<?>> eAbertos;
+	protected PilhaDeMovimentos pilhaDeMovimentos;	// lista de abertos da explorao por movimentos
 	
 	/**
 	 * Construtor padro.
@@ -27,6 +30,7 @@ public class HillClimbing extends BuscaInformada {
 		super(estadoInicial,estadoMeta);
 		super.nomeDaEstrategia = "Hill-Climbing (Otmizao Discreta)";
 		eAbertos = new Stack<Estado<?>>();
+		pilhaDeMovimentos = new PilhaDeMovimentos();
 	}
 	
 	/**
@@ -36,24 +40,59 @@ public class HillClimbing extends BuscaInformada {
 	@Override
 	public void buscar() {
 		Estado<?> eCorrente = eInicial;
-		while ((eCorrente != null) && (!eCorrente.equals(eObjetivo))) {
+		iniciarBusca();
+		eAbertos.clear();
+		repetidos.registrar(eInicial);
+		if (eInicial instanceof Reversivel) {
+			encerrarBusca(explorarPorMovimentos());
+			return;
+		}
+		while ((eCorrente != null) && (!eCorrente.equals(eObjetivo)) && dentroDosLimites()) {
 			List<?> eSucessores = eCorrente.getSucessores();							// Obtm os sucessores do estado corrente,
+			for (Estado<?> estado : (List<Estado<?>>) eSucessores)						// avalia-os com a heurstica externa (se houver),
+				avaliar(estado);
 			Collections.sort((List<Estado<?>>) eSucessores, new OrdenarPorAvaliacao());	// Ordena-os de modo crescente de avaliao (heurstica),
 			Collections.reverse((List<Estado<?>>) eSucessores); 						// Inverte para que sejam empilhados corretamente (menor em cima), e
 			for (Estado<?> estado : (List<Estado<?>>) eSucessores)						// Empilha os estados
-				eAbertos.push(estado);
-			eCorrente = eAbertos.pop();
+				if (repetidos.registrar(estado))										// ainda no visitados
+					eAbertos.push(estado);
+			estatisticas.expandido(eSucessores.size(), eAbertos.size());
+			eCorrente = eAbertos.isEmpty() ? null : eAbertos.pop();
 		}
-		// Se o lao foi encerrado por um estado vlido ...
-		if (eCorrente != null) {
-			// ento construmos o caminho da soluo (da folha at a raiz)
-			caminho.add(eCorrente);
-			while (eCorrente.getAncestral() != null) {
-				eCorrente = eCorrente.getAncestral();
-				caminho.add(eCorrente);
+		encerrarBusca(eCorrente);
+	}
+	
+	/**
+	 * Verso da busca para estados reversveis, que modifica uma cpia do estado
+	 * inicial atravs de movimentos em vez de criar os sucessores. Cada
+	 * movimento  aplicado para que o sucessor seja avaliado e submetido ao
+	 * controle de repetidos, sendo desfeito em seguida; os aceitos so
+	 * empilhados com a sua avaliao e ordenados, de modo que o melhor sucessor
+	 * seja explorado primeiro, como na verso baseada em sucessores.
+	 * @return estado meta alcanado, com o caminho reconstrudo, ou null
+	 */
+	private Estado<?> explorarPorMovimentos() {
+		Estado<?> eCorrente = ((Reversivel) eInicial).copiar();
+		Reversivel movel = (Reversivel) eCorrente;
+		int[] movimentos = new int[movel.getMaxMovimentos()];
+		pilhaDeMovimentos.limpar();
+		while (!eCorrente.equals(eObjetivo) && dentroDosLimites()) {
+			int qtdMovimentos = movel.getMovimentos(movimentos);
+			for (int i = 0; i < qtdMovimentos; i++) {
+				movel.aplicar(movimentos[i]);
+				avaliar(eCorrente);
+				if (repetidos.registrarMutavel(eCorrente))
+					pilhaDeMovimentos.empilhar(movimentos[i], eCorrente.getAvaliacao());
+				movel.desfazer(movimentos[i]);
 			}
-			Collections.reverse(caminho);
-		}		
+			pilhaDeMovimentos.ordenarNivel();
+			estatisticas.expandido(qtdMovimentos, pilhaDeMovimentos.getTamanho());
+			if (!pilhaDeMovimentos.avancar(movel))
+				return null;
+		}
+		if (isInterrompida())
+			return null;
+		return reproduzirCaminho(pilhaDeMovimentos.getMovimentosAplicados(), pilhaDeMovimentos.getProfundidade());
 	}
 
 }
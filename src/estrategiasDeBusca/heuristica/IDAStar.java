@@ -0,0 +1,199 @@
+package estrategiasDeBusca.heuristica;
+
+import java.util.List;
+
+import espacoDeEstados.Estado;
+import espacoDeEstados.Reversivel;
+import estrategiasDeBusca.SemControleDeRepetidos;
+
+/**
+ * Esta classe implementa a estratgia IDA* (Iterative Deepening A-Star), que
+ * realiza sucessivas buscas em profundidade limitadas pelo valor de f = g + h.
+ * Cada iterao descarta os nodos cujo f ultrapassa o limite corrente e o menor
+ * f descartado passa a ser o limite da iterao seguinte. Com uma heurstica
+ * admissvel a soluo encontrada  tima, assim como no A*, porm a memria
+ * consumida  linear em relao a profundidade da soluo, j que apenas o
+ * ramo corrente da rvore de busca  mantido.
+ * 
+ * Quando o estado inicial  reversvel (ver Reversivel), um nico estado 
+ * modificado atravs de movimentos ao longo de todas as iteraes e os
+ * vetores de movimentos de cada nvel so reaproveitados, de modo que a
+ * explorao no aloca objetos.
+ * 
+ * @author Leandro C. Fernandes
+ *
+ */
+public class IDAStar extends BuscaInformada {
+	
+	private static final int INFINITO = Integer.MAX_VALUE;
+	
+	private Estado<?> eSolucao;			// estado meta alcanado na ltima iterao
+	private int limite;					// limite de f da iterao corrente
+	private int qtdIteracoes;			// quantidade de iteraes realizadas
+	private int[][] movimentosPorNivel = new int[0][];	// movimentos possveis em cada nvel do ramo corrente
+	private int[] movimentosAplicados = new int[0];		// movimentos aplicados desde a raiz
+
+	/**
+	 * Construtor padro.
+	 */
+	public IDAStar() {
+		this(null,null);
+	}
+	
+	/**
+	 * Cria uma nova instncia da busca IDA* e define os estados inicial e
+	 * objetivo para o processo.
+	 * @param estadoInicial estado inicial de busca
+	 * @param estadoMeta estado que contm os objetivos da busca
+	 */
+	public IDAStar(Estado<?> estadoInicial, Estado<?> estadoMeta) {
+		super(estadoInicial,estadoMeta);
+		nomeDaEstrategia = "Iterative Deepening A* (IDA*)";
+		// a memria linear  justamente o que se busca: nenhum estado  lembrado
+		repetidos = new SemControleDeRepetidos();
+	}
+	
+	/**
+	 * Recupera o limite de f utilizado na ltima iterao.
+	 * @return limite de f da ltima iterao
+	 */
+	public int getLimite() {
+		return limite;
+	}
+	
+	/**
+	 * Recupera quantas iteraes de aprofundamento foram necessrias.
+	 * @return quantidade de iteraes
+	 */
+	public int getQtdIteracoes() {
+		return qtdIteracoes;
+	}
+	
+	/**
+	 * Implementa efetivamente a estratgia de busca, repetindo a busca em
+	 * profundidade com limites de f crescentes at que um estado que atenda aos
+	 * objetivos seja alcanado ou no haja mais nodos a explorar. Ao trmino, o
+	 * caminho correspondente a soluo encontra-se armazenado no atributo caminho.
+	 */
+	@Override
+	public void buscar() {
+		eSolucao = null;
+		qtdIteracoes = 0;
+		iniciarBusca();
+		avaliar(eInicial);
+		Estado<?> eRaiz = (eInicial instanceof Reversivel) ? ((Reversivel) eInicial).copiar() : null;
+		if (eRaiz != null && movimentosPorNivel.length > 0 && movimentosPorNivel[0].length < ((Reversivel) eRaiz).getMaxMovimentos()) {
+			movimentosPorNivel = new int[0][];
+			movimentosAplicados = new int[0];
+		}
+		limite = eInicial.getCusto() + eInicial.getAvaliacao();
+		while (eSolucao == null && limite != INFINITO && !isInterrompida()) {
+			qtdIteracoes++;
+			estatisticas.novaIteracao();
+			int proximoLimite = (eRaiz != null) ? aprofundarPorMovimentos(eRaiz, 0, -1, limite) : aprofundar(eInicial, limite);
+			if (eSolucao == null)
+				limite = proximoLimite;
+		}
+		encerrarBusca(eSolucao);
+	}
+	
+	/**
+	 * Busca em profundidade limitada pelo valor de f.
+	 * @param eCorrente nodo a ser explorado
+	 * @param limite maior valor de f admitido nesta iterao
+	 * @return menor valor de f que excedeu o limite na subrvore (ou INFINITO)
+	 */
+	@SuppressWarnings("unchecked")
+	private int aprofundar(Estado<?> eCorrente, int limite) {
+		if (!dentroDosLimites())
+			return INFINITO;
+		int f = eCorrente.getCusto() + eCorrente.getAvaliacao();
+		if (f > limite)
+			return f;
+		if (eCorrente.equals(eObjetivo)) {
+			eSolucao = eCorrente;
+			return f;
+		}
+		int menorExcedente = INFINITO;
+		Estado<?> eAnterior = eCorrente.getAncestral();
+		List<Estado<?>> eSucessores = (List<Estado<?>>) eCorrente.getSucessores();
+		// a fronteira da busca em profundidade  o prprio ramo corrente
+		estatisticas.expandido(eSucessores.size(), eCorrente.getNivel() - eInicial.getNivel() + 1);
+		for (Estado<?> estado : eSucessores) {
+			// descarta o movimento que simplesmente desfaz o anterior
+			if (eAnterior != null && estado.equals(eAnterior))
+				continue;
+			repetidos.registrar(estado);
+			avaliar(estado);
+			int excedente = aprofundar(estado, limite);
+			if (eSolucao != null || isInterrompida())
+				return excedente;
+			if (excedente < menorExcedente)
+				menorExcedente = excedente;
+		}
+		return menorExcedente;
+	}
+
+	/**
+	 * Verso de aprofundar() para estados reversveis, em que o prprio estado 
+	 * levado a cada sucessor por aplicar() e restaurado por desfazer().
+	 * @param eCorrente estado mutvel, posicionado no nodo a ser explorado
+	 * @param profundidade distncia do nodo at a raiz
+	 * @param movimentoAnterior movimento que levou ao nodo (-1 na raiz)
+	 * @param limite maior valor de f admitido nesta iterao
+	 * @return menor valor de f que excedeu o limite na subrvore (ou INFINITO)
+	 */
+	private int aprofundarPorMovimentos(Estado<?> eCorrente, int profundidade, int movimentoAnterior, int limite) {
+		if (!dentroDosLimites())
+			return INFINITO;
+		int f = eCorrente.getCusto() + eCorrente.getAvaliacao();
+		if (f > limite)
+			return f;
+		if (eCorrente.equals(eObjetivo)) {
+			eSolucao = reproduzirCaminho(movimentosAplicados, profundidade);
+			return f;
+		}
+		Reversivel movel = (Reversivel) eCorrente;
+		if (profundidade == movimentosPorNivel.length)
+			crescerNiveis(movel.getMaxMovimentos());
+		int[] movimentos = movimentosPorNivel[profundidade];
+		int qtdMovimentos = movel.getMovimentos(movimentos);
+		estatisticas.expandido(qtdMovimentos, profundidade + 1);
+		// descarta o movimento que simplesmente desfaz o anterior
+		int movimentoDeRetorno = (movimentoAnterior < 0) ? -1 : movel.getMovimentoInverso(movimentoAnterior);
+		int menorExcedente = INFINITO;
+		for (int i = 0; i < qtdMovimentos; i++) {
+			int movimento = movimentos[i];
+			if (movimento == movimentoDeRetorno)
+				continue;
+			movel.aplicar(movimento);
+			repetidos.registrarMutavel(eCorrente);
+			avaliar(eCorrente);
+			movimentosAplicados[profundidade] = movimento;
+			int excedente = aprofundarPorMovimentos(eCorrente, profundidade + 1, movimento, limite);
+			movel.desfazer(movimento);
+			if (eSolucao != null || isInterrompida())
+				return excedente;
+			if (excedente < menorExcedente)
+				menorExcedente = excedente;
+		}
+		return menorExcedente;
+	}
+	
+	/**
+	 * Dobra a quantidade de nveis para os quais h vetores de movimentos.
+	 * Ocorre somente quando a busca ultrapassa a maior profundidade j alcanada.
+	 */
+	private void crescerNiveis(int maxMovimentos) {
+		int qtdNiveis = Math.max(16, movimentosPorNivel.length * 2);
+		int[][] niveis = new int[qtdNiveis][];
+		System.arraycopy(movimentosPorNivel, 0, niveis, 0, movimentosPorNivel.length);
+		for (int i = movimentosPorNivel.length; i < qtdNiveis; i++)
+			niveis[i] = new int[maxMovimentos];
+		int[] aplicados = new int[qtdNiveis];
+		System.arraycopy(movimentosAplicados, 0, aplicados, 0, movimentosAplicados.length);
+		movimentosPorNivel = niveis;
+		movimentosAplicados = aplicados;
+	}
+
+}
@@ -0,0 +1,61 @@
+package estrategiasDeBusca.heuristica;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Esta interface descreve a estrutura responsvel por manter os nodos abertos
+ * (fronteira) de uma busca informada, isto , os estados que j foram gerados
+ * mas ainda no foram expandidos. A cada passo a estratgia retira desta lista
+ * o nodo mais promissor segundo o seu critrio de ordenao, sem que seja
+ * necessrio reordenar toda a fronteira aps cada expanso.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public interface ListaDeAbertos {
+
+	/**
+	 * Acrescenta um novo estado a lista de abertos.
+	 * @param estado nodo gerado que aguarda expanso
+	 */
+	public void inserir(Estado<?> estado);
+
+	/**
+	 * Retira da lista o estado mais promissor segundo o critrio de ordenao.
+	 * @return o prximo estado a ser expandido ou null, caso a lista esteja vazia
+	 */
+	public Estado<?> removerPrimeiro();
+
+	/**
+	 * Substitui o nodo que representa um estado j presente na lista por outro
+	 * equivalente (segundo equals/hashCode) cujo valor de ordenao  menor,
+	 * reposicionando-o na fila. Operao conhecida como decrease-key.
+	 * @param estado novo nodo, de menor custo, para um estado que j est aberto
+	 */
+	public void atualizar(Estado<?> estado);
+
+	/**
+	 * Verifica se um estado equivalente encontra-se na lista de abertos.
+	 * @param estado nodo a ser localizado
+	 * @return true caso o estado esteja aguardando expanso
+	 */
+	public boolean contem(Estado<?> estado);
+
+	/**
+	 * Recupera a quantidade de estados armazenados na lista.
+	 * @return nmero de nodos abertos
+	 */
+	public int tamanho();
+
+	/**
+	 * Verifica se no h mais estados a serem expandidos.
+	 * @return true caso a lista esteja vazia
+	 */
+	public boolean estaVazia();
+
+	/**
+	 * Descarta todos os estados armazenados na lista.
+	 */
+	public void limpar();
+
+}
@@ -0,0 +1,23 @@
+package estrategiasDeBusca.heuristica;
+
+import java.util.Comparator;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Ordena os estados por f = g + h, a ordem da lista de abertos do A* e das
+ * estruturas que o atendem (como HeapIndexado). Os empates favorecem o estado
+ * mais profundo, que tende a estar mais prximo da meta.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+class OrdenarPorCustoMaisAvaliacao implements Comparator<Estado<?>> {
+
+	@Override
+	public int compare(Estado<?> estado1, Estado<?> estado2) {
+		int f = (estado1.getCusto() + estado1.getAvaliacao()) - (estado2.getCusto() + estado2.getAvaliacao());
+		return (f != 0) ? f : estado2.getNivel() - estado1.getNivel();
+	}
+
+}
@@ -0,0 +1,42 @@
+package estrategiasDeBusca.heuristica;
+
+import java.util.Comparator;
+
+import espacoDeEstados.Estado;
+
+/**
+ * Ordena os estados por f = g + e.h, em que o peso e (epsilon) valoriza a
+ * avaliao em relao ao custo. Os empates favorecem o estado mais profundo,
+ * como em OrdenarPorCustoMaisAvaliacao. O peso pode ser alterado entre as
+ * iteraes de uma busca, desde que a lista de abertos seja reordenada.
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+class OrdenarPorCustoMaisAvaliacaoPonderada implements Comparator<Estado<?>> {
+
+	private double peso;	// fator aplicado a avaliao (h)
+
+	OrdenarPorCustoMaisAvaliacaoPonderada(double peso) {
+		this.peso = peso;
+	}
+
+	double getPeso() {
+		return peso;
+	}
+
+	void setPeso(double peso) {
+		this.peso = peso;
+	}
+
+	double valor(Estado<?> estado) {
+		return estado.getCusto() + peso * estado.getAvaliacao();
+	}
+
+	@Override
+	public int compare(Estado<?> estado1, Estado<?> estado2) {
+		int f = Double.compare(valor(estado1), valor(estado2));
+		return (f != 0) ? f : estado2.getNivel() - estado1.getNivel();
+	}
+
+}
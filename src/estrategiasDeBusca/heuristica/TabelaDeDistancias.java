@@ -0,0 +1,238 @@
+package estrategiasDeBusca.heuristica;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import espacoDeEstados.Estado;
+import espacoDeEstados.Puzzle8;
+import espacoDeEstados.QuebraCabecaDeslizante;
+import espacoDeEstados.TabuleiroCompacto;
+
+/**
+ * Esta classe disponibiliza a tabela completa de distncias do Puzzle-8 gerada
+ * por ConstrutorDeTabelaDeDistancias. Assim como o BancoDePadroes, o arquivo 
+ * mapeado em memria (MappedByteBuffer) e as consultas no alocam objetos.
+ *
+ * Para cada configurao a tabela guarda apenas o resto da diviso da sua
+ * distncia at a meta por 16. Como todo movimento aproxima ou afasta o tabuleiro
+ * exatamente um passo da meta, o vizinho cujo resto  uma unidade menor  sempre
+ * um passo mais prximo dela, e seguir esses vizinhos produz um caminho timo. A
+ * distncia exata de uma configurao  o comprimento desse caminho, obtido em
+ * tempo proporcional a profundidade da soluo.
+ *
+ * Metas diferentes daquela da tabela so atendidas renomeando as peas (ver
+ * getRotulacao), desde que a posio livre seja a mesma nas duas metas. Como
+ * funo heurstica, a tabela  ajustada para a meta da busca (ver ajustar).
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public class TabelaDeDistancias implements FuncaoHeuristicaAjustavel {
+
+	private static final int QTD_POSICOES = ConstrutorDeTabelaDeDistancias.QTD_POSICOES;
+	private static final int TAMANHO_DO_CABECALHO = (QTD_POSICOES + 2) * 4;
+
+	private final long meta;				// configurao meta compactada
+	private final int profundidadeMaxima;	// maior distncia entre uma configurao e a meta
+	private final MappedByteBuffer distancias;
+	private final ThreadLocal<long[]> sucessores = new ThreadLocal<long[]>() {	// vizinhos consultados por distancia()
+		@Override
+		protected long[] initialValue() {
+			return new long[4];
+		}
+	};
+
+	private TabelaDeDistancias(long meta, int profundidadeMaxima, MappedByteBuffer distancias) {
+		this.meta = meta;
+		this.profundidadeMaxima = profundidadeMaxima;
+		this.distancias = distancias;
+	}
+
+	/**
+	 * Carrega uma tabela previamente gravada, mapeando o arquivo em memria.
+	 * @param arquivo arquivo gerado por ConstrutorDeTabelaDeDistancias
+	 * @return tabela pronta para ser consultada
+	 */
+	public static TabelaDeDistancias carregar(File arquivo) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(arquivo, "r");
+		try {
+			FileChannel canal = raf.getChannel();
+			MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+			if (buffer.getInt() != ConstrutorDeTabelaDeDistancias.MAGICO)
+				throw new IOException(arquivo + " no  uma tabela de distncias vlida");
+			long meta = 0L;
+			for (int i = 0; i < QTD_POSICOES; i++)
+				meta = TabuleiroCompacto.setPeca(meta, i, buffer.getInt());
+			int profundidadeMaxima = buffer.getInt();
+			if (canal.size() != TAMANHO_DO_CABECALHO + ConstrutorDeTabelaDeDistancias.QTD_PERMUTACOES / 2)
+				throw new IOException(arquivo + " est incompleto ou corrompido");
+			return new TabelaDeDistancias(meta, profundidadeMaxima, buffer);
+		} finally {
+			raf.close();	// o mapeamento permanece vlido aps o fechamento do arquivo
+		}
+	}
+
+	/**
+	 * Carrega a tabela do arquivo informado ou, caso ele ainda no exista,
+	 * constri a tabela para o tabuleiro organizado e a grava antes de carreg-la.
+	 * @param arquivo arquivo da tabela de distncias
+	 * @return tabela pronta para ser consultada
+	 */
+	public static TabelaDeDistancias carregarOuConstruir(File arquivo) throws IOException {
+		if (!arquivo.exists())
+			ConstrutorDeTabelaDeDistancias.construir(arquivo);
+		return carregar(arquivo);
+	}
+
+	/**
+	 * Recupera a pea que ocupa uma posio na configurao meta da tabela.
+	 */
+	public int getPecaMeta(int posicao) {
+		return TabuleiroCompacto.getPeca(meta, posicao);
+	}
+
+	/**
+	 * Recupera a maior distncia registrada na tabela (31 para o tabuleiro organizado).
+	 */
+	public int getProfundidadeMaxima() {
+		return profundidadeMaxima;
+	}
+
+	/**
+	 * Recupera os 4 bits armazenados para uma configurao: a sua distncia at a
+	 * meta mdulo 16, ou 15 para as configuraes que no alcanam a meta.
+	 * @param tabuleiro configurao compacta do Puzzle-8
+	 */
+	public int getResiduo(long tabuleiro) {
+		int indice = ordenar(tabuleiro);
+		int valor = distancias.get(TAMANHO_DO_CABECALHO + (indice >>> 1));
+		return ((indice & 1) == 0) ? (valor & 0xF) : ((valor >>> 4) & 0xF);
+	}
+
+	/**
+	 * Calcula a distncia exata de uma configurao at a meta da tabela,
+	 * percorrendo o caminho timo indicado por ela.
+	 * @param tabuleiro configurao compacta do Puzzle-8
+	 * @return quantidade mnima de movimentos ou -1, se a meta for inalcanvel
+	 */
+	public int distancia(long tabuleiro) {
+		long[] sucessores = this.sucessores.get();
+		int residuo = getResiduo(tabuleiro);
+		int d = 0;
+		while (tabuleiro != meta) {
+			int alvo = (residuo + 15) & 0xF;
+			int qtd = Puzzle8.gerarSucessores(tabuleiro, sucessores);
+			int i = 0;
+			while (i < qtd && getResiduo(sucessores[i]) != alvo)
+				i++;
+			if (i == qtd || d == profundidadeMaxima)
+				return -1;
+			tabuleiro = sucessores[i];
+			residuo = alvo;
+			d++;
+		}
+		return d;
+	}
+
+	/**
+	 * Avalia um tabuleiro 3x3 com a sua distncia exata at a meta da tabela, o
+	 * que torna a heurstica perfeita. As configuraes que no alcanam a meta
+	 * recebem uma unidade alm da maior distncia da tabela.
+	 */
+	@Override
+	public int avaliar(Estado<?> estado) {
+		return avaliar((QuebraCabecaDeslizante) estado, null);
+	}
+
+	/**
+	 * Obtm a funo que avalia os tabuleiros em relao a meta da busca,
+	 * renomeando as suas peas quando ela difere da meta da tabela.
+	 * @throws IllegalArgumentException se a meta no for um tabuleiro 3x3 com a
+	 * posio livre no mesmo lugar da meta da tabela
+	 */
+	@Override
+	public FuncaoHeuristica ajustar(Estado<?> objetivo) {
+		if (!(objetivo instanceof QuebraCabecaDeslizante))
+			throw new IllegalArgumentException("A tabela de distncias s atende tabuleiros 3x3");
+		final int[] rotulo = getRotulacao((QuebraCabecaDeslizante) objetivo);
+		if (rotulo == null)
+			return this;
+		return new FuncaoHeuristica() {
+			@Override
+			public int avaliar(Estado<?> estado) {
+				return TabelaDeDistancias.this.avaliar((QuebraCabecaDeslizante) estado, rotulo);
+			}
+		};
+	}
+
+	private int avaliar(QuebraCabecaDeslizante tabuleiro, int[] rotulo) {
+		int d = distancia(compactar(tabuleiro, rotulo));
+		return (d < 0) ? profundidadeMaxima + 1 : d;
+	}
+
+	/**
+	 * Determina a renomeao de peas que leva uma meta qualquer na meta da
+	 * tabela: a pea que ocupa uma posio na meta informada passa a ser tratada
+	 * como a pea que ocupa a mesma posio na meta da tabela. Como a posio
+	 * livre no pode ser renomeada, ela deve coincidir nas duas metas.
+	 * @param objetivo configurao meta desejada
+	 * @return pea correspondente a cada pea do objetivo, ou null se o objetivo
+	 * for a prpria meta da tabela
+	 */
+	public int[] getRotulacao(QuebraCabecaDeslizante objetivo) {
+		validar(objetivo);
+		int[] rotulo = new int[QTD_POSICOES];
+		boolean identidade = true;
+		for (int pos = 0; pos < QTD_POSICOES; pos++) {
+			int peca = objetivo.getPeca(pos);
+			if ((peca == 0) != (getPecaMeta(pos) == 0))
+				throw new IllegalArgumentException("A tabela s atende metas com a posio livre em " + TabuleiroCompacto.posicaoLivre(meta, QTD_POSICOES));
+			rotulo[peca] = getPecaMeta(pos);
+			identidade &= (rotulo[peca] == peca);
+		}
+		return identidade ? null : rotulo;
+	}
+
+	/**
+	 * Compacta um tabuleiro 3x3, renomeando as suas peas.
+	 * @param tabuleiro tabuleiro do Puzzle-8
+	 * @param rotulo renomeao obtida por getRotulacao (null para nenhuma)
+	 * @return configurao compacta a ser consultada na tabela
+	 */
+	public long compactar(QuebraCabecaDeslizante tabuleiro, int[] rotulo) {
+		validar(tabuleiro);
+		long compacto = 0L;
+		for (int pos = 0; pos < QTD_POSICOES; pos++) {
+			int peca = tabuleiro.getPeca(pos);
+			compacto = TabuleiroCompacto.setPeca(compacto, pos, (rotulo == null) ? peca : rotulo[peca]);
+		}
+		return compacto;
+	}
+
+	private static void validar(QuebraCabecaDeslizante tabuleiro) {
+		if (tabuleiro.getLado() * tabuleiro.getLado() != QTD_POSICOES)
+			throw new IllegalArgumentException("Tabela de distncias construda para tabuleiros 3x3");
+	}
+
+	/**
+	 * Posio da permutao das 9 peas na ordem lexicogrfica (cdigo de
+	 * Lehmer): cada pea contribui com a quantidade de peas menores que ainda
+	 * no apareceram, ponderada pelo fatorial das posies restantes.
+	 * @param tabuleiro configurao compacta do Puzzle-8
+	 * @return ndice entre 0 e 9! - 1
+	 */
+	static int ordenar(long tabuleiro) {
+		int indice = 0;
+		int usadas = 0;
+		for (int pos = 0; pos < QTD_POSICOES; pos++) {
+			int peca = TabuleiroCompacto.getPeca(tabuleiro, pos);
+			indice = indice * (QTD_POSICOES - pos) + Integer.bitCount(~usadas & ((1 << peca) - 1));
+			usadas |= 1 << peca;
+		}
+		return indice;
+	}
+
+}
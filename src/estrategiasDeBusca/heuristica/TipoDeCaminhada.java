@@ -0,0 +1,21 @@
+package estrategiasDeBusca.heuristica;
+
+/**
+ * Forma como cada caminhante da busca local paralela percorre o espao de
+ * estados (ver BuscaLocalParalela).
+ *
+ * @author Leandro C. Fernandes
+ *
+ */
+public enum TipoDeCaminhada {
+
+	/** Desce sempre para o melhor vizinho (empates sorteados), tolerando poucos movimentos laterais, e para no primeiro mnimo local. */
+	SUBIDA_DE_ENCOSTA,
+
+	/** Subida de encosta que, ao parar num mnimo local, recomea do estado inicial aps alguns movimentos aleatrios. */
+	REINICIO_ALEATORIO,
+
+	/** Tmpera simulada: sorteia um vizinho e aceita pioras com probabilidade decrescente com a temperatura, recomeando quando esfria. */
+	TEMPERA_SIMULADA
+
+}